@@ -0,0 +1,147 @@
+package com.banking.transfer.archive;
+
+import com.banking.transfer.entity.ArchivedTransactionLog;
+import com.banking.transfer.entity.TransactionLog;
+import com.banking.transfer.repository.ArchivedTransactionLogRepository;
+import com.banking.transfer.repository.TransactionLogRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Keeps {@code transaction_logs} small by moving rows older than {@code transaction-archive.after}
+ * into {@code transaction_logs_archive}.
+ * <p>
+ * Rows are moved oldest first, {@code batch-size} per transaction: each batch is copied with one
+ * {@code INSERT ... SELECT} and deleted from the hot table in the same transaction, so a row is
+ * always in exactly one of the two tables. Every archived row is older than {@link #horizon()},
+ * which lets history reads skip the archive for anything newer.
+ * <p>
+ * Idempotency keys are checked against the hot table only, so a key is rejected for as long as
+ * its row is retained there, and can be reused once it has been archived.
+ */
+@Component
+@Slf4j
+public class TransactionArchive {
+
+    private final TransactionLogRepository transactionLogRepository;
+    private final ArchivedTransactionLogRepository archiveRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final Duration after;
+    private final int batchSize;
+    private final Counter rowsArchived;
+
+    public TransactionArchive(TransactionLogRepository transactionLogRepository,
+                              ArchivedTransactionLogRepository archiveRepository,
+                              TransactionTemplate transactionTemplate,
+                              MeterRegistry meterRegistry,
+                              @Value("${transaction-archive.enabled:true}") boolean enabled,
+                              @Value("${transaction-archive.after:90d}") Duration after,
+                              @Value("${transaction-archive.batch-size:1000}") int batchSize,
+                              @Value("${idempotency.recent.window:24h}") Duration idempotencyWindow) {
+        if (after.compareTo(idempotencyWindow) < 0) {
+            // The recent-key cache would otherwise keep rejecting keys the table no longer holds
+            throw new IllegalArgumentException("transaction-archive.after must not be shorter than idempotency.recent.window");
+        }
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Archive batch size must be positive");
+        }
+        this.transactionLogRepository = transactionLogRepository;
+        this.archiveRepository = archiveRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = enabled;
+        this.after = after;
+        this.batchSize = batchSize;
+        this.rowsArchived = Counter.builder("transaction.archive.rows")
+                .description("Transaction log rows moved to the archive table")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Rows created before this instant may be in the archive; rows created at or after it are
+     * always in {@code transaction_logs}.
+     */
+    public LocalDateTime horizon() {
+        return LocalDateTime.now().minus(after);
+    }
+
+    public boolean mayHaveArchived(LocalDateTime createdOn) {
+        return createdOn.isBefore(horizon());
+    }
+
+    public List<TransactionLog> findOutgoingPage(String accountId, LocalDateTime from, LocalDateTime beforeTime,
+                                                 String beforeId, Limit limit) {
+        return archiveRepository.findOutgoingPage(accountId, from, beforeTime, beforeId, limit).stream()
+                .map(ArchivedTransactionLog::toTransactionLog)
+                .toList();
+    }
+
+    public List<TransactionLog> findIncomingPage(String accountId, LocalDateTime from, LocalDateTime beforeTime,
+                                                 String beforeId, Limit limit) {
+        return archiveRepository.findIncomingPage(accountId, from, beforeTime, beforeId, limit).stream()
+                .map(ArchivedTransactionLog::toTransactionLog)
+                .toList();
+    }
+
+    public Stream<TransactionLog> streamOutgoing(String accountId, LocalDateTime from, LocalDateTime to) {
+        return archiveRepository.streamOutgoing(accountId, from, to).map(ArchivedTransactionLog::toTransactionLog);
+    }
+
+    public Stream<TransactionLog> streamIncoming(String accountId, LocalDateTime from, LocalDateTime to) {
+        return archiveRepository.streamIncoming(accountId, from, to).map(ArchivedTransactionLog::toTransactionLog);
+    }
+
+    @Scheduled(fixedDelayString = "${transaction-archive.interval:PT1H}",
+            initialDelayString = "${transaction-archive.interval:PT1H}")
+    public void archiveOldTransactions() {
+        if (enabled) {
+            archiveBefore(horizon());
+        }
+    }
+
+    /**
+     * Moves every row created before {@code cutoff}, one batch per transaction. Returns the
+     * number of rows moved.
+     */
+    public long archiveBefore(LocalDateTime cutoff) {
+        long moved = 0;
+        int batch;
+        do {
+            try {
+                batch = transactionTemplate.execute(status -> moveBatch(cutoff));
+            } catch (RuntimeException e) {
+                // Typically another node archiving the same rows; the next run picks up what is left
+                log.error("Transaction archiving stopped after {} rows: {}", moved, e.getMessage());
+                break;
+            }
+            moved += batch;
+            rowsArchived.increment(batch);
+        } while (batch == batchSize);
+
+        if (moved > 0) {
+            log.info("Archived {} transaction log rows created before {}", moved, cutoff);
+        }
+        return moved;
+    }
+
+    private int moveBatch(LocalDateTime cutoff) {
+        List<String> ids = transactionLogRepository.findIdsCreatedBefore(cutoff, Limit.of(batchSize));
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        archiveRepository.copyFromTransactionLogs(ids);
+        transactionLogRepository.deleteAllByIdInBatch(ids);
+        return ids.size();
+    }
+}
@@ -1,33 +0,0 @@
-package com.banking.transfer.aspect;
-
-import lombok.extern.slf4j.Slf4j;
-import org.aspectj.lang.ProceedingJoinPoint;
-import org.aspectj.lang.annotation.Around;
-import org.aspectj.lang.annotation.Aspect;
-import org.springframework.stereotype.Component;
-
-@Aspect
-@Component
-@Slf4j
-public class LoggingAspect {
-
-    @Around("execution(* com.banking.transfer.service.*.*(..))")
-    public Object logServiceMethods(ProceedingJoinPoint joinPoint) throws Throwable {
-        String methodName = joinPoint.getSignature().getName();
-        String className = joinPoint.getTarget().getClass().getSimpleName();
-
-        log.info("[AOP] Entering {}.{}", className, methodName);
-        long startTime = System.currentTimeMillis();
-
-        try {
-            Object result = joinPoint.proceed();
-            long executionTime = System.currentTimeMillis() - startTime;
-            log.info("[AOP] Exiting {}.{} - Execution time: {}ms", className, methodName, executionTime);
-            return result;
-        } catch (Exception e) {
-            long executionTime = System.currentTimeMillis() - startTime;
-            log.error("[AOP] Exception in {}.{} after {}ms: {}", className, methodName, executionTime, e.getMessage());
-            throw e;
-        }
-    }
-}
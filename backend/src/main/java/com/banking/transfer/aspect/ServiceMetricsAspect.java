@@ -0,0 +1,97 @@
+package com.banking.transfer.aspect;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times the public methods of the services the controllers call into the
+ * {@code service.calls} timer, tagged by class, method and exception. Helpers the services
+ * use internally ({@code LedgerService}, {@code HotAccountBalances}, {@code TransferMetrics},
+ * ...) are left out: their calls are part of an entry point's time already, and a proxy
+ * around them would cost every transfer an extra interception. Percentile histograms are
+ * switched on in {@code application.yml}.
+ * <p>
+ * Per-call log lines are off by default. When {@code service-calls.logging.enabled} is set,
+ * a {@code sample-rate} share of successful calls is logged, and every failed call.
+ */
+@Aspect
+@Component
+@Slf4j
+public class ServiceMetricsAspect {
+
+    private static final String TIMER = "service.calls";
+
+    private final MeterRegistry meterRegistry;
+    private final boolean loggingEnabled;
+    private final double sampleRate;
+    private final Map<Method, Timer> successTimers = new ConcurrentHashMap<>();
+
+    public ServiceMetricsAspect(MeterRegistry meterRegistry,
+                                @Value("${service-calls.logging.enabled:false}") boolean loggingEnabled,
+                                @Value("${service-calls.logging.sample-rate:0.01}") double sampleRate) {
+        this.meterRegistry = meterRegistry;
+        this.loggingEnabled = loggingEnabled;
+        this.sampleRate = sampleRate;
+    }
+
+    @Pointcut("within(com.banking.transfer.service.AccountService)"
+            + " || within(com.banking.transfer.service.TransferService)"
+            + " || within(com.banking.transfer.service.BatchTransferService)"
+            + " || within(com.banking.transfer.service.JournaledTransferService)"
+            + " || within(com.banking.transfer.service.TransferCoalescer)"
+            + " || within(com.banking.transfer.service.TransactionExporter)")
+    void entryPointServices() {
+    }
+
+    @Around("entryPointServices() && execution(public * *(..))")
+    public Object timeServiceMethods(ProceedingJoinPoint joinPoint) throws Throwable {
+        long startTime = System.nanoTime();
+        try {
+            Object result = joinPoint.proceed();
+            long elapsed = System.nanoTime() - startTime;
+            Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+            successTimers.computeIfAbsent(method, key -> timer(joinPoint, "none"))
+                    .record(elapsed, TimeUnit.NANOSECONDS);
+            if (loggingEnabled && ThreadLocalRandom.current().nextDouble() < sampleRate) {
+                log.info("[AOP] {}.{} took {}ms", className(joinPoint), method.getName(),
+                        TimeUnit.NANOSECONDS.toMillis(elapsed));
+            }
+            return result;
+        } catch (Throwable e) {
+            long elapsed = System.nanoTime() - startTime;
+            timer(joinPoint, e.getClass().getSimpleName()).record(elapsed, TimeUnit.NANOSECONDS);
+            if (loggingEnabled) {
+                log.error("[AOP] Exception in {}.{} after {}ms: {}", className(joinPoint),
+                        joinPoint.getSignature().getName(), TimeUnit.NANOSECONDS.toMillis(elapsed), e.getMessage());
+            }
+            throw e;
+        }
+    }
+
+    private Timer timer(ProceedingJoinPoint joinPoint, String exception) {
+        return Timer.builder(TIMER)
+                .description("Service method execution time")
+                .tag("class", className(joinPoint))
+                .tag("method", joinPoint.getSignature().getName())
+                .tag("exception", exception)
+                .register(meterRegistry);
+    }
+
+    private static String className(ProceedingJoinPoint joinPoint) {
+        return joinPoint.getTarget().getClass().getSimpleName();
+    }
+}
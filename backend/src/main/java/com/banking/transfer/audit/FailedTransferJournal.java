@@ -0,0 +1,269 @@
+package com.banking.transfer.audit;
+
+import com.banking.transfer.concurrency.BackgroundThreads;
+import com.banking.transfer.entity.TransactionLog;
+import com.banking.transfer.idempotency.IdempotencyGuard;
+import com.banking.transfer.repository.TransactionLogRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes FAILED transaction logs outside the transfer's own transaction.
+ * <p>
+ * A failed transfer rolls its transaction back, so its failure record cannot be written
+ * there. Instead the record is appended to a local {@link FailureSpool} file and handed to
+ * a bounded queue, and a background writer inserts queued records in batches, each batch
+ * in a transaction of its own. When the queue stays full for longer than the offer timeout
+ * the caller writes its record itself, which slows failing requests down instead of
+ * dropping records. Records still queued at shutdown are flushed before the context
+ * closes; records a crash left in the spool are written when the application is ready,
+ * skipping any whose idempotency key is already in the database.
+ */
+@Component
+@Slf4j
+public class FailedTransferJournal {
+
+    private final BlockingQueue<TransactionLog> queue;
+    private final FailureSpool spool;
+    private final List<TransactionLog> recovered;
+    private final TransactionLogRepository transactionLogRepository;
+    private final TransactionTemplate writeTransaction;
+    private final IdempotencyGuard idempotencyGuard;
+    private final BackgroundThreads backgroundThreads;
+    private final int batchSize;
+    private final long offerTimeoutMillis;
+    private volatile boolean running;
+    private Thread writer;
+
+    private final Counter written;
+    private final Counter writtenByCaller;
+    private final Counter lost;
+
+    public FailedTransferJournal(TransactionLogRepository transactionLogRepository,
+                                 TransactionTemplate transactionTemplate,
+                                 IdempotencyGuard idempotencyGuard,
+                                 BackgroundThreads backgroundThreads,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${audit.journal.capacity:10000}") int capacity,
+                                 @Value("${audit.journal.batch-size:100}") int batchSize,
+                                 @Value("${audit.journal.offer-timeout:50ms}") Duration offerTimeout,
+                                 @Value("${audit.journal.dir:data/audit-journal}") String directory) throws IOException {
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.spool = new FailureSpool(Path.of(directory));
+        // Read before any new record is appended behind them
+        this.recovered = spool.recover();
+        this.transactionLogRepository = transactionLogRepository;
+        this.backgroundThreads = backgroundThreads;
+        this.writeTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.writeTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.idempotencyGuard = idempotencyGuard;
+        this.batchSize = batchSize;
+        this.offerTimeoutMillis = offerTimeout.toMillis();
+
+        this.written = recordCounter(meterRegistry, "written");
+        this.writtenByCaller = recordCounter(meterRegistry, "written_by_caller");
+        this.lost = recordCounter(meterRegistry, "lost");
+        Gauge.builder("audit.journal.queue.size", queue, BlockingQueue::size)
+                .description("Failure records waiting to be written")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Spools and queues a failure record. Returns without touching the database unless the
+     * record cannot be spooled or the queue is full, in which case it is written on the
+     * calling thread. Never throws, so the caller's own exception is what reaches its caller.
+     */
+    public void submit(TransactionLog failedLog) {
+        try {
+            spool.append(failedLog);
+        } catch (IOException e) {
+            log.warn("Could not spool failure record for idempotency key {}, writing it on the request thread: {}",
+                    failedLog.getIdempotencyKey(), e.getMessage());
+            writtenByCaller.increment(write(List.of(failedLog)));
+            return;
+        }
+        try {
+            if (queue.offer(failedLog, offerTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        log.warn("Failure journal is full, writing record for idempotency key {} on the request thread",
+                failedLog.getIdempotencyKey());
+        writtenByCaller.increment(writeSpooled(List.of(failedLog)));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        replay();
+        running = true;
+        writer = backgroundThreads.start("failed-transfer-journal", this::drainLoop);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        Thread current;
+        synchronized (this) {
+            running = false;
+            current = writer;
+        }
+        if (current != null) {
+            current.interrupt();
+            current.join(TimeUnit.SECONDS.toMillis(10));
+        }
+        flush();
+        try {
+            spool.close();
+        } catch (IOException e) {
+            log.warn("Could not close the failure spool: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Writes the records a crash left in the spool.
+     */
+    void replay() {
+        if (recovered.isEmpty()) {
+            return;
+        }
+        log.info("Replaying {} failure records left in {}", recovered.size(), spool.path());
+        List<TransactionLog> pending = new ArrayList<>(recovered);
+        recovered.clear();
+        for (int start = 0; start < pending.size(); start += batchSize) {
+            List<TransactionLog> batch = pending.subList(start, Math.min(start + batchSize, pending.size()));
+            try {
+                // Written before the crash, but the spool had not been emptied yet
+                Set<String> existing = new HashSet<>(transactionLogRepository.findExistingIdempotencyKeys(
+                        batch.stream().map(TransactionLog::getIdempotencyKey).toList()));
+                List<TransactionLog> missing = batch.stream()
+                        .filter(record -> !existing.contains(record.getIdempotencyKey()))
+                        .toList();
+                if (!missing.isEmpty()) {
+                    written.increment(write(missing));
+                }
+            } catch (RuntimeException e) {
+                lose(batch, e);
+            }
+            resolve(batch.size());
+        }
+    }
+
+    /**
+     * Writes everything currently queued on the calling thread.
+     */
+    void flush() {
+        List<TransactionLog> batch = new ArrayList<>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            written.increment(writeSpooled(batch));
+            batch = new ArrayList<>(batchSize);
+        }
+    }
+
+    int queued() {
+        return queue.size();
+    }
+
+    private void drainLoop() {
+        while (running) {
+            try {
+                TransactionLog first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                List<TransactionLog> batch = new ArrayList<>(batchSize);
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                written.increment(writeSpooled(batch));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Failure journal writer error: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * {@link #write}s records taken from the spool and releases them from it.
+     */
+    private int writeSpooled(List<TransactionLog> batch) {
+        try {
+            return write(batch);
+        } finally {
+            resolve(batch.size());
+        }
+    }
+
+    private void resolve(int count) {
+        try {
+            spool.resolved(count);
+        } catch (IOException e) {
+            log.warn("Could not empty the failure spool: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Inserts {@code batch} in its own transaction and returns how many records were written.
+     * Never throws: a record that cannot be written is counted as lost.
+     */
+    private int write(List<TransactionLog> batch) {
+        try {
+            writeTransaction.executeWithoutResult(status -> {
+                transactionLogRepository.saveAll(batch);
+                idempotencyGuard.record(batch.stream().map(TransactionLog::getIdempotencyKey).toList());
+            });
+            return batch.size();
+        } catch (DataAccessException e) {
+            if (batch.size() > 1) {
+                // Isolate the offending record, typically a key a later retry already used
+                return batch.stream().mapToInt(record -> write(List.of(record))).sum();
+            }
+            return lose(batch, e);
+        } catch (RuntimeException e) {
+            // No connection, or the commit failed: writing record by record would fail the same way
+            return lose(batch, e);
+        }
+    }
+
+    private int lose(List<TransactionLog> batch, RuntimeException e) {
+        lost.increment(batch.size());
+        for (TransactionLog record : batch) {
+            log.error("Could not write failure record from {} to {} for {} with idempotency key {} ({}): {}",
+                    record.getFromAccountId(), record.getToAccountId(), record.getAmount(),
+                    record.getIdempotencyKey(), record.getFailureReason(), e.getMessage());
+        }
+        return 0;
+    }
+
+    private static Counter recordCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("audit.journal.records")
+                .description("Failure records by how they were handled")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,174 @@
+package com.banking.transfer.audit;
+
+import com.banking.transfer.entity.TransactionLog;
+import com.banking.transfer.entity.TransactionStatus;
+import com.banking.transfer.money.Money;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only local file holding the failure records that have not reached the database.
+ * <p>
+ * Frames use the write-ahead journal's layout, {@code [int length][int crc32][payload]};
+ * a frame whose checksum does not match is a write torn by a crash and ends the data.
+ * Every append is forced before it returns. The file is emptied whenever each record in
+ * it has been written or given up on, so it only grows while the writer is behind.
+ */
+class FailureSpool implements AutoCloseable {
+
+    static final String FILE_NAME = "failed-transfers.spool";
+
+    private static final int FRAME_HEADER = 8;
+
+    private final Path path;
+    private final FileChannel channel;
+    private long outstanding;
+
+    FailureSpool(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        this.path = directory.resolve(FILE_NAME);
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+
+    /**
+     * Reads the records a previous run left behind and positions the file after them,
+     * dropping a torn tail. They count as outstanding until {@link #resolved} is called.
+     */
+    synchronized List<TransactionLog> recover() throws IOException {
+        List<TransactionLog> records = new ArrayList<>();
+        // Read into the heap rather than mapping, so the file can be truncated afterwards
+        ByteBuffer buffer = ByteBuffer.allocate(Math.toIntExact(channel.size()));
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, buffer.position()) < 0) {
+                break;
+            }
+        }
+        buffer.flip();
+        int end = 0;
+        while (buffer.remaining() >= FRAME_HEADER) {
+            int length = buffer.getInt();
+            int checksum = buffer.getInt();
+            if (length <= 0 || length > buffer.remaining()) {
+                break;
+            }
+            byte[] payload = new byte[length];
+            buffer.get(payload);
+            CRC32 crc = new CRC32();
+            crc.update(payload);
+            if ((int) crc.getValue() != checksum) {
+                break;
+            }
+            records.add(decode(ByteBuffer.wrap(payload)));
+            end = buffer.position();
+        }
+        channel.truncate(end);
+        channel.position(end);
+        outstanding += records.size();
+        return records;
+    }
+
+    synchronized void append(TransactionLog record) throws IOException {
+        byte[] payload = encode(record);
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        ByteBuffer frame = ByteBuffer.allocate(FRAME_HEADER + payload.length);
+        frame.putInt(payload.length).putInt((int) crc.getValue()).put(payload).flip();
+        while (frame.hasRemaining()) {
+            channel.write(frame);
+        }
+        channel.force(false);
+        outstanding++;
+    }
+
+    /**
+     * Marks {@code count} records as written or lost. Once none are outstanding the file
+     * is emptied; a crash before that only replays records whose keys are then skipped.
+     */
+    synchronized void resolved(int count) throws IOException {
+        outstanding = Math.max(0, outstanding - count);
+        if (outstanding == 0 && channel.size() > 0) {
+            channel.truncate(0);
+            channel.position(0);
+        }
+    }
+
+    Path path() {
+        return path;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        channel.close();
+    }
+
+    private static byte[] encode(TransactionLog record) {
+        byte[][] fields = {
+                bytes(record.getFromAccountId()),
+                bytes(record.getToAccountId()),
+                bytes(record.getAmount() == null ? null : record.getAmount().toString()),
+                bytes(record.getFailureReason()),
+                bytes(record.getIdempotencyKey()),
+                bytes(record.getCreatedOn() == null ? null : record.getCreatedOn().toString()),
+                // Last, so records spooled before it was added still decode
+                bytes(record.getId())
+        };
+        int size = 0;
+        for (byte[] field : fields) {
+            size += 4 + (field == null ? 0 : field.length);
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        for (byte[] field : fields) {
+            if (field == null) {
+                buffer.putInt(-1);
+            } else {
+                buffer.putInt(field.length).put(field);
+            }
+        }
+        return buffer.array();
+    }
+
+    private static TransactionLog decode(ByteBuffer buffer) {
+        String from = getString(buffer);
+        String to = getString(buffer);
+        String amount = getString(buffer);
+        String failureReason = getString(buffer);
+        String idempotencyKey = getString(buffer);
+        String createdOn = getString(buffer);
+        String id = buffer.hasRemaining() ? getString(buffer) : null;
+        return TransactionLog.builder()
+                .id(id)
+                .fromAccountId(from)
+                .toAccountId(to)
+                .amount(amount == null ? null : Money.of(amount))
+                .status(TransactionStatus.FAILED)
+                .failureReason(failureReason)
+                .idempotencyKey(idempotencyKey)
+                .createdOn(createdOn == null ? null : LocalDateTime.parse(createdOn))
+                .build();
+    }
+
+    private static byte[] bytes(String value) {
+        return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,118 @@
+package com.banking.transfer.cache;
+
+import com.banking.transfer.dto.AccountResponse;
+import com.banking.transfer.entity.Account;
+import com.banking.transfer.entity.AccountStatus;
+import com.banking.transfer.money.Money;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Near cache of account snapshots for the account and balance endpoints.
+ * <p>
+ * Writers publish the accounts they changed once their transaction has committed, and
+ * readers that miss load from the database. Every snapshot carries the account's
+ * {@code @Version}, and an entry is only ever replaced by a snapshot with the same or a
+ * newer version, so a slow reader cannot overwrite a balance published by a later
+ * transfer. Changes committed by other nodes become visible when the entry expires.
+ * Hot accounts are never cached: credits to their balance slots do not bump the version.
+ */
+@Component
+public class AccountSnapshotCache {
+
+    private final Cache<String, Snapshot> snapshots;
+
+    public AccountSnapshotCache(MeterRegistry meterRegistry,
+                                @Value("${account.snapshot-cache.max-size:10000}") long maxSize,
+                                @Value("${account.snapshot-cache.ttl:30s}") Duration ttl) {
+        this.snapshots = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, snapshots, "account.snapshots");
+    }
+
+    /**
+     * Returns a copy of the cached snapshot, or null if the account has to be read from
+     * the database.
+     */
+    public AccountResponse get(String accountId) {
+        Snapshot snapshot = snapshots.getIfPresent(accountId);
+        return snapshot == null ? null : snapshot.toResponse();
+    }
+
+    /**
+     * Caches a snapshot of {@code account} as read from the database, unless a newer
+     * version is already cached.
+     */
+    public void put(Account account) {
+        if (account.isHot()) {
+            snapshots.invalidate(account.getId());
+            return;
+        }
+        Snapshot snapshot = Snapshot.of(account);
+        snapshots.asMap().merge(account.getId(), snapshot, Snapshot::newer);
+    }
+
+    /**
+     * Publishes the committed state of {@code accounts}. Inside a transaction the snapshots
+     * are taken after commit, once Hibernate has bumped the versions; on rollback nothing
+     * is published.
+     */
+    public void publishAfterCommit(Collection<Account> accounts) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            List<Account> changed = List.copyOf(accounts);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    changed.forEach(AccountSnapshotCache.this::put);
+                }
+            });
+        } else {
+            accounts.forEach(this::put);
+        }
+    }
+
+    public void publishAfterCommit(Account account) {
+        publishAfterCommit(List.of(account));
+    }
+
+    public void evict(String accountId) {
+        snapshots.invalidate(accountId);
+    }
+
+    private record Snapshot(long version, String id, String username, String holderName,
+                            Money balance, AccountStatus status) {
+
+        static Snapshot of(Account account) {
+            long version = account.getVersion() == null ? -1 : account.getVersion();
+            return new Snapshot(version, account.getId(), account.getUsername(), account.getHolderName(),
+                    account.getBalance(), account.getStatus());
+        }
+
+        static Snapshot newer(Snapshot cached, Snapshot candidate) {
+            return candidate.version >= cached.version ? candidate : cached;
+        }
+
+        AccountResponse toResponse() {
+            return AccountResponse.builder()
+                    .id(id)
+                    .username(username)
+                    .holderName(holderName)
+                    .balance(balance)
+                    .status(status)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.banking.transfer.concurrency;
+
+import com.banking.transfer.exception.AccountLockTimeoutException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * In-process striped locks keyed by account id.
+ * <p>
+ * Every account id hashes onto one of a fixed number of stripes. Callers that touch
+ * several accounts acquire the stripes in ascending stripe order, so two transfers
+ * in opposite directions between the same accounts can never deadlock, transfers on
+ * disjoint accounts run in parallel and transfers on the same account queue up.
+ * <p>
+ * The locks are held around the whole unit of work, including the commit, so the
+ * {@code @Version} check on {@code Account} only fires for writers on other nodes.
+ * <p>
+ * With {@code transfer.lock.enabled=false} no lock is taken: the {@code @Version} check
+ * alone detects concurrent writers, here or elsewhere, and the loser is retried by
+ * {@link ConflictRetryExecutor}.
+ */
+@Component
+@Slf4j
+public class AccountLockManager implements MeterBinder {
+
+    private final ReentrantLock[] stripes;
+    private final int mask;
+    private final long timeoutMillis;
+    private final boolean enabled;
+
+    @Autowired
+    public AccountLockManager(@Value("${transfer.lock.stripes:1024}") int stripeCount,
+                              @Value("${transfer.lock.timeout-ms:5000}") long timeoutMillis,
+                              @Value("${transfer.lock.enabled:true}") boolean enabled) {
+        if (stripeCount <= 0) {
+            throw new IllegalArgumentException("Stripe count must be positive");
+        }
+        int size = Integer.highestOneBit(stripeCount - 1) << 1;
+        if (size <= 0) {
+            size = 1;
+        }
+        this.stripes = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            this.stripes[i] = new ReentrantLock();
+        }
+        this.mask = size - 1;
+        this.timeoutMillis = timeoutMillis;
+        this.enabled = enabled;
+    }
+
+    public AccountLockManager(int stripeCount, long timeoutMillis) {
+        this(stripeCount, timeoutMillis, true);
+    }
+
+    public <T> T withLocks(String firstAccountId, String secondAccountId, Supplier<T> action) {
+        return withLocks(List.of(firstAccountId, secondAccountId), action);
+    }
+
+    public <T> T withLocks(Collection<String> accountIds, Supplier<T> action) {
+        if (!enabled) {
+            return action.get();
+        }
+        int[] indexes = stripeIndexes(accountIds);
+        int acquired = 0;
+        try {
+            for (int index : indexes) {
+                acquire(stripes[index]);
+                acquired++;
+            }
+            return action.get();
+        } finally {
+            for (int i = acquired - 1; i >= 0; i--) {
+                stripes[indexes[i]].unlock();
+            }
+        }
+    }
+
+    public int stripeCount() {
+        return stripes.length;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("transfer.locks.held", this, AccountLockManager::heldStripes)
+                .description("Account lock stripes currently held")
+                .register(registry);
+        Gauge.builder("transfer.locks.waiting", this, AccountLockManager::waitingThreads)
+                .description("Threads queued for an account lock stripe (estimate)")
+                .register(registry);
+    }
+
+    int heldStripes() {
+        int held = 0;
+        for (ReentrantLock stripe : stripes) {
+            if (stripe.isLocked()) {
+                held++;
+            }
+        }
+        return held;
+    }
+
+    int waitingThreads() {
+        int waiting = 0;
+        for (ReentrantLock stripe : stripes) {
+            waiting += stripe.getQueueLength();
+        }
+        return waiting;
+    }
+
+    int stripeFor(String accountId) {
+        int h = accountId.hashCode();
+        // Spread the high bits so ids sharing a long common prefix still land on different stripes
+        h ^= (h >>> 16);
+        return h & mask;
+    }
+
+    private int[] stripeIndexes(Collection<String> accountIds) {
+        return accountIds.stream()
+                .mapToInt(this::stripeFor)
+                .sorted()
+                .distinct()
+                .toArray();
+    }
+
+    private void acquire(ReentrantLock lock) {
+        try {
+            if (!lock.tryLock(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                log.warn("Timed out after {}ms waiting for account lock", timeoutMillis);
+                throw new AccountLockTimeoutException(
+                        "Account is busy, please retry the transfer");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AccountLockTimeoutException("Interrupted while waiting for account lock");
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.banking.transfer.concurrency;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.system.JavaVersion;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Creates the threads of the background pipelines (failure journal, write-ahead journal,
+ * coalescer, cache warm-up).
+ * <p>
+ * With {@code spring.threads.virtual.enabled=true} on a Java 21 runtime they are virtual
+ * threads, like the Tomcat request threads and {@code @Async} / {@code @Scheduled} work
+ * that Spring Boot switches over with the same property. Otherwise they are daemon
+ * platform threads.
+ */
+@Component
+@Slf4j
+public class BackgroundThreads implements ThreadFactory {
+
+    private final ThreadFactory virtualThreads;
+
+    public BackgroundThreads(@Value("${spring.threads.virtual.enabled:false}") boolean virtualThreadsEnabled) {
+        boolean supported = JavaVersion.getJavaVersion().isEqualOrNewerThan(JavaVersion.TWENTY_ONE);
+        if (virtualThreadsEnabled && !supported) {
+            log.warn("Virtual threads requested but the runtime is Java {}, using platform threads",
+                    JavaVersion.getJavaVersion());
+        }
+        this.virtualThreads = virtualThreadsEnabled && supported
+                ? new VirtualThreadTaskExecutor().getVirtualThreadFactory()
+                : null;
+        if (virtualThreads != null) {
+            log.warn("Virtual threads are experimental here: they have not been load-tested against "
+                    + "platform threads yet, see docs/virtual-threads.md");
+        }
+    }
+
+    public boolean isVirtual() {
+        return virtualThreads != null;
+    }
+
+    @Override
+    public Thread newThread(Runnable task) {
+        if (virtualThreads != null) {
+            return virtualThreads.newThread(task);
+        }
+        Thread thread = new Thread(task);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    public Thread start(String name, Runnable task) {
+        Thread thread = newThread(task);
+        thread.setName(name);
+        thread.start();
+        return thread;
+    }
+}
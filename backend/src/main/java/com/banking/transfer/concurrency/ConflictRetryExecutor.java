@@ -0,0 +1,256 @@
+package com.banking.transfer.concurrency;
+
+import com.banking.transfer.exception.TransferOverloadedException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongConsumer;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Re-runs a unit of work that lost an optimistic (or database lock) conflict.
+ * <p>
+ * The caller passes the whole unit of work, lock acquisition and transaction included, so
+ * every attempt re-reads the accounts in a fresh transaction and no locks are held while
+ * backing off. Delays grow exponentially with full jitter. Every retry spends one token
+ * from the budget of each account involved, and only if every one of them has a token
+ * left; budgets refill at a fixed rate, so a single hot account cannot keep the retry loop
+ * busy. Once an account sees more conflicts than the storm threshold within one window,
+ * conflicts on that account fail fast with {@link TransferOverloadedException} until its
+ * window rolls over. Transfers between other accounts keep retrying as usual.
+ */
+@Component
+@Slf4j
+public class ConflictRetryExecutor {
+
+    private final int maxAttempts;
+    private final long baseDelayNanos;
+    private final long maxDelayNanos;
+    private final double budgetBurst;
+    private final double budgetRefillPerNano;
+    private final int stormThreshold;
+    private final long stormWindowNanos;
+    private final LongSupplier clock;
+    private final LongConsumer sleeper;
+
+    private final Cache<String, AccountConflicts> conflictStates;
+
+    private final MeterRegistry meterRegistry;
+    private final Cache<String, Counter> accountConflicts;
+    private final Counter retries;
+    private final Counter recovered;
+    private final Counter exhausted;
+    private final Counter budgetExhausted;
+    private final Counter stormRejected;
+    private final Timer retryTime;
+
+    @Autowired
+    public ConflictRetryExecutor(MeterRegistry meterRegistry,
+                                 @Value("${transfer.retry.max-attempts:4}") int maxAttempts,
+                                 @Value("${transfer.retry.base-delay:5ms}") Duration baseDelay,
+                                 @Value("${transfer.retry.max-delay:200ms}") Duration maxDelay,
+                                 @Value("${transfer.retry.account-budget.burst:20}") int budgetBurst,
+                                 @Value("${transfer.retry.account-budget.refill-per-second:10}") double budgetRefillPerSecond,
+                                 @Value("${transfer.retry.storm.threshold:200}") int stormThreshold,
+                                 @Value("${transfer.retry.storm.window:1s}") Duration stormWindow,
+                                 @Value("${transfer.retry.metrics.max-accounts:100}") int maxTrackedAccounts) {
+        this(meterRegistry, maxAttempts, baseDelay, maxDelay, budgetBurst, budgetRefillPerSecond,
+                stormThreshold, stormWindow, maxTrackedAccounts, System::nanoTime, LockSupport::parkNanos);
+    }
+
+    ConflictRetryExecutor(MeterRegistry meterRegistry, int maxAttempts, Duration baseDelay, Duration maxDelay,
+                          int budgetBurst, double budgetRefillPerSecond, int stormThreshold, Duration stormWindow,
+                          int maxTrackedAccounts, LongSupplier clock, LongConsumer sleeper) {
+        if (maxAttempts <= 0) {
+            throw new IllegalArgumentException("Max attempts must be positive");
+        }
+        this.maxAttempts = maxAttempts;
+        this.baseDelayNanos = baseDelay.toNanos();
+        this.maxDelayNanos = maxDelay.toNanos();
+        this.budgetBurst = budgetBurst;
+        this.budgetRefillPerNano = budgetRefillPerSecond / TimeUnit.SECONDS.toNanos(1);
+        this.stormThreshold = stormThreshold;
+        this.stormWindowNanos = stormWindow.toNanos();
+        this.clock = clock;
+        this.sleeper = sleeper;
+
+        this.conflictStates = Caffeine.newBuilder()
+                .expireAfterAccess(Duration.ofMinutes(10))
+                .build();
+
+        // Only the accounts that keep conflicting get their own meter
+        this.meterRegistry = meterRegistry;
+        this.accountConflicts = Caffeine.newBuilder()
+                .maximumSize(maxTrackedAccounts)
+                .executor(Runnable::run)
+                .<String, Counter>removalListener((accountId, counter, cause) -> {
+                    if (counter != null) {
+                        meterRegistry.remove(counter);
+                    }
+                })
+                .build();
+
+        this.retries = Counter.builder("transfer.retries")
+                .description("Transfer attempts re-run after a concurrency conflict")
+                .register(meterRegistry);
+        this.recovered = outcomeCounter(meterRegistry, "recovered");
+        this.exhausted = outcomeCounter(meterRegistry, "attempts_exhausted");
+        this.budgetExhausted = outcomeCounter(meterRegistry, "budget_exhausted");
+        this.stormRejected = outcomeCounter(meterRegistry, "storm");
+        this.retryTime = Timer.builder("transfer.retry.time")
+                .description("Time from the first conflict until the transfer committed or gave up")
+                .register(meterRegistry);
+    }
+
+    public <T> T execute(Collection<String> accountIds, Supplier<T> action) {
+        long firstConflictAt = 0;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                T result = action.get();
+                if (attempt > 1) {
+                    retryTime.record(clock.getAsLong() - firstConflictAt, TimeUnit.NANOSECONDS);
+                    recovered.increment();
+                }
+                return result;
+            } catch (ConcurrencyFailureException e) {
+                if (attempt == 1) {
+                    firstConflictAt = clock.getAsLong();
+                }
+                List<String> stormAccounts = recordConflict(accountIds);
+                boolean storm = !stormAccounts.isEmpty();
+
+                Counter refusal = storm ? stormRejected
+                        : attempt >= maxAttempts ? exhausted
+                        : !takeBudget(accountIds) ? budgetExhausted
+                        : null;
+                if (refusal != null) {
+                    retryTime.record(clock.getAsLong() - firstConflictAt, TimeUnit.NANOSECONDS);
+                    refusal.increment();
+                    if (storm) {
+                        log.warn("Conflict storm on accounts {}, failing fast: {}", stormAccounts, e.getMessage());
+                        throw new TransferOverloadedException(
+                                "Too many concurrent updates on these accounts, please retry the transfer");
+                    }
+                    log.warn("Giving up on accounts {} after {} attempt(s): {}", accountIds, attempt, e.getMessage());
+                    throw e;
+                }
+
+                retries.increment();
+                long delay = backoff(attempt);
+                log.debug("Concurrency conflict on accounts {}, retrying in {}us", accountIds, delay / 1000);
+                sleeper.accept(delay);
+            }
+        }
+    }
+
+    /**
+     * Full jitter: a uniform delay between zero and the capped exponential bound.
+     */
+    long backoff(int attempt) {
+        long bound = baseDelayNanos << Math.min(attempt - 1, 20);
+        if (bound <= 0 || bound > maxDelayNanos) {
+            bound = maxDelayNanos;
+        }
+        return bound <= 0 ? 0 : ThreadLocalRandom.current().nextLong(bound + 1);
+    }
+
+    /**
+     * Counts a conflict on each account and returns the accounts now over the storm threshold.
+     */
+    private List<String> recordConflict(Collection<String> accountIds) {
+        long now = clock.getAsLong();
+        List<String> stormAccounts = new ArrayList<>(0);
+        for (String accountId : accountIds) {
+            accountConflicts.get(accountId, id -> Counter.builder("transfer.conflicts")
+                    .description("Concurrency conflicts by account, for the most conflicted accounts")
+                    .tag("account", id)
+                    .register(meterRegistry)).increment();
+            if (state(accountId, now).recordConflict(now) > stormThreshold) {
+                stormAccounts.add(accountId);
+            }
+        }
+        return stormAccounts;
+    }
+
+    /**
+     * Takes one token from every account's budget, or none if any of them is empty.
+     */
+    private boolean takeBudget(Collection<String> accountIds) {
+        long now = clock.getAsLong();
+        List<AccountConflicts> taken = new ArrayList<>(accountIds.size());
+        for (String accountId : accountIds) {
+            AccountConflicts state = state(accountId, now);
+            if (!state.tryTake(now)) {
+                taken.forEach(AccountConflicts::giveBack);
+                return false;
+            }
+            taken.add(state);
+        }
+        return true;
+    }
+
+    private AccountConflicts state(String accountId, long now) {
+        return conflictStates.get(accountId, id -> new AccountConflicts(budgetBurst, now));
+    }
+
+    private static Counter outcomeCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("transfer.retry.outcomes")
+                .description("Transfers that hit a concurrency conflict, by how the retries ended")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Retry budget and storm window of one account.
+     */
+    private final class AccountConflicts {
+        private double tokens;
+        private long refilledAt;
+        private long windowStart;
+        private int windowConflicts;
+
+        AccountConflicts(double tokens, long now) {
+            this.tokens = tokens;
+            this.refilledAt = now;
+            this.windowStart = now;
+        }
+
+        synchronized boolean tryTake(long now) {
+            tokens = Math.min(budgetBurst, tokens + (now - refilledAt) * budgetRefillPerNano);
+            refilledAt = now;
+            if (tokens < 1) {
+                return false;
+            }
+            tokens--;
+            return true;
+        }
+
+        synchronized void giveBack() {
+            tokens = Math.min(budgetBurst, tokens + 1);
+        }
+
+        synchronized int recordConflict(long now) {
+            if (now - windowStart >= stormWindowNanos) {
+                windowStart = now;
+                windowConflicts = 0;
+            }
+            return ++windowConflicts;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.banking.transfer.config;
+
+import com.banking.transfer.concurrency.BoundedDataSource;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Wraps the application {@link DataSource} in a {@link BoundedDataSource}
+ * ({@code db.access.limit.enabled=true}, on in the {@code virtual-threads} profile).
+ * The limit defaults to the Hikari pool size.
+ */
+@Configuration
+@ConditionalOnProperty(name = "db.access.limit.enabled", havingValue = "true")
+@Slf4j
+public class DatabaseAccessConfig {
+
+    @Bean
+    static BeanPostProcessor boundedDataSourcePostProcessor(Environment environment) {
+        int maxConcurrency = environment.getProperty("db.access.limit.max-concurrency", Integer.class,
+                environment.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, 10));
+        Duration acquireTimeout = environment.getProperty("db.access.limit.acquire-timeout", Duration.class,
+                Duration.ofSeconds(5));
+
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                // Proxies such as the replica router are left alone; the pools behind them are limited
+                if (bean instanceof DataSource dataSource && !(bean instanceof BoundedDataSource)
+                        && !(bean instanceof DelegatingDataSource)) {
+                    log.info("Limiting data source '{}' to {} concurrent connections", beanName, maxConcurrency);
+                    return new BoundedDataSource(dataSource, maxConcurrency, acquireTimeout.toMillis());
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    MeterBinder boundedDataSourceMetrics(Map<String, DataSource> dataSources) {
+        return registry -> dataSources.forEach((name, dataSource) -> {
+            if (!(dataSource instanceof BoundedDataSource bounded)) {
+                return;
+            }
+            Gauge.builder("db.access.in.use", bounded, BoundedDataSource::inUse)
+                    .description("Connections checked out under the database access limit")
+                    .tag("name", name)
+                    .register(registry);
+            Gauge.builder("db.access.waiting", bounded, BoundedDataSource::waiting)
+                    .description("Callers waiting for database access")
+                    .tag("name", name)
+                    .register(registry);
+            Gauge.builder("db.access.max", bounded, BoundedDataSource::maxConcurrency)
+                    .tag("name", name)
+                    .register(registry);
+            FunctionCounter.builder("db.access.rejected", bounded, BoundedDataSource::rejected)
+                    .description("Callers that timed out waiting for database access")
+                    .tag("name", name)
+                    .register(registry);
+        });
+    }
+}
@@ -3,8 +3,11 @@ package com.banking.transfer.config;
 import com.banking.transfer.dto.ErrorResponse;
 import com.banking.transfer.exception.*;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.ConcurrencyFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -60,6 +63,61 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
     }
 
+    @ExceptionHandler(AccountLockTimeoutException.class)
+    public ResponseEntity<ErrorResponse> handleAccountLockTimeout(AccountLockTimeoutException ex) {
+        log.error("Account lock timeout: {}", ex.getMessage());
+        ErrorResponse error = ErrorResponse.builder()
+                .errorCode("TRX-503")
+                .message(ex.getMessage())
+                .timestamp(System.currentTimeMillis())
+                .build();
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(error);
+    }
+
+    @ExceptionHandler(TransferJournalException.class)
+    public ResponseEntity<ErrorResponse> handleTransferJournal(TransferJournalException ex) {
+        log.error("Transfer journal unavailable: {}", ex.getMessage());
+        ErrorResponse error = ErrorResponse.builder()
+                .errorCode("TRX-503")
+                .message(ex.getMessage())
+                .timestamp(System.currentTimeMillis())
+                .build();
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(error);
+    }
+
+    @ExceptionHandler(TransferOverloadedException.class)
+    public ResponseEntity<ErrorResponse> handleTransferOverloaded(TransferOverloadedException ex) {
+        log.error("Transfer overloaded: {}", ex.getMessage());
+        ErrorResponse error = ErrorResponse.builder()
+                .errorCode("TRX-503")
+                .message(ex.getMessage())
+                .timestamp(System.currentTimeMillis())
+                .build();
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(error);
+    }
+
+    @ExceptionHandler(ConcurrencyFailureException.class)
+    public ResponseEntity<ErrorResponse> handleConcurrencyFailure(ConcurrencyFailureException ex) {
+        log.error("Concurrency conflict persisted after retries: {}", ex.getMessage());
+        ErrorResponse error = ErrorResponse.builder()
+                .errorCode("TRX-503")
+                .message("Account is busy, please retry the transfer")
+                .timestamp(System.currentTimeMillis())
+                .build();
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(error);
+    }
+
+    @ExceptionHandler(CannotCreateTransactionException.class)
+    public ResponseEntity<ErrorResponse> handleCannotCreateTransaction(CannotCreateTransactionException ex) {
+        log.error("Database unavailable: {}", ex.getMessage());
+        ErrorResponse error = ErrorResponse.builder()
+                .errorCode("SYS-503")
+                .message("Service is busy, please retry")
+                .timestamp(System.currentTimeMillis())
+                .build();
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(error);
+    }
+
     @ExceptionHandler(DuplicateUsernameException.class)
     public ResponseEntity<ErrorResponse> handleDuplicateUsername(DuplicateUsernameException ex) {
         log.error("Duplicate username: {}", ex.getMessage());
@@ -113,6 +171,18 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).body(error);
     }
 
+    @ExceptionHandler(HttpMessageNotReadableException.class)
+    public ResponseEntity<ErrorResponse> handleUnreadableBody(HttpMessageNotReadableException ex) {
+        // e.g. an amount with more than two decimal places
+        log.error("Unreadable request body: {}", ex.getMessage());
+        ErrorResponse error = ErrorResponse.builder()
+                .errorCode("VAL-422")
+                .message("Malformed request body")
+                .timestamp(System.currentTimeMillis())
+                .build();
+        return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).body(error);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponse> handleGenericException(Exception ex) {
         log.error("Internal server error: {}", ex.getMessage(), ex);
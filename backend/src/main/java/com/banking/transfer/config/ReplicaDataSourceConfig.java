@@ -0,0 +1,92 @@
+package com.banking.transfer.config;
+
+import com.banking.transfer.replica.ReadWriteRoutingDataSource;
+import com.banking.transfer.replica.ReadYourWrites;
+import com.banking.transfer.replica.ReplicaLagMonitor;
+import com.banking.transfer.replica.ReplicaReadAspect;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Sends {@link com.banking.transfer.replica.ReadFromReplica} reads to a read replica
+ * ({@code datasource.replica.enabled=true}).
+ * <p>
+ * The primary pool is built from {@code spring.datasource.*} as before. The replica pool
+ * comes from {@code datasource.replica.*}. The application {@link DataSource} routes
+ * between them. When the connection limit is on, each pool gets its own limit.
+ */
+@Configuration
+@ConditionalOnProperty(name = "datasource.replica.enabled", havingValue = "true")
+@Slf4j
+public class ReplicaDataSourceConfig {
+
+    @Bean
+    DataSource primaryDataSource(DataSourceProperties properties, Environment environment) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(dataSource));
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    DataSource replicaDataSource(Environment environment) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(environment.getRequiredProperty("datasource.replica.url"))
+                .username(environment.getProperty("datasource.replica.username"))
+                .password(environment.getProperty("datasource.replica.password"))
+                .build();
+        Binder.get(environment).bind("datasource.replica.hikari", Bindable.ofInstance(dataSource));
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        log.info("Routing read-only history and balance reads to replica {}", dataSource.getJdbcUrl());
+        return dataSource;
+    }
+
+    @Bean
+    ReplicaLagMonitor replicaLagMonitor(@Qualifier("primaryDataSource") DataSource primary,
+                                        @Qualifier("replicaDataSource") DataSource replica,
+                                        Environment environment,
+                                        MeterRegistry meterRegistry) {
+        return new ReplicaLagMonitor(primary, replica, maxStaleness(environment), meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+                          @Qualifier("replicaDataSource") DataSource replica,
+                          ReplicaLagMonitor lagMonitor) {
+        // Lazy: the routing decision needs the transaction's read-only flag, set after begin
+        return new LazyConnectionDataSourceProxy(new ReadWriteRoutingDataSource(primary, replica, lagMonitor));
+    }
+
+    @Bean
+    ReadYourWrites readYourWrites(Environment environment) {
+        return new ReadYourWrites(maxStaleness(environment),
+                environment.getProperty("datasource.replica.read-your-writes.max-users", Long.class, 100_000L));
+    }
+
+    @Bean
+    ReplicaReadAspect replicaReadAspect(ReadYourWrites readYourWrites) {
+        return new ReplicaReadAspect(readYourWrites);
+    }
+
+    private static Duration maxStaleness(Environment environment) {
+        return environment.getProperty("datasource.replica.max-staleness", Duration.class, Duration.ofSeconds(2));
+    }
+}
@@ -2,16 +2,29 @@ package com.banking.transfer.controller;
 
 import com.banking.transfer.dto.AccountResponse;
 import com.banking.transfer.dto.CreateAccountRequest;
+import com.banking.transfer.dto.DailyStatementResponse;
 import com.banking.transfer.dto.LoginRequest;
+import com.banking.transfer.dto.TransactionPage;
 import com.banking.transfer.dto.TransactionResponse;
 import com.banking.transfer.service.AccountService;
+import com.banking.transfer.service.ExportFormat;
+import com.banking.transfer.service.TransactionExporter;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/api/v1/accounts")
@@ -19,7 +32,10 @@ import java.util.List;
 @CrossOrigin(origins = "http://localhost:4200")
 public class AccountController {
 
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final AccountService accountService;
+    private final TransactionExporter transactionExporter;
 
     @PostMapping
     public ResponseEntity<AccountResponse> createAccount(@Valid @RequestBody CreateAccountRequest request) {
@@ -45,9 +61,70 @@ public class AccountController {
         return ResponseEntity.ok(response);
     }
 
+    @PostMapping("/{id}/hot")
+    public ResponseEntity<AccountResponse> makeHot(@PathVariable String id,
+                                                   @RequestParam(defaultValue = "16") int slots) {
+        AccountResponse response = accountService.makeHot(id, slots);
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/{id}/transactions")
-    public ResponseEntity<List<TransactionResponse>> getTransactions(@PathVariable String id) {
-        List<TransactionResponse> transactions = accountService.getTransactions(id);
-        return ResponseEntity.ok(transactions);
+    public ResponseEntity<List<TransactionResponse>> getTransactions(
+            @PathVariable String id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        TransactionPage page = accountService.getTransactions(id, from, to, cursor, limit);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getItems());
+    }
+
+    /**
+     * Streams the account's complete history in [from, to), oldest first, as NDJSON or CSV.
+     * The body is gzip-compressed when the client accepts it.
+     */
+    @GetMapping("/{id}/transactions/export")
+    public void exportTransactions(
+            @PathVariable String id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            HttpServletResponse response) throws IOException {
+        ExportFormat exportFormat = ExportFormat.of(format);
+        transactionExporter.validate(id, from, to);
+
+        response.setContentType(exportFormat.getContentType());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename(id + "-transactions." + exportFormat.getExtension())
+                .build()
+                .toString());
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        boolean gzip = acceptEncoding != null && acceptEncoding.contains("gzip");
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        try (OutputStream out = gzip
+                ? new GZIPOutputStream(response.getOutputStream(), 8192)
+                : response.getOutputStream()) {
+            transactionExporter.export(id, from, to, exportFormat, out);
+        }
+    }
+
+    /**
+     * Daily statement rows for days in [from, to); by default the last 30 days including today.
+     */
+    @GetMapping("/{id}/statements")
+    public ResponseEntity<List<DailyStatementResponse>> getStatement(
+            @PathVariable String id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        LocalDate end = to != null ? to : LocalDate.now().plusDays(1);
+        LocalDate start = from != null ? from : end.minusDays(30);
+        return ResponseEntity.ok(accountService.getStatement(id, start, end));
     }
 }
@@ -1,7 +1,13 @@
 package com.banking.transfer.controller;
 
+import com.banking.transfer.dto.BatchTransferRequest;
+import com.banking.transfer.dto.BatchTransferResponse;
 import com.banking.transfer.dto.TransferRequest;
 import com.banking.transfer.dto.TransferResponse;
+import com.banking.transfer.service.BatchTransferService;
+import com.banking.transfer.service.JournaledTransferService;
+import com.banking.transfer.service.TransferCoalescer;
+import com.banking.transfer.service.TransferOutcome;
 import com.banking.transfer.service.TransferService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -9,6 +15,9 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+import java.util.Optional;
+
 @RestController
 @RequestMapping("/api/v1/transfers")
 @RequiredArgsConstructor
@@ -16,10 +25,34 @@ import org.springframework.web.bind.annotation.*;
 public class TransferController {
 
     private final TransferService transferService;
+    private final BatchTransferService batchTransferService;
+    private final Optional<JournaledTransferService> journaledTransferService;
+    private final Optional<TransferCoalescer> transferCoalescer;
 
     @PostMapping
     public ResponseEntity<TransferResponse> transfer(@Valid @RequestBody TransferRequest request) {
-        TransferResponse response = transferService.transfer(request);
+        if (journaledTransferService.isPresent()) {
+            // Journal engine mode: durable and queued, applied asynchronously
+            TransferResponse accepted = journaledTransferService.get().accept(request);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(accepted);
+        }
+        TransferResponse response = transferCoalescer.isPresent()
+                ? transferCoalescer.get().transfer(request)
+                : transferService.transfer(request);
+        return ResponseEntity.status(HttpStatus.OK).body(response);
+    }
+
+    @PostMapping("/batch")
+    public ResponseEntity<BatchTransferResponse> transferBatch(@Valid @RequestBody BatchTransferRequest request) {
+        List<TransferOutcome> outcomes = batchTransferService.transferAll(request.getTransfers());
+        int succeeded = (int) outcomes.stream().filter(TransferOutcome::isSuccess).count();
+
+        BatchTransferResponse response = BatchTransferResponse.builder()
+                .total(outcomes.size())
+                .succeeded(succeeded)
+                .failed(outcomes.size() - succeeded)
+                .results(outcomes.stream().map(TransferOutcome::getResponse).toList())
+                .build();
         return ResponseEntity.status(HttpStatus.OK).body(response);
     }
 }
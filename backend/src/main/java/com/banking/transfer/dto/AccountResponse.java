@@ -1,13 +1,12 @@
 package com.banking.transfer.dto;
 
 import com.banking.transfer.entity.AccountStatus;
+import com.banking.transfer.money.Money;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
-import java.math.BigDecimal;
-
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -17,6 +16,6 @@ public class AccountResponse {
     private String id;
     private String username;
     private String holderName;
-    private BigDecimal balance;
+    private Money balance;
     private AccountStatus status;
 }
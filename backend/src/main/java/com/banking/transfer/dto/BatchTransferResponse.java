@@ -0,0 +1,20 @@
+package com.banking.transfer.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchTransferResponse {
+
+    private int total;
+    private int succeeded;
+    private int failed;
+    private List<TransferResponse> results;
+}
@@ -1,5 +1,6 @@
 package com.banking.transfer.dto;
 
+import com.banking.transfer.money.Money;
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotBlank;
 import lombok.AllArgsConstructor;
@@ -7,8 +8,6 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
-import java.math.BigDecimal;
-
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -26,5 +25,5 @@ public class CreateAccountRequest {
 
     /** Optional. When null, server defaults to 1000 for new accounts. */
     @DecimalMin(value = "0.0", inclusive = true, message = "Balance must be non-negative")
-    private BigDecimal initialBalance;
+    private Money initialBalance;
 }
@@ -0,0 +1,24 @@
+package com.banking.transfer.dto;
+
+import com.banking.transfer.money.Money;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DailyStatementResponse {
+
+    private LocalDate date;
+    private Money openingBalance;
+    private Money totalDebits;
+    private Money totalCredits;
+    private long debitCount;
+    private long creditCount;
+    private Money closingBalance;
+}
@@ -0,0 +1,20 @@
+package com.banking.transfer.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TransactionPage {
+
+    private List<TransactionResponse> items;
+
+    /** Opaque keyset cursor for the next (older) page; null on the last page. */
+    private String nextCursor;
+}
@@ -1,12 +1,12 @@
 package com.banking.transfer.dto;
 
 import com.banking.transfer.entity.TransactionStatus;
+import com.banking.transfer.money.Money;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Data
@@ -18,7 +18,7 @@ public class TransactionResponse {
     private String id;
     private String fromAccountId;
     private String toAccountId;
-    private BigDecimal amount;
+    private Money amount;
     private TransactionStatus status;
     private String failureReason;
     private LocalDateTime createdOn;
@@ -1,5 +1,7 @@
 package com.banking.transfer.dto;
 
+import com.banking.transfer.money.Money;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -8,8 +10,6 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
-import java.math.BigDecimal;
-
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -24,8 +24,13 @@ public class TransferRequest {
 
     @NotNull(message = "Amount is required")
     @DecimalMin(value = "0.01", message = "Amount must be greater than 0")
-    private BigDecimal amount;
+    private Money amount;
 
     @NotBlank(message = "Idempotency key is required")
     private String idempotencyKey;
+
+    // Assigned when the journal engine accepts the transfer, so the 202 can name the log it
+    // will be applied as; never read from the request body
+    @JsonIgnore
+    private String transactionId;
 }
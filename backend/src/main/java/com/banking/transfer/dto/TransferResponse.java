@@ -1,12 +1,11 @@
 package com.banking.transfer.dto;
 
+import com.banking.transfer.money.Money;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
-import java.math.BigDecimal;
-
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -18,5 +17,5 @@ public class TransferResponse {
     private String message;
     private String debitedFrom;
     private String creditedTo;
-    private BigDecimal amount;
+    private Money amount;
 }
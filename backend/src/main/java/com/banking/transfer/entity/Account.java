@@ -1,16 +1,19 @@
 package com.banking.transfer.entity;
 
+import com.banking.transfer.id.Ids;
+import com.banking.transfer.money.MinorUnitsConverter;
+import com.banking.transfer.money.Money;
+import com.banking.transfer.security.CredentialCacheEvictionListener;
 import jakarta.persistence.*;
 import lombok.*;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "accounts")
-@EntityListeners(AuditingEntityListener.class)
+@EntityListeners({AuditingEntityListener.class, CredentialCacheEvictionListener.class})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -30,13 +33,19 @@ public class Account {
     @Column(nullable = false)
     private String holderName;
 
+    // Minor units, unboxed so balance checks and updates do not allocate; exposed as Money
     @Column(nullable = false, precision = 18, scale = 2)
-    private BigDecimal balance;
+    @Convert(converter = MinorUnitsConverter.class)
+    private long balance;
 
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     private AccountStatus status;
 
+    // Balance slots holding part of the balance while the account is hot, otherwise 0
+    @Column(nullable = false)
+    private int balanceSlots;
+
     @Version
     private Integer version;
 
@@ -46,23 +55,47 @@ public class Account {
     @PrePersist
     private void prePersist() {
         if (this.id == null) {
-            this.id = "ACC-" + System.currentTimeMillis();
+            this.id = Ids.newAccountId();
         }
     }
 
+    public Money getBalance() {
+        return Money.ofMinorUnits(balance);
+    }
+
+    public void setBalance(Money balance) {
+        this.balance = balance.minorUnits();
+    }
+
     // Business methods
-    public void debit(BigDecimal amount) {
-        if (this.balance.compareTo(amount) < 0) {
+    public boolean hasFunds(Money amount) {
+        return this.balance >= amount.minorUnits();
+    }
+
+    public void debit(Money amount) {
+        if (!hasFunds(amount)) {
             throw new IllegalArgumentException("Insufficient balance");
         }
-        this.balance = this.balance.subtract(amount);
+        this.balance = Math.subtractExact(this.balance, amount.minorUnits());
     }
 
-    public void credit(BigDecimal amount) {
-        this.balance = this.balance.add(amount);
+    public void credit(Money amount) {
+        this.balance = Math.addExact(this.balance, amount.minorUnits());
     }
 
     public boolean isActive() {
         return this.status == AccountStatus.ACTIVE;
     }
+
+    public boolean isHot() {
+        return this.balanceSlots > 0;
+    }
+
+    public static class AccountBuilder {
+
+        public AccountBuilder balance(Money balance) {
+            this.balance = balance.minorUnits();
+            return this;
+        }
+    }
 }
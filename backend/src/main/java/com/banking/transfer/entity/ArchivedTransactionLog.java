@@ -0,0 +1,64 @@
+package com.banking.transfer.entity;
+
+import com.banking.transfer.money.Money;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * A {@link TransactionLog} row moved out of {@code transaction_logs} once it passed the archive
+ * age. The idempotency key is not unique here: keys are only reserved while their row is in the
+ * hot table.
+ */
+@Entity
+@Table(name = "transaction_logs_archive", indexes = {
+        @Index(name = "idx_txarchive_from_created", columnList = "fromAccountId, createdOn"),
+        @Index(name = "idx_txarchive_to_created", columnList = "toAccountId, createdOn")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ArchivedTransactionLog {
+
+    @Id
+    private String id;
+
+    @Column(nullable = false)
+    private String fromAccountId;
+
+    @Column(nullable = false)
+    private String toAccountId;
+
+    @Column(nullable = false, precision = 18, scale = 2)
+    private Money amount;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private TransactionStatus status;
+
+    private String failureReason;
+
+    @Column(nullable = false)
+    private String idempotencyKey;
+
+    @Column(nullable = false)
+    private LocalDateTime createdOn;
+
+    @Column(nullable = false)
+    private LocalDateTime archivedOn;
+
+    public TransactionLog toTransactionLog() {
+        return TransactionLog.builder()
+                .id(id)
+                .fromAccountId(fromAccountId)
+                .toAccountId(toAccountId)
+                .amount(amount)
+                .status(status)
+                .failureReason(failureReason)
+                .idempotencyKey(idempotencyKey)
+                .createdOn(createdOn)
+                .build();
+    }
+}
@@ -0,0 +1,43 @@
+package com.banking.transfer.entity;
+
+import com.banking.transfer.id.Ids;
+import com.banking.transfer.money.Money;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * An account's balance as of {@code asOf}: the sum of all its postings created before
+ * that instant. The current balance is the latest checkpoint plus the postings created
+ * since.
+ */
+@Entity
+@Table(name = "balance_checkpoints", indexes = {
+        @Index(name = "idx_checkpoint_account_asof", columnList = "accountId, asOf")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BalanceCheckpoint {
+
+    @Id
+    private String id;
+
+    @Column(nullable = false)
+    private String accountId;
+
+    @Column(nullable = false, precision = 18, scale = 2)
+    private Money balance;
+
+    @Column(nullable = false)
+    private LocalDateTime asOf;
+
+    @PrePersist
+    public void prePersist() {
+        if (this.id == null) {
+            this.id = Ids.newTransactionId();
+        }
+    }
+}
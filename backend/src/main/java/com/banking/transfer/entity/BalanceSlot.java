@@ -0,0 +1,39 @@
+package com.banking.transfer.entity;
+
+import com.banking.transfer.money.Money;
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * One sub-balance of a hot account. A hot account's balance is its {@code Account.balance}
+ * plus the sum of its slots; credits land on a random slot so concurrent credits update
+ * different rows.
+ */
+@Entity
+@Table(name = "balance_slots",
+        uniqueConstraints = @UniqueConstraint(name = "uk_slot_account_slot", columnNames = {"accountId", "slot"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BalanceSlot {
+
+    @Id
+    private String id;
+
+    @Column(nullable = false)
+    private String accountId;
+
+    @Column(nullable = false)
+    private int slot;
+
+    @Column(nullable = false, precision = 18, scale = 2)
+    private Money balance;
+
+    @PrePersist
+    public void prePersist() {
+        if (this.id == null) {
+            this.id = accountId + "#" + slot;
+        }
+    }
+}
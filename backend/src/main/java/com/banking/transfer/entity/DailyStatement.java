@@ -0,0 +1,55 @@
+package com.banking.transfer.entity;
+
+import com.banking.transfer.money.Money;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+
+/**
+ * Debit and credit totals of one account's postings on one day, kept up to date in the
+ * transaction that writes the postings.
+ * <p>
+ * Credits to a hot account are spread over one row per balance slot ({@code stripe}), so
+ * concurrent credits do not queue on a single row; every other posting uses stripe 0. A
+ * day's totals are the sum of its stripes. Balances are not stored: they are derived from
+ * the ledger when a statement is read.
+ */
+@Entity
+@Table(name = "daily_statements", indexes = {
+        @Index(name = "idx_statement_account_date", columnList = "accountId, statementDate")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DailyStatement {
+
+    @Id
+    private String id;
+
+    @Column(nullable = false)
+    private String accountId;
+
+    @Column(nullable = false)
+    private LocalDate statementDate;
+
+    @Column(nullable = false)
+    private int stripe;
+
+    @Column(nullable = false, precision = 18, scale = 2)
+    private Money totalDebits;
+
+    @Column(nullable = false, precision = 18, scale = 2)
+    private Money totalCredits;
+
+    @Column(nullable = false)
+    private long debitCount;
+
+    @Column(nullable = false)
+    private long creditCount;
+
+    public static String idOf(String accountId, LocalDate statementDate, int stripe) {
+        return accountId + "#" + statementDate + "#" + stripe;
+    }
+}
@@ -0,0 +1,55 @@
+package com.banking.transfer.entity;
+
+import com.banking.transfer.id.Ids;
+import com.banking.transfer.money.Money;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * One side of a transfer in the append-only ledger. Every successful transfer writes a
+ * DEBIT posting on the source account and a CREDIT posting on the destination account
+ * for the same amount; an account's opening balance is a single posting without a
+ * transaction, back-filled at startup for accounts created before the ledger. Postings
+ * are never updated or deleted.
+ */
+@Entity
+@Table(name = "ledger_postings", indexes = {
+        @Index(name = "idx_posting_account_created", columnList = "accountId, createdOn"),
+        @Index(name = "idx_posting_created", columnList = "createdOn")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LedgerPosting {
+
+    @Id
+    private String id;
+
+    @Column(nullable = false)
+    private String accountId;
+
+    private String transactionId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private PostingType type;
+
+    @Column(nullable = false, precision = 18, scale = 2)
+    private Money amount;
+
+    @Column(nullable = false)
+    private LocalDateTime createdOn;
+
+    @PrePersist
+    public void prePersist() {
+        if (this.id == null) {
+            this.id = Ids.newTransactionId();
+        }
+        if (this.createdOn == null) {
+            this.createdOn = LocalDateTime.now();
+        }
+    }
+}
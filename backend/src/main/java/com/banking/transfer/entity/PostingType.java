@@ -0,0 +1,6 @@
+package com.banking.transfer.entity;
+
+public enum PostingType {
+    DEBIT,
+    CREDIT
+}
@@ -0,0 +1,25 @@
+package com.banking.transfer.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Single row the primary stamps with the current time. Its value on the read replica shows
+ * how far replication is behind. It is written and read with plain JDBC by
+ * {@code ReplicaLagMonitor}; the entity only declares the table.
+ */
+@Entity
+@Table(name = "replica_heartbeat")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReplicaHeartbeat {
+
+    @Id
+    private Integer id;
+
+    /** Primary clock in epoch milliseconds, so the value is independent of time zones. */
+    @Column(nullable = false)
+    private long beatMillis;
+}
@@ -1,19 +1,26 @@
 package com.banking.transfer.entity;
 
+import com.banking.transfer.id.Ids;
+import com.banking.transfer.money.Money;
 import jakarta.persistence.*;
 import lombok.*;
+import org.springframework.data.domain.Persistable;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
-import java.util.UUID;
 
 @Entity
-@Table(name = "transaction_logs")
+@Table(name = "transaction_logs", indexes = {
+        // InnoDB appends the primary key, so each index also covers the (createdOn, id) keyset order
+        @Index(name = "idx_txlog_from_created", columnList = "fromAccountId, createdOn"),
+        @Index(name = "idx_txlog_to_created", columnList = "toAccountId, createdOn"),
+        // Oldest-first scan for the archiver
+        @Index(name = "idx_txlog_created", columnList = "createdOn")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-public class TransactionLog {
+public class TransactionLog implements Persistable<String> {
 
     @Id
     private String id;
@@ -25,7 +32,7 @@ public class TransactionLog {
     private String toAccountId;
 
     @Column(nullable = false, precision = 18, scale = 2)
-    private BigDecimal amount;
+    private Money amount;
 
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
@@ -39,10 +46,30 @@ public class TransactionLog {
     @Column(nullable = false)
     private LocalDateTime createdOn;
 
+    // A log built with an id (assigned when the journal accepted it) is still inserted, not merged
+    @Transient
+    @Builder.Default
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private boolean persisted = false;
+
+    @Override
+    public boolean isNew() {
+        return !persisted;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        this.persisted = true;
+    }
+
     @PrePersist
     public void prePersist() {
         if (this.id == null) {
-            this.id = UUID.randomUUID().toString();
+            this.id = Ids.newTransactionId();
         }
         if (this.createdOn == null) {
             this.createdOn = LocalDateTime.now();
@@ -0,0 +1,11 @@
+package com.banking.transfer.exception;
+
+public class TransferJournalException extends RuntimeException {
+    public TransferJournalException(String message) {
+        super(message);
+    }
+
+    public TransferJournalException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,7 @@
+package com.banking.transfer.exception;
+
+public class TransferOverloadedException extends RuntimeException {
+    public TransferOverloadedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,79 @@
+package com.banking.transfer.id;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Lock-free, Snowflake-style generator of 64-bit ids.
+ * <p>
+ * Layout: 41 bits of milliseconds since {@link #EPOCH_MILLIS}, 10 bits of node id and
+ * 12 bits of per-millisecond sequence. Ids from one generator are strictly increasing:
+ * when a millisecond's 4096 sequence values run out, or the wall clock steps back, the
+ * generator keeps counting on its last timestamp instead of blocking, and the clock
+ * catches up with it again.
+ * <p>
+ * {@link #encode(long)} renders an id as 13 Crockford base32 characters whose lexical
+ * order matches numeric order, so string primary keys stay append-mostly in the index.
+ */
+public class IdGenerator {
+
+    /** 2024-01-01T00:00:00Z; the 41-bit timestamp lasts until 2093. */
+    public static final long EPOCH_MILLIS = 1704067200000L;
+
+    public static final int NODE_BITS = 10;
+    public static final int SEQUENCE_BITS = 12;
+    public static final int MAX_NODE_ID = (1 << NODE_BITS) - 1;
+
+    static final int ENCODED_LENGTH = 13;
+
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    private static final char[] ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+
+    private final long nodeBits;
+    private final LongSupplier clock;
+    // Timestamp and sequence of the last issued id, packed as (millis << SEQUENCE_BITS) | sequence
+    private final AtomicLong lastState = new AtomicLong();
+
+    public IdGenerator(int nodeId) {
+        this(nodeId, System::currentTimeMillis);
+    }
+
+    IdGenerator(int nodeId, LongSupplier clock) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("Node id must be between 0 and " + MAX_NODE_ID);
+        }
+        this.nodeBits = (long) nodeId << SEQUENCE_BITS;
+        this.clock = clock;
+    }
+
+    public long nextId() {
+        long now = (clock.getAsLong() - EPOCH_MILLIS) << SEQUENCE_BITS;
+        long last;
+        long next;
+        do {
+            last = lastState.get();
+            // Either start a fresh millisecond or take the next sequence after the last id
+            next = Math.max(now, last + 1);
+        } while (!lastState.compareAndSet(last, next));
+
+        long millis = next >>> SEQUENCE_BITS;
+        return (millis << (NODE_BITS + SEQUENCE_BITS)) | nodeBits | (next & SEQUENCE_MASK);
+    }
+
+    public String nextIdString() {
+        return encode(nextId());
+    }
+
+    public static String encode(long id) {
+        char[] chars = new char[ENCODED_LENGTH];
+        for (int i = ENCODED_LENGTH - 1; i >= 0; i--) {
+            chars[i] = ALPHABET[(int) (id & 31)];
+            id >>>= 5;
+        }
+        return new String(chars);
+    }
+
+    public static long timestampOf(long id) {
+        return (id >>> (NODE_BITS + SEQUENCE_BITS)) + EPOCH_MILLIS;
+    }
+}
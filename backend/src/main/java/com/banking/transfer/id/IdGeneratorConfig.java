@@ -0,0 +1,19 @@
+package com.banking.transfer.id;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Applies {@code ids.node-id} to {@link Ids}. Every node writing to the same database
+ * needs its own node id (0-1023), otherwise ids may collide.
+ */
+@Configuration
+@Slf4j
+public class IdGeneratorConfig {
+
+    public IdGeneratorConfig(@Value("${ids.node-id:0}") int nodeId) {
+        Ids.configure(nodeId);
+        log.info("Id generator configured with node id {}", nodeId);
+    }
+}
@@ -0,0 +1,27 @@
+package com.banking.transfer.id;
+
+/**
+ * Static access to the process-wide {@link IdGenerator}, for entity callbacks that
+ * cannot have beans injected. {@link IdGeneratorConfig} sets the node id at startup.
+ */
+public final class Ids {
+
+    public static final String ACCOUNT_PREFIX = "ACC-";
+
+    private static volatile IdGenerator generator = new IdGenerator(0);
+
+    private Ids() {
+    }
+
+    public static void configure(int nodeId) {
+        generator = new IdGenerator(nodeId);
+    }
+
+    public static String newAccountId() {
+        return ACCOUNT_PREFIX + generator.nextIdString();
+    }
+
+    public static String newTransactionId() {
+        return generator.nextIdString();
+    }
+}
@@ -0,0 +1,230 @@
+package com.banking.transfer.idempotency;
+
+import com.banking.transfer.concurrency.BackgroundThreads;
+import com.banking.transfer.repository.TransactionLogRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Answers "has this idempotency key been used?" without probing {@code transaction_logs}
+ * for keys that are definitely new.
+ * <p>
+ * A key found in the bounded recent-key cache is a known duplicate. A key the Bloom
+ * filter has never seen is definitely new. Only the remaining "maybe" keys go to the
+ * database. Until the filter has been warmed from the table at startup every check goes
+ * to the database. The unique index on {@code idempotency_key} stays the backstop for
+ * keys written by other nodes.
+ * <p>
+ * Keys are checked against {@code transaction_logs} only. Once a row has been moved out by
+ * {@link com.banking.transfer.archive.TransactionArchive} its key can be used again.
+ */
+@Component
+@Slf4j
+public class IdempotencyGuard {
+
+    private final TransactionLogRepository transactionLogRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final BackgroundThreads backgroundThreads;
+    private final BloomFilter bloomFilter;
+    private final Cache<String, Boolean> recentKeys;
+    private final Duration recentWindow;
+    private final int recentMaxSize;
+    private volatile boolean warmedUp;
+
+    private final Counter recentHits;
+    private final Counter definitelyNew;
+    private final Counter confirmedDuplicates;
+    private final Counter falsePositives;
+    private final Counter bypassed;
+
+    public IdempotencyGuard(TransactionLogRepository transactionLogRepository,
+                            TransactionTemplate transactionTemplate,
+                            BackgroundThreads backgroundThreads,
+                            MeterRegistry meterRegistry,
+                            @Value("${idempotency.bloom.expected-insertions:1000000}") long expectedInsertions,
+                            @Value("${idempotency.bloom.false-positive-rate:0.01}") double falsePositiveRate,
+                            @Value("${idempotency.recent.max-size:100000}") int recentMaxSize,
+                            @Value("${idempotency.recent.window:24h}") Duration recentWindow) {
+        this.transactionLogRepository = transactionLogRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.readOnlyTransaction.setReadOnly(true);
+        this.backgroundThreads = backgroundThreads;
+        this.bloomFilter = new BloomFilter(expectedInsertions, falsePositiveRate);
+        this.recentKeys = Caffeine.newBuilder()
+                .maximumSize(recentMaxSize)
+                .expireAfterWrite(recentWindow)
+                .build();
+        this.recentWindow = recentWindow;
+        this.recentMaxSize = recentMaxSize;
+
+        this.recentHits = checkCounter(meterRegistry, "recent_hit");
+        this.definitelyNew = checkCounter(meterRegistry, "definitely_new");
+        this.confirmedDuplicates = checkCounter(meterRegistry, "db_confirmed");
+        this.falsePositives = checkCounter(meterRegistry, "false_positive");
+        this.bypassed = checkCounter(meterRegistry, "not_warmed_up");
+
+        Gauge.builder("idempotency.filter.hit.rate", this, IdempotencyGuard::hitRate)
+                .description("Share of checks answered without a database probe")
+                .register(meterRegistry);
+        Gauge.builder("idempotency.filter.false.positive.rate", this, IdempotencyGuard::falsePositiveRate)
+                .description("Share of Bloom filter 'maybe' answers that the database did not confirm")
+                .register(meterRegistry);
+        Gauge.builder("idempotency.filter.expected.false.positive.rate", bloomFilter, BloomFilter::expectedFalsePositiveRate)
+                .description("False positive rate implied by the current Bloom filter fill")
+                .register(meterRegistry);
+        Gauge.builder("idempotency.filter.insertions", bloomFilter, BloomFilter::insertions)
+                .register(meterRegistry);
+        Gauge.builder("idempotency.recent.size", recentKeys, Cache::estimatedSize)
+                .register(meterRegistry);
+    }
+
+    public boolean isDuplicate(String idempotencyKey) {
+        if (recentKeys.getIfPresent(idempotencyKey) != null) {
+            recentHits.increment();
+            return true;
+        }
+        if (!warmedUp) {
+            bypassed.increment();
+            return checkDatabase(idempotencyKey);
+        }
+        if (!bloomFilter.mightContain(idempotencyKey)) {
+            definitelyNew.increment();
+            return false;
+        }
+        return checkDatabase(idempotencyKey);
+    }
+
+    /**
+     * Returns the keys among {@code idempotencyKeys} that have already been used, probing the
+     * database with a single {@code IN} query for the keys the filter cannot rule out.
+     */
+    public Set<String> findDuplicates(Collection<String> idempotencyKeys) {
+        Set<String> duplicates = new HashSet<>();
+        List<String> uncertain = new ArrayList<>();
+        for (String key : idempotencyKeys) {
+            if (recentKeys.getIfPresent(key) != null) {
+                recentHits.increment();
+                duplicates.add(key);
+            } else if (warmedUp && !bloomFilter.mightContain(key)) {
+                definitelyNew.increment();
+            } else {
+                uncertain.add(key);
+            }
+        }
+
+        if (!uncertain.isEmpty()) {
+            List<String> existing = transactionLogRepository.findExistingIdempotencyKeys(uncertain);
+            existing.forEach(key -> recentKeys.put(key, Boolean.TRUE));
+            duplicates.addAll(existing);
+            confirmedDuplicates.increment(existing.size());
+            (warmedUp ? falsePositives : bypassed).increment(uncertain.size() - existing.size());
+        }
+        return duplicates;
+    }
+
+    /**
+     * Records keys whose transaction log rows are being written. Inside a transaction the
+     * keys only become visible to {@link #isDuplicate} once it has committed.
+     */
+    public void record(Collection<String> idempotencyKeys) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    idempotencyKeys.forEach(IdempotencyGuard.this::remember);
+                }
+            });
+        } else {
+            idempotencyKeys.forEach(this::remember);
+        }
+    }
+
+    public void record(String idempotencyKey) {
+        record(List.of(idempotencyKey));
+    }
+
+    public boolean isWarmedUp() {
+        return warmedUp;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        backgroundThreads.start("idempotency-warmup", this::loadExistingKeys);
+    }
+
+    void loadExistingKeys() {
+        long start = System.currentTimeMillis();
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<String> keys = transactionLogRepository.streamAllIdempotencyKeys()) {
+                    keys.forEach(bloomFilter::put);
+                }
+                transactionLogRepository.findIdempotencyKeysCreatedSince(
+                                LocalDateTime.now().minus(recentWindow), Limit.of(recentMaxSize))
+                        .forEach(key -> recentKeys.put(key, Boolean.TRUE));
+            });
+            warmedUp = true;
+            log.info("Idempotency filter warmed up with {} keys in {}ms",
+                    bloomFilter.insertions(), System.currentTimeMillis() - start);
+        } catch (RuntimeException e) {
+            log.error("Idempotency filter warm-up failed, every check keeps going to the database: {}",
+                    e.getMessage());
+        }
+    }
+
+    private boolean checkDatabase(String idempotencyKey) {
+        if (transactionLogRepository.findByIdempotencyKey(idempotencyKey).isPresent()) {
+            confirmedDuplicates.increment();
+            recentKeys.put(idempotencyKey, Boolean.TRUE);
+            return true;
+        }
+        if (warmedUp) {
+            falsePositives.increment();
+        }
+        return false;
+    }
+
+    private void remember(String idempotencyKey) {
+        bloomFilter.put(idempotencyKey);
+        recentKeys.put(idempotencyKey, Boolean.TRUE);
+    }
+
+    private double hitRate() {
+        double answeredInMemory = recentHits.count() + definitelyNew.count();
+        double total = answeredInMemory + confirmedDuplicates.count() + falsePositives.count() + bypassed.count();
+        return total == 0 ? 0 : answeredInMemory / total;
+    }
+
+    private double falsePositiveRate() {
+        double maybes = confirmedDuplicates.count() + falsePositives.count();
+        return maybes == 0 ? 0 : falsePositives.count() / maybes;
+    }
+
+    private static Counter checkCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("idempotency.checks")
+                .description("Idempotency key checks by how they were answered")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
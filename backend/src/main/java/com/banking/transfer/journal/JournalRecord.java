@@ -0,0 +1,80 @@
+package com.banking.transfer.journal;
+
+import com.banking.transfer.dto.TransferRequest;
+import com.banking.transfer.money.Money;
+import lombok.Value;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * One accepted transfer in the write-ahead journal.
+ */
+@Value
+public class JournalRecord {
+
+    long sequence;
+    long acceptedAtMillis;
+    String fromAccountId;
+    String toAccountId;
+    Money amount;
+    String idempotencyKey;
+    // Null for records written before transaction ids were assigned on accept
+    String transactionId;
+
+    public static JournalRecord of(long sequence, TransferRequest request) {
+        return new JournalRecord(sequence, System.currentTimeMillis(), request.getFromAccountId(),
+                request.getToAccountId(), request.getAmount(), request.getIdempotencyKey(),
+                request.getTransactionId());
+    }
+
+    public TransferRequest toRequest() {
+        return TransferRequest.builder()
+                .fromAccountId(fromAccountId)
+                .toAccountId(toAccountId)
+                .amount(amount)
+                .idempotencyKey(idempotencyKey)
+                .transactionId(transactionId)
+                .build();
+    }
+
+    byte[] encode() {
+        byte[] from = fromAccountId.getBytes(StandardCharsets.UTF_8);
+        byte[] to = toAccountId.getBytes(StandardCharsets.UTF_8);
+        byte[] amountText = amount.toString().getBytes(StandardCharsets.UTF_8);
+        byte[] key = idempotencyKey.getBytes(StandardCharsets.UTF_8);
+        byte[] id = transactionId == null ? new byte[0] : transactionId.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buffer = ByteBuffer.allocate(16 + 20 + from.length + to.length + amountText.length + key.length
+                + id.length);
+        buffer.putLong(sequence).putLong(acceptedAtMillis);
+        putBytes(buffer, from);
+        putBytes(buffer, to);
+        putBytes(buffer, amountText);
+        putBytes(buffer, key);
+        // Last, so records written before it was added still decode
+        putBytes(buffer, id);
+        return buffer.array();
+    }
+
+    static JournalRecord decode(ByteBuffer buffer) {
+        long sequence = buffer.getLong();
+        long acceptedAtMillis = buffer.getLong();
+        String from = getString(buffer);
+        String to = getString(buffer);
+        Money amount = Money.of(getString(buffer));
+        String key = getString(buffer);
+        String transactionId = buffer.hasRemaining() ? getString(buffer) : "";
+        return new JournalRecord(sequence, acceptedAtMillis, from, to, amount, key,
+                transactionId.isEmpty() ? null : transactionId);
+    }
+
+    private static void putBytes(ByteBuffer buffer, byte[] bytes) {
+        buffer.putInt(bytes.length).put(bytes);
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,134 @@
+package com.banking.transfer.journal;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * A fixed-size, memory-mapped journal file.
+ * <p>
+ * Frames are {@code [int length][int crc32][payload]} written back to back. The file is
+ * zero-filled when created, so a zero length marks the end of the data; a frame whose
+ * checksum does not match is a write torn by a crash and ends the data as well.
+ */
+class JournalSegment implements AutoCloseable {
+
+    static final int FRAME_HEADER = 8;
+
+    private final Path path;
+    private final long firstSequence;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private long lastSequence = -1;
+
+    private JournalSegment(Path path, long firstSequence, FileChannel channel, MappedByteBuffer buffer) {
+        this.path = path;
+        this.firstSequence = firstSequence;
+        this.channel = channel;
+        this.buffer = buffer;
+    }
+
+    static JournalSegment create(Path directory, long firstSequence, int size) throws IOException {
+        Path path = directory.resolve(fileName(firstSequence));
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        return new JournalSegment(path, firstSequence, channel, buffer);
+    }
+
+    /**
+     * Appends one record unless the segment has no room left for it.
+     */
+    boolean tryAppend(JournalRecord record) {
+        byte[] payload = record.encode();
+        // Keep room for the zero length that terminates the data
+        if (buffer.remaining() < FRAME_HEADER + payload.length + 4) {
+            return false;
+        }
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        buffer.putInt(payload.length);
+        buffer.putInt((int) crc.getValue());
+        buffer.put(payload);
+        lastSequence = record.getSequence();
+        return true;
+    }
+
+    /**
+     * Discards everything appended after {@code position}. The bytes are zeroed, so a
+     * reader stops there, and the next append starts there.
+     */
+    void truncate(int position, long lastSequence) {
+        for (int i = position; i < buffer.position(); i++) {
+            buffer.put(i, (byte) 0);
+        }
+        buffer.position(position);
+        this.lastSequence = lastSequence;
+    }
+
+    /**
+     * Flushes everything appended so far to the storage device.
+     */
+    void force() {
+        buffer.force();
+    }
+
+    Path path() {
+        return path;
+    }
+
+    int position() {
+        return buffer.position();
+    }
+
+    long firstSequence() {
+        return firstSequence;
+    }
+
+    long lastSequence() {
+        return lastSequence;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    static List<JournalRecord> read(Path path) throws IOException {
+        List<JournalRecord> records = new ArrayList<>();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            while (buffer.remaining() >= FRAME_HEADER) {
+                int length = buffer.getInt();
+                int checksum = buffer.getInt();
+                if (length <= 0 || length > buffer.remaining()) {
+                    break;
+                }
+                byte[] payload = new byte[length];
+                buffer.get(payload);
+                CRC32 crc = new CRC32();
+                crc.update(payload);
+                if ((int) crc.getValue() != checksum) {
+                    break;
+                }
+                records.add(JournalRecord.decode(ByteBuffer.wrap(payload)));
+            }
+        }
+        return records;
+    }
+
+    static String fileName(long firstSequence) {
+        return String.format("journal-%020d.seg", firstSequence);
+    }
+
+    static boolean isSegmentFile(Path path) {
+        String name = path.getFileName().toString();
+        return name.startsWith("journal-") && name.endsWith(".seg");
+    }
+}
@@ -0,0 +1,357 @@
+package com.banking.transfer.journal;
+
+import com.banking.transfer.dto.TransferRequest;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Segmented, memory-mapped write-ahead journal of accepted transfers.
+ * <p>
+ * A single writer thread takes every append waiting at the time, writes them to the
+ * active segment and forces the segment once for the whole group, then completes their
+ * futures: one fsync covers many transfers. Durable records are handed to an applier
+ * thread, which passes them to the {@code applier} callback in order and advances the
+ * applied checkpoint afterwards; segments whose records have all been applied are
+ * deleted. On {@link #open()} every record after the checkpoint is replayed.
+ * <p>
+ * A group whose write or force fails is rolled back before its futures fail: its frames
+ * are zeroed, segments it rolled over into are deleted and its sequence numbers are reused,
+ * so a transfer reported as failed is never replayed. If the rollback fails too, the
+ * journal stops accepting writes.
+ * <p>
+ * Records are applied at least once: a crash between applying a batch and writing the
+ * checkpoint replays that batch, so the applier must be idempotent.
+ */
+@Slf4j
+public class WriteAheadJournal implements AutoCloseable {
+
+    static final String CHECKPOINT_FILE = "applied.checkpoint";
+
+    private final Path directory;
+    private final int segmentSize;
+    private final int groupCommitMaxBatch;
+    private final int applyBatchSize;
+    private final Consumer<List<JournalRecord>> applier;
+    private final ThreadFactory threadFactory;
+    private final BlockingQueue<PendingAppend> pending;
+    private final BlockingQueue<JournalRecord> durable = new LinkedBlockingQueue<>();
+    private final Deque<SealedSegment> sealed = new ConcurrentLinkedDeque<>();
+
+    private JournalSegment active;
+    private long nextSequence;
+    private volatile long appliedSequence;
+    private volatile long durableSequence;
+    private volatile boolean running;
+    private volatile boolean failed;
+    private Thread writer;
+    private Thread applierThread;
+
+    public WriteAheadJournal(Path directory, int segmentSize, int groupCommitMaxBatch, int capacity,
+                             int applyBatchSize, Consumer<List<JournalRecord>> applier) {
+        this(directory, segmentSize, groupCommitMaxBatch, capacity, applyBatchSize, applier, Thread::new);
+    }
+
+    public WriteAheadJournal(Path directory, int segmentSize, int groupCommitMaxBatch, int capacity,
+                             int applyBatchSize, Consumer<List<JournalRecord>> applier, ThreadFactory threadFactory) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.groupCommitMaxBatch = groupCommitMaxBatch;
+        this.applyBatchSize = applyBatchSize;
+        this.applier = applier;
+        this.threadFactory = threadFactory;
+        this.pending = new LinkedBlockingQueue<>(capacity);
+    }
+
+    /**
+     * Replays unapplied records and starts the writer and applier threads.
+     */
+    public void open() throws IOException {
+        open(record -> { });
+    }
+
+    /**
+     * As {@link #open()}, handing each record to be replayed to {@code replaying} before the
+     * applier can see it.
+     */
+    public synchronized void open(Consumer<JournalRecord> replaying) throws IOException {
+        Files.createDirectories(directory);
+        appliedSequence = readCheckpoint();
+        long lastSequence = appliedSequence;
+        int replayed = 0;
+
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(directory)) {
+            files = listing.filter(JournalSegment::isSegmentFile).sorted().toList();
+        }
+        for (Path file : files) {
+            List<JournalRecord> records = JournalSegment.read(file);
+            long segmentLast = records.isEmpty() ? -1 : records.get(records.size() - 1).getSequence();
+            if (segmentLast <= appliedSequence) {
+                Files.delete(file);
+                continue;
+            }
+            for (JournalRecord record : records) {
+                if (record.getSequence() > appliedSequence) {
+                    replaying.accept(record);
+                    durable.add(record);
+                    replayed++;
+                }
+            }
+            lastSequence = Math.max(lastSequence, segmentLast);
+            sealed.add(new SealedSegment(file, segmentLast));
+        }
+
+        nextSequence = lastSequence + 1;
+        durableSequence = lastSequence;
+        active = JournalSegment.create(directory, nextSequence, segmentSize);
+        log.info("Transfer journal opened in {}: {} records to replay, next sequence {}",
+                directory, replayed, nextSequence);
+
+        running = true;
+        writer = startThread("transfer-journal-writer", this::writeLoop);
+        applierThread = startThread("transfer-journal-applier", this::applyLoop);
+    }
+
+    /**
+     * Queues a transfer for the next group commit. The future completes once the record
+     * is on disk, or exceptionally if the journal is full, closed or the write failed.
+     */
+    public CompletableFuture<JournalRecord> append(TransferRequest request) {
+        PendingAppend append = new PendingAppend(request, new CompletableFuture<>());
+        if (!running || failed || !pending.offer(append)) {
+            append.future.completeExceptionally(new IllegalStateException("Transfer journal is not accepting writes"));
+        }
+        return append.future;
+    }
+
+    /**
+     * Number of durable records that have not been applied yet.
+     */
+    public long lag() {
+        return durableSequence - appliedSequence;
+    }
+
+    @Override
+    public void close() throws InterruptedException, IOException {
+        Thread writerToStop;
+        Thread applierToStop;
+        synchronized (this) {
+            if (!running) {
+                return;
+            }
+            running = false;
+            writerToStop = writer;
+            applierToStop = applierThread;
+        }
+        // The writer drains what is already queued; the applier stops after its current batch
+        writerToStop.join();
+        applierToStop.join();
+        PendingAppend leftover;
+        while ((leftover = pending.poll()) != null) {
+            leftover.future.completeExceptionally(new IllegalStateException("Transfer journal closed"));
+        }
+        active.force();
+        active.close();
+    }
+
+    private void writeLoop() {
+        List<PendingAppend> group = new ArrayList<>(groupCommitMaxBatch);
+        while (running || !pending.isEmpty()) {
+            try {
+                PendingAppend first = pending.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                group.add(first);
+                pending.drainTo(group, groupCommitMaxBatch - 1);
+                commit(group);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                group.clear();
+            }
+        }
+    }
+
+    private void commit(List<PendingAppend> group) {
+        if (failed) {
+            group.forEach(append -> append.future.completeExceptionally(
+                    new IllegalStateException("Transfer journal is not accepting writes")));
+            return;
+        }
+        GroupStart start = new GroupStart(active, active.position(), active.lastSequence(), nextSequence);
+        // Segments this group filled stay open until it is durable, so a failure can still undo them
+        List<JournalSegment> filled = new ArrayList<>();
+        List<JournalRecord> records = new ArrayList<>(group.size());
+        try {
+            for (PendingAppend append : group) {
+                JournalRecord record = JournalRecord.of(nextSequence, append.request);
+                write(record, filled);
+                nextSequence++;
+                records.add(record);
+            }
+            for (JournalSegment segment : filled) {
+                segment.force();
+            }
+            active.force();
+        } catch (IOException | RuntimeException e) {
+            log.error("Transfer journal write failed for a group of {}: {}", group.size(), e.getMessage());
+            rollBack(start, filled);
+            group.forEach(append -> append.future.completeExceptionally(e));
+            return;
+        }
+        for (JournalSegment segment : filled) {
+            sealed.add(new SealedSegment(segment.path(), segment.lastSequence()));
+            closeQuietly(segment);
+        }
+        durableSequence = records.get(records.size() - 1).getSequence();
+        durable.addAll(records);
+        for (int i = 0; i < group.size(); i++) {
+            group.get(i).future.complete(records.get(i));
+        }
+    }
+
+    private void write(JournalRecord record, List<JournalSegment> filled) throws IOException {
+        if (active.tryAppend(record)) {
+            return;
+        }
+        filled.add(active);
+        active = JournalSegment.create(directory, record.getSequence(), segmentSize);
+        if (!active.tryAppend(record)) {
+            throw new IllegalArgumentException("Journal record does not fit in a segment");
+        }
+    }
+
+    /**
+     * Removes every frame of a failed group, so none of it is replayed after a restart.
+     */
+    private void rollBack(GroupStart start, List<JournalSegment> filled) {
+        try {
+            List<JournalSegment> touched = new ArrayList<>(filled);
+            touched.add(active);
+            for (JournalSegment segment : touched) {
+                if (segment != start.segment) {
+                    segment.close();
+                    Files.deleteIfExists(segment.path());
+                }
+            }
+            start.segment.truncate(start.position, start.lastSequence);
+            start.segment.force();
+            active = start.segment;
+            nextSequence = start.nextSequence;
+        } catch (IOException | RuntimeException e) {
+            // The failed frames may still be on disk, so nothing may be acknowledged after them
+            failed = true;
+            log.error("Could not roll back a failed transfer journal write, rejecting further appends: {}",
+                    e.getMessage());
+        }
+    }
+
+    private void closeQuietly(JournalSegment segment) {
+        try {
+            segment.close();
+        } catch (IOException e) {
+            log.warn("Could not close journal segment {}: {}", segment.path(), e.getMessage());
+        }
+    }
+
+    private void applyLoop() {
+        while (running) {
+            try {
+                JournalRecord first = durable.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                List<JournalRecord> batch = new ArrayList<>(applyBatchSize);
+                batch.add(first);
+                durable.drainTo(batch, applyBatchSize - 1);
+                if (!applyUntilDone(batch)) {
+                    return;
+                }
+                appliedSequence = batch.get(batch.size() - 1).getSequence();
+                writeCheckpoint(appliedSequence);
+                deleteAppliedSegments();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (IOException e) {
+                log.error("Could not advance the transfer journal checkpoint: {}", e.getMessage());
+            }
+        }
+    }
+
+    private boolean applyUntilDone(List<JournalRecord> batch) throws InterruptedException {
+        while (running) {
+            try {
+                applier.accept(batch);
+                return true;
+            } catch (RuntimeException e) {
+                log.error("Applying {} journal records from sequence {} failed, retrying: {}",
+                        batch.size(), batch.get(0).getSequence(), e.getMessage());
+                Thread.sleep(1000);
+            }
+        }
+        // Left for replay on the next start
+        return false;
+    }
+
+    private Thread startThread(String name, Runnable loop) {
+        Thread thread = threadFactory.newThread(loop);
+        thread.setName(name);
+        thread.start();
+        return thread;
+    }
+
+    private long readCheckpoint() throws IOException {
+        Path checkpoint = directory.resolve(CHECKPOINT_FILE);
+        if (!Files.exists(checkpoint)) {
+            return 0;
+        }
+        return Long.parseLong(Files.readString(checkpoint).trim());
+    }
+
+    private void writeCheckpoint(long sequence) throws IOException {
+        Path temporary = directory.resolve(CHECKPOINT_FILE + ".tmp");
+        Files.writeString(temporary, Long.toString(sequence));
+        Files.move(temporary, directory.resolve(CHECKPOINT_FILE),
+                StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private void deleteAppliedSegments() {
+        SealedSegment oldest;
+        while ((oldest = sealed.peekFirst()) != null && oldest.lastSequence <= appliedSequence) {
+            try {
+                Files.deleteIfExists(oldest.path);
+            } catch (IOException e) {
+                log.warn("Could not delete applied journal segment {}: {}", oldest.path, e.getMessage());
+                return;
+            }
+            sealed.pollFirst();
+        }
+    }
+
+    private record PendingAppend(TransferRequest request, CompletableFuture<JournalRecord> future) {
+    }
+
+    private record SealedSegment(Path path, long lastSequence) {
+    }
+
+    private record GroupStart(JournalSegment segment, int position, long lastSequence, long nextSequence) {
+    }
+}
@@ -0,0 +1,51 @@
+package com.banking.transfer.logging;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Decides once per HTTP request whether its INFO and DEBUG lines are logged.
+ * <p>
+ * The decision goes into the {@code sampled} MDC key, which {@link SampledLogTurboFilter}
+ * reads. A request is therefore logged completely or not at all. WARN and ERROR lines are
+ * always logged. With the default rate of 1 every request is logged and the MDC is left
+ * untouched.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class RequestLogSampling extends OncePerRequestFilter {
+
+    public static final String SAMPLED = "sampled";
+
+    private final double rate;
+
+    public RequestLogSampling(@Value("${logging.request-sampling.rate:1.0}") double rate) {
+        this.rate = rate;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (rate >= 1.0) {
+            chain.doFilter(request, response);
+            return;
+        }
+        MDC.put(SAMPLED, Boolean.toString(ThreadLocalRandom.current().nextDouble() < rate));
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            MDC.remove(SAMPLED);
+        }
+    }
+}
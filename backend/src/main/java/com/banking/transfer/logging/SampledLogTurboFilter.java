@@ -0,0 +1,25 @@
+package com.banking.transfer.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.MDC;
+import org.slf4j.Marker;
+
+/**
+ * Drops INFO and lower events on requests that {@link RequestLogSampling} did not sample.
+ * <p>
+ * It runs before the event is created or its message formatted. Events outside a sampled
+ * request, such as those from background threads, and WARN and ERROR events always pass.
+ */
+public class SampledLogTurboFilter extends TurboFilter {
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (level == null || level.isGreaterOrEqual(Level.WARN)) {
+            return FilterReply.NEUTRAL;
+        }
+        return "false".equals(MDC.get(RequestLogSampling.SAMPLED)) ? FilterReply.DENY : FilterReply.NEUTRAL;
+    }
+}
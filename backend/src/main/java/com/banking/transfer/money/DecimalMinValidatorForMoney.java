@@ -0,0 +1,35 @@
+package com.banking.transfer.money;
+
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+import jakarta.validation.constraints.DecimalMin;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Lets {@link DecimalMin} constrain {@link Money} fields. Registered with Hibernate
+ * Validator through {@code META-INF/services/jakarta.validation.ConstraintValidator}.
+ */
+public class DecimalMinValidatorForMoney implements ConstraintValidator<DecimalMin, Money> {
+
+    private long minMinorUnits;
+    private boolean inclusive;
+
+    @Override
+    public void initialize(DecimalMin constraint) {
+        // Money has two decimal places, so a finer bound is the next cent up
+        BigDecimal bound = new BigDecimal(constraint.value());
+        BigDecimal minor = bound.movePointRight(Money.SCALE);
+        minMinorUnits = minor.setScale(0, RoundingMode.CEILING).longValueExact();
+        inclusive = constraint.inclusive() || minor.stripTrailingZeros().scale() > 0;
+    }
+
+    @Override
+    public boolean isValid(Money value, ConstraintValidatorContext context) {
+        if (value == null) {
+            return true;
+        }
+        return inclusive ? value.minorUnits() >= minMinorUnits : value.minorUnits() > minMinorUnits;
+    }
+}
@@ -0,0 +1,24 @@
+package com.banking.transfer.money;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.math.BigDecimal;
+
+/**
+ * Stores a {@code long} count of minor units in a {@code DECIMAL(18,2)} column, for
+ * entities that keep a balance unboxed so updating it does not allocate.
+ */
+@Converter
+public class MinorUnitsConverter implements AttributeConverter<Long, BigDecimal> {
+
+    @Override
+    public BigDecimal convertToDatabaseColumn(Long attribute) {
+        return attribute == null ? null : BigDecimal.valueOf(attribute, Money.SCALE);
+    }
+
+    @Override
+    public Long convertToEntityAttribute(BigDecimal column) {
+        return column == null ? null : Money.of(column).minorUnits();
+    }
+}
@@ -0,0 +1,21 @@
+package com.banking.transfer.replica;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Lets the read-only transactions of the annotated method run on the read replica.
+ * <p>
+ * This is opt-in: read-only transactions elsewhere, such as Spring Data's default ones
+ * or idempotency checks, stay on the primary because they may not see stale data. Only
+ * calls through the Spring proxy are affected, and only while the replica is within the
+ * staleness bound and the caller has not written recently.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface ReadFromReplica {
+}
@@ -0,0 +1,41 @@
+package com.banking.transfer.replica;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Hands out replica connections to read-only transactions that allow it, and primary
+ * connections to everything else.
+ * <p>
+ * The decision uses the transaction's read-only flag. That flag is only set once the
+ * transaction has begun, so this must sit behind a {@code LazyConnectionDataSourceProxy},
+ * which fetches the real connection on the first statement.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    enum Target { PRIMARY, REPLICA }
+
+    private final ReplicaLagMonitor lagMonitor;
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica, ReplicaLagMonitor lagMonitor) {
+        this.lagMonitor = lagMonitor;
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return currentTarget();
+    }
+
+    Target currentTarget() {
+        boolean replica = ReplicaRouting.isReplicaAllowed()
+                && TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                && lagMonitor.isWithinBound();
+        return replica ? Target.REPLICA : Target.PRIMARY;
+    }
+}
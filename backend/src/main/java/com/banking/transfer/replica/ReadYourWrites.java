@@ -0,0 +1,79 @@
+package com.banking.transfer.replica;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Remembers which users changed something recently, so their own reads go to the primary.
+ * <p>
+ * Any authenticated request other than GET, HEAD or OPTIONS counts as a write, whether
+ * it succeeded or not. For the staleness bound after it, the user's {@link ReadFromReplica}
+ * reads skip the replica, so a user always sees their own transfers. Other users may see
+ * them up to the bound later.
+ */
+public class ReadYourWrites extends OncePerRequestFilter {
+
+    private static final Set<String> READ_METHODS = Set.of("GET", "HEAD", "OPTIONS");
+
+    private final Cache<String, Boolean> recentWriters;
+
+    public ReadYourWrites(Duration window, long maxUsers) {
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(window)
+                .maximumSize(maxUsers)
+                .build();
+    }
+
+    public void recordWrite(String username) {
+        recentWriters.put(username, Boolean.TRUE);
+    }
+
+    public boolean wroteRecently(String username) {
+        return recentWriters.getIfPresent(username) != null;
+    }
+
+    /**
+     * Whether the authenticated user of the current thread wrote recently. Requests without
+     * a user have nothing of their own to read back.
+     */
+    public boolean currentUserWroteRecently() {
+        String username = currentUsername();
+        return username != null && wroteRecently(username);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            if (!READ_METHODS.contains(request.getMethod())) {
+                String username = currentUsername();
+                if (username != null) {
+                    recordWrite(username);
+                }
+            }
+        }
+    }
+
+    private static String currentUsername() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
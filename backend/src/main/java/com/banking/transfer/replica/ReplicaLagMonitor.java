@@ -0,0 +1,94 @@
+package com.banking.transfer.replica;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+import java.util.function.LongSupplier;
+
+/**
+ * Measures how far the read replica is behind the primary.
+ * <p>
+ * Each check stamps the current time into {@code replica_heartbeat} on the primary and reads
+ * the replicated stamp back from the replica. Every write committed before that stamp is
+ * visible on the replica, so the difference is an upper bound on its staleness. The replica
+ * is used only while the bound is within {@code datasource.replica.max-staleness}. A replica
+ * that cannot be read, or has no stamp yet, is treated as too stale.
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+
+    private static final long UNKNOWN = Long.MAX_VALUE;
+
+    private final JdbcTemplate primary;
+    private final JdbcTemplate replica;
+    private final long maxStalenessMillis;
+    private final LongSupplier clock;
+    private volatile long lagMillis = UNKNOWN;
+    private volatile boolean withinBound;
+
+    public ReplicaLagMonitor(DataSource primary, DataSource replica, Duration maxStaleness,
+                             MeterRegistry meterRegistry) {
+        this(primary, replica, maxStaleness, meterRegistry, System::currentTimeMillis);
+    }
+
+    ReplicaLagMonitor(DataSource primary, DataSource replica, Duration maxStaleness,
+                      MeterRegistry meterRegistry, LongSupplier clock) {
+        this.primary = new JdbcTemplate(primary);
+        this.replica = new JdbcTemplate(replica);
+        this.maxStalenessMillis = maxStaleness.toMillis();
+        this.clock = clock;
+        Gauge.builder("db.replica.lag", this, monitor -> monitor.lagMillis == UNKNOWN
+                        ? Double.NaN : monitor.lagMillis / 1000.0)
+                .description("Upper bound on how far the read replica is behind, from the last heartbeat")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        Gauge.builder("db.replica.within.bound", this, monitor -> monitor.withinBound ? 1 : 0)
+                .description("1 while read-only requests may use the replica")
+                .register(meterRegistry);
+    }
+
+    public boolean isWithinBound() {
+        return withinBound;
+    }
+
+    @Scheduled(fixedDelayString = "${datasource.replica.heartbeat-interval:PT0.5S}")
+    public void check() {
+        long now = clock.getAsLong();
+        try {
+            if (primary.update("UPDATE replica_heartbeat SET beat_millis = ? WHERE id = 1", now) == 0) {
+                primary.update("INSERT INTO replica_heartbeat (id, beat_millis) VALUES (1, ?)", now);
+            }
+        } catch (DataAccessException e) {
+            // Without a fresh stamp the replica's lag can still be bounded by the last one
+            log.warn("Could not write replica heartbeat: {}", e.getMessage());
+        }
+
+        long lag;
+        try {
+            List<Long> beats = replica.queryForList("SELECT beat_millis FROM replica_heartbeat WHERE id = 1", Long.class);
+            lag = beats.isEmpty() ? UNKNOWN : Math.max(0, now - beats.get(0));
+        } catch (DataAccessException e) {
+            log.warn("Could not read replica heartbeat: {}", e.getMessage());
+            lag = UNKNOWN;
+        }
+
+        boolean usable = lag <= maxStalenessMillis;
+        if (usable != withinBound) {
+            if (usable) {
+                log.info("Read replica is {}ms behind, routing read-only requests to it", lag);
+            } else {
+                log.warn("Read replica is {} behind, routing read-only requests to the primary",
+                        lag == UNKNOWN ? "an unknown time" : lag + "ms");
+            }
+        }
+        lagMillis = lag;
+        withinBound = usable;
+    }
+}
@@ -0,0 +1,30 @@
+package com.banking.transfer.replica;
+
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+
+/**
+ * Allows replica connections for the duration of a {@link ReadFromReplica} method, unless
+ * the current user wrote recently.
+ */
+@Aspect
+@RequiredArgsConstructor
+public class ReplicaReadAspect {
+
+    private final ReadYourWrites readYourWrites;
+
+    @Around("@annotation(com.banking.transfer.replica.ReadFromReplica)")
+    public Object routeToReplica(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (ReplicaRouting.isReplicaAllowed() || readYourWrites.currentUserWroteRecently()) {
+            return joinPoint.proceed();
+        }
+        boolean previous = ReplicaRouting.allowReplica(true);
+        try {
+            return joinPoint.proceed();
+        } finally {
+            ReplicaRouting.restore(previous);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.banking.transfer.replica;
+
+/**
+ * Per-thread flag that lets {@link ReadWriteRoutingDataSource} hand out replica connections.
+ * It is set by {@link ReplicaReadAspect} around {@link ReadFromReplica} methods.
+ */
+public final class ReplicaRouting {
+
+    private static final ThreadLocal<Boolean> REPLICA_ALLOWED = ThreadLocal.withInitial(() -> false);
+
+    private ReplicaRouting() {
+    }
+
+    public static boolean isReplicaAllowed() {
+        return REPLICA_ALLOWED.get();
+    }
+
+    /**
+     * Sets the flag and returns its previous value, to be passed to {@link #restore}.
+     */
+    static boolean allowReplica(boolean allowed) {
+        boolean previous = REPLICA_ALLOWED.get();
+        REPLICA_ALLOWED.set(allowed);
+        return previous;
+    }
+
+    static void restore(boolean previous) {
+        if (previous) {
+            REPLICA_ALLOWED.set(true);
+        } else {
+            REPLICA_ALLOWED.remove();
+        }
+    }
+}
@@ -1,7 +1,12 @@
 package com.banking.transfer.repository;
 
 import com.banking.transfer.entity.Account;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -12,4 +17,17 @@ public interface AccountRepository extends JpaRepository<Account, String> {
     Optional<Account> findByUsername(String username);
 
     boolean existsByUsername(String username);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM Account a WHERE a.id = :id")
+    Optional<Account> findByIdForUpdate(@Param("id") String id);
+
+    /**
+     * Raises the account's slot count to {@code slots}. Bumps the version, so a transfer
+     * that read the old count fails its optimistic check instead of writing it back.
+     */
+    @Modifying
+    @Query("UPDATE Account a SET a.balanceSlots = :slots, a.version = a.version + 1"
+            + " WHERE a.id = :id AND a.balanceSlots < :slots")
+    int raiseBalanceSlots(@Param("id") String id, @Param("slots") int slots);
 }
@@ -0,0 +1,81 @@
+package com.banking.transfer.repository;
+
+import com.banking.transfer.entity.ArchivedTransactionLog;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+@Repository
+public interface ArchivedTransactionLogRepository extends JpaRepository<ArchivedTransactionLog, String> {
+
+    /**
+     * Copies the given {@code transaction_logs} rows into the archive with a single
+     * {@code INSERT ... SELECT}, without loading them.
+     */
+    @Modifying
+    @Query("INSERT INTO ArchivedTransactionLog (id, fromAccountId, toAccountId, amount, status, failureReason,"
+            + " idempotencyKey, createdOn, archivedOn)"
+            + " SELECT t.id, t.fromAccountId, t.toAccountId, t.amount, t.status, t.failureReason,"
+            + " t.idempotencyKey, t.createdOn, LOCAL DATETIME"
+            + " FROM TransactionLog t WHERE t.id IN :ids")
+    int copyFromTransactionLogs(@Param("ids") Collection<String> ids);
+
+    /**
+     * Same keyset page as {@link TransactionLogRepository#findOutgoingPage}, over the archive.
+     */
+    @Query("SELECT t FROM ArchivedTransactionLog t WHERE t.fromAccountId = :accountId"
+            + " AND t.createdOn >= :from"
+            + " AND (t.createdOn < :beforeTime OR (t.createdOn = :beforeTime AND t.id < :beforeId))"
+            + " ORDER BY t.createdOn DESC, t.id DESC")
+    List<ArchivedTransactionLog> findOutgoingPage(@Param("accountId") String accountId,
+                                                  @Param("from") LocalDateTime from,
+                                                  @Param("beforeTime") LocalDateTime beforeTime,
+                                                  @Param("beforeId") String beforeId,
+                                                  Limit limit);
+
+    /**
+     * Same keyset page as {@link TransactionLogRepository#findIncomingPage}, over the archive.
+     */
+    @Query("SELECT t FROM ArchivedTransactionLog t WHERE t.toAccountId = :accountId"
+            + " AND t.createdOn >= :from"
+            + " AND (t.createdOn < :beforeTime OR (t.createdOn = :beforeTime AND t.id < :beforeId))"
+            + " ORDER BY t.createdOn DESC, t.id DESC")
+    List<ArchivedTransactionLog> findIncomingPage(@Param("accountId") String accountId,
+                                                  @Param("from") LocalDateTime from,
+                                                  @Param("beforeTime") LocalDateTime beforeTime,
+                                                  @Param("beforeId") String beforeId,
+                                                  Limit limit);
+
+    /**
+     * Same as {@link TransactionLogRepository#streamOutgoing}, over the archive.
+     */
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = TransactionLogRepository.EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    @Query("SELECT t FROM ArchivedTransactionLog t WHERE t.fromAccountId = :accountId"
+            + " AND t.createdOn >= :from AND t.createdOn < :to ORDER BY t.createdOn, t.id")
+    Stream<ArchivedTransactionLog> streamOutgoing(@Param("accountId") String accountId,
+                                                  @Param("from") LocalDateTime from,
+                                                  @Param("to") LocalDateTime to);
+
+    /**
+     * Same as {@link TransactionLogRepository#streamIncoming}, over the archive.
+     */
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = TransactionLogRepository.EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    @Query("SELECT t FROM ArchivedTransactionLog t WHERE t.toAccountId = :accountId"
+            + " AND t.createdOn >= :from AND t.createdOn < :to ORDER BY t.createdOn, t.id")
+    Stream<ArchivedTransactionLog> streamIncoming(@Param("accountId") String accountId,
+                                                  @Param("from") LocalDateTime from,
+                                                  @Param("to") LocalDateTime to);
+}
@@ -0,0 +1,28 @@
+package com.banking.transfer.repository;
+
+import com.banking.transfer.entity.BalanceCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface BalanceCheckpointRepository extends JpaRepository<BalanceCheckpoint, String> {
+
+    Optional<BalanceCheckpoint> findFirstByAccountIdOrderByAsOfDesc(String accountId);
+
+    Optional<BalanceCheckpoint> findFirstByAccountIdAndAsOfLessThanEqualOrderByAsOfDesc(String accountId,
+                                                                                       LocalDateTime asOf);
+
+    @Query("SELECT MAX(c.asOf) FROM BalanceCheckpoint c")
+    Optional<LocalDateTime> findLatestAsOf();
+
+    @Modifying
+    @Query("UPDATE BalanceCheckpoint c SET c.balance = CAST(c.balance AS BigDecimal) + :amount WHERE c.accountId = :accountId")
+    int addToAll(@Param("accountId") String accountId, @Param("amount") BigDecimal amount);
+}
@@ -0,0 +1,49 @@
+package com.banking.transfer.repository;
+
+import com.banking.transfer.entity.BalanceSlot;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Repository
+public interface BalanceSlotRepository extends JpaRepository<BalanceSlot, String> {
+
+    List<BalanceSlot> findByAccountIdOrderBySlot(String accountId);
+
+    /**
+     * Slot number and balance of each slot, read from the database rather than from slot
+     * entities already loaded into the persistence context.
+     */
+    @Query("SELECT s.slot, CAST(s.balance AS BigDecimal) FROM BalanceSlot s WHERE s.accountId = :accountId ORDER BY s.slot")
+    List<Object[]> findSlotBalances(@Param("accountId") String accountId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM BalanceSlot s WHERE s.accountId = :accountId")
+    List<BalanceSlot> lockByAccountId(@Param("accountId") String accountId);
+
+    @Query("SELECT COALESCE(SUM(CAST(s.balance AS BigDecimal)), 0) FROM BalanceSlot s WHERE s.accountId = :accountId")
+    BigDecimal sumBalance(@Param("accountId") String accountId);
+
+    @Query("SELECT s.accountId, COUNT(s) FROM BalanceSlot s GROUP BY s.accountId")
+    List<Object[]> countSlotsByAccount();
+
+    @Modifying
+    @Query("UPDATE BalanceSlot s SET s.balance = CAST(s.balance AS BigDecimal) + :amount"
+            + " WHERE s.accountId = :accountId AND s.slot = :slot")
+    int credit(@Param("accountId") String accountId, @Param("slot") int slot, @Param("amount") BigDecimal amount);
+
+    /**
+     * Takes {@code amount} from the slot only if it holds at least that much; returns 0 otherwise.
+     */
+    @Modifying
+    @Query("UPDATE BalanceSlot s SET s.balance = CAST(s.balance AS BigDecimal) - :amount"
+            + " WHERE s.accountId = :accountId AND s.slot = :slot AND CAST(s.balance AS BigDecimal) >= :amount")
+    int debit(@Param("accountId") String accountId, @Param("slot") int slot, @Param("amount") BigDecimal amount);
+}
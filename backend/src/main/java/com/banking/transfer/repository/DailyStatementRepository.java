@@ -0,0 +1,58 @@
+package com.banking.transfer.repository;
+
+import com.banking.transfer.entity.DailyStatement;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface DailyStatementRepository extends JpaRepository<DailyStatement, String> {
+
+    @Modifying
+    @Query("UPDATE DailyStatement s SET s.totalDebits = CAST(s.totalDebits AS BigDecimal) + :debits,"
+            + " s.totalCredits = CAST(s.totalCredits AS BigDecimal) + :credits,"
+            + " s.debitCount = s.debitCount + :debitCount, s.creditCount = s.creditCount + :creditCount"
+            + " WHERE s.id = :id")
+    int add(@Param("id") String id,
+            @Param("debits") BigDecimal debits,
+            @Param("credits") BigDecimal credits,
+            @Param("debitCount") long debitCount,
+            @Param("creditCount") long creditCount);
+
+    /**
+     * Creates the row as a single statement, so a row created concurrently by another
+     * transaction fails here rather than at commit.
+     */
+    @Modifying
+    @Query("INSERT INTO DailyStatement (id, accountId, statementDate, stripe, totalDebits, totalCredits,"
+            + " debitCount, creditCount)"
+            + " VALUES (:id, :accountId, :statementDate, :stripe, CAST(:debits AS BigDecimal), CAST(:credits AS BigDecimal),"
+            + " :debitCount, :creditCount)")
+    int insert(@Param("id") String id,
+               @Param("accountId") String accountId,
+               @Param("statementDate") LocalDate statementDate,
+               @Param("stripe") int stripe,
+               @Param("debits") BigDecimal debits,
+               @Param("credits") BigDecimal credits,
+               @Param("debitCount") long debitCount,
+               @Param("creditCount") long creditCount);
+
+    /**
+     * Per-day totals of the account in [from, to), oldest first, with stripes added up:
+     * date, debits, credits, debit count, credit count.
+     */
+    @Query("SELECT s.statementDate, SUM(CAST(s.totalDebits AS BigDecimal)), SUM(CAST(s.totalCredits AS BigDecimal)),"
+            + " SUM(s.debitCount), SUM(s.creditCount)"
+            + " FROM DailyStatement s WHERE s.accountId = :accountId"
+            + " AND s.statementDate >= :from AND s.statementDate < :to"
+            + " GROUP BY s.statementDate ORDER BY s.statementDate")
+    List<Object[]> sumByDay(@Param("accountId") String accountId,
+                            @Param("from") LocalDate from,
+                            @Param("to") LocalDate to);
+}
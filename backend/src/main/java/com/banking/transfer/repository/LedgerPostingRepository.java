@@ -0,0 +1,44 @@
+package com.banking.transfer.repository;
+
+import com.banking.transfer.entity.LedgerPosting;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface LedgerPostingRepository extends JpaRepository<LedgerPosting, String> {
+
+    /**
+     * Net effect (credits minus debits) of the account's postings created in [from, to),
+     * read from {@code idx_posting_account_created}. Amounts are cast back to their column
+     * type, since query arithmetic does not apply to {@code Money}.
+     */
+    @Query("SELECT COALESCE(SUM(CASE WHEN p.type = com.banking.transfer.entity.PostingType.CREDIT"
+            + " THEN CAST(p.amount AS BigDecimal) ELSE -CAST(p.amount AS BigDecimal) END), 0)"
+            + " FROM LedgerPosting p WHERE p.accountId = :accountId"
+            + " AND p.createdOn >= :from AND p.createdOn < :to")
+    BigDecimal sumPostings(@Param("accountId") String accountId,
+                           @Param("from") LocalDateTime from,
+                           @Param("to") LocalDateTime to);
+
+    @Query("SELECT DISTINCT p.accountId FROM LedgerPosting p WHERE p.createdOn >= :from AND p.createdOn < :to")
+    List<String> findAccountIdsPostedBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    /**
+     * Accounts without an opening posting: accounts created before the ledger existed.
+     */
+    @Query("SELECT a.id FROM Account a WHERE NOT EXISTS"
+            + " (SELECT p.id FROM LedgerPosting p WHERE p.accountId = a.id AND p.transactionId IS NULL)")
+    List<String> findAccountIdsWithoutOpeningPosting();
+
+    boolean existsByAccountIdAndTransactionIdIsNull(String accountId);
+
+    @Query("SELECT MIN(p.createdOn) FROM LedgerPosting p WHERE p.accountId = :accountId")
+    Optional<LocalDateTime> findFirstPostedOn(@Param("accountId") String accountId);
+}
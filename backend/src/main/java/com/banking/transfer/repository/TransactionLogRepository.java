@@ -1,18 +1,97 @@
 package com.banking.transfer.repository;
 
 import com.banking.transfer.entity.TransactionLog;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface TransactionLogRepository extends JpaRepository<TransactionLog, String> {
 
+    // Rows per round trip when streaming an export
+    String EXPORT_FETCH_SIZE = "500";
+
     Optional<TransactionLog> findByIdempotencyKey(String idempotencyKey);
 
-    @Query("SELECT t FROM TransactionLog t WHERE t.fromAccountId = ?1 OR t.toAccountId = ?1 ORDER BY t.createdOn DESC")
-    List<TransactionLog> findByAccountId(String accountId);
+    @Query("SELECT t.idempotencyKey FROM TransactionLog t WHERE t.idempotencyKey IN :keys")
+    List<String> findExistingIdempotencyKeys(@Param("keys") Collection<String> keys);
+
+    /**
+     * Every key, for warming the idempotency filter. Streamed with the same hints as the
+     * exports; consume inside a transaction and close.
+     */
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    @Query("SELECT t.idempotencyKey FROM TransactionLog t")
+    Stream<String> streamAllIdempotencyKeys();
+
+    @Query("SELECT t.idempotencyKey FROM TransactionLog t WHERE t.createdOn >= :since ORDER BY t.createdOn DESC")
+    List<String> findIdempotencyKeysCreatedSince(@Param("since") LocalDateTime since, Limit limit);
+
+    @Query("SELECT t.id FROM TransactionLog t WHERE t.createdOn < :cutoff ORDER BY t.createdOn, t.id")
+    List<String> findIdsCreatedBefore(@Param("cutoff") LocalDateTime cutoff, Limit limit);
+
+    /**
+     * One keyset page of the transfers an account sent: rows created at or after {@code from} and
+     * strictly before the (beforeTime, beforeId) position, newest first. Served by a range scan of
+     * {@code idx_txlog_from_created}.
+     */
+    @Query("SELECT t FROM TransactionLog t WHERE t.fromAccountId = :accountId"
+            + " AND t.createdOn >= :from"
+            + " AND (t.createdOn < :beforeTime OR (t.createdOn = :beforeTime AND t.id < :beforeId))"
+            + " ORDER BY t.createdOn DESC, t.id DESC")
+    List<TransactionLog> findOutgoingPage(@Param("accountId") String accountId,
+                                          @Param("from") LocalDateTime from,
+                                          @Param("beforeTime") LocalDateTime beforeTime,
+                                          @Param("beforeId") String beforeId,
+                                          Limit limit);
+
+    /**
+     * Same as {@link #findOutgoingPage} for the transfers an account received, served by
+     * {@code idx_txlog_to_created}.
+     */
+    @Query("SELECT t FROM TransactionLog t WHERE t.toAccountId = :accountId"
+            + " AND t.createdOn >= :from"
+            + " AND (t.createdOn < :beforeTime OR (t.createdOn = :beforeTime AND t.id < :beforeId))"
+            + " ORDER BY t.createdOn DESC, t.id DESC")
+    List<TransactionLog> findIncomingPage(@Param("accountId") String accountId,
+                                          @Param("from") LocalDateTime from,
+                                          @Param("beforeTime") LocalDateTime beforeTime,
+                                          @Param("beforeId") String beforeId,
+                                          Limit limit);
+
+    /**
+     * Every transfer the account sent in [from, to), oldest first, read through a cursor of
+     * {@link #EXPORT_FETCH_SIZE} rows from {@code idx_txlog_from_created}. The stream must be
+     * consumed inside a transaction and closed.
+     */
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    @Query("SELECT t FROM TransactionLog t WHERE t.fromAccountId = :accountId"
+            + " AND t.createdOn >= :from AND t.createdOn < :to ORDER BY t.createdOn, t.id")
+    Stream<TransactionLog> streamOutgoing(@Param("accountId") String accountId,
+                                          @Param("from") LocalDateTime from,
+                                          @Param("to") LocalDateTime to);
+
+    /**
+     * Same as {@link #streamOutgoing} for the transfers the account received.
+     */
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    @Query("SELECT t FROM TransactionLog t WHERE t.toAccountId = :accountId"
+            + " AND t.createdOn >= :from AND t.createdOn < :to ORDER BY t.createdOn, t.id")
+    Stream<TransactionLog> streamIncoming(@Param("accountId") String accountId,
+                                          @Param("from") LocalDateTime from,
+                                          @Param("to") LocalDateTime to);
 }
@@ -0,0 +1,28 @@
+package com.banking.transfer.security;
+
+import com.banking.transfer.entity.Account;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA listener on {@link Account} that drops cached credentials once an account is
+ * locked, closed, deleted or has its password changed.
+ */
+@Component
+@RequiredArgsConstructor
+public class CredentialCacheEvictionListener {
+
+    private final VerifiedCredentialCache credentialCache;
+
+    @PostUpdate
+    public void afterUpdate(Account account) {
+        credentialCache.onAccountChanged(account.getUsername(), account.getPassword(), account.isActive());
+    }
+
+    @PostRemove
+    public void afterRemove(Account account) {
+        credentialCache.evict(account.getUsername());
+    }
+}
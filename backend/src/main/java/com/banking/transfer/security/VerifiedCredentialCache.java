@@ -0,0 +1,103 @@
+package com.banking.transfer.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+
+/**
+ * Bounded, short-lived cache of credentials that already passed the BCrypt check.
+ * <p>
+ * Only an HMAC of the presented password is kept, under a key generated per process, so
+ * the cache never holds a usable password or a value that could be checked offline.
+ * Entries are evicted when the account's password hash or status changes on this node
+ * and expire after the configured TTL, which bounds staleness for changes made elsewhere.
+ */
+@Component
+@Slf4j
+public class VerifiedCredentialCache {
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    private final Cache<String, Entry> entries;
+    private final SecretKeySpec key;
+
+    public VerifiedCredentialCache(@Value("${security.credential-cache.max-size:10000}") long maxSize,
+                                   @Value("${security.credential-cache.ttl:5m}") Duration ttl) {
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+        byte[] secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+        this.key = new SecretKeySpec(secret, HMAC_ALGORITHM);
+    }
+
+    /**
+     * Returns the cached principal if {@code rawPassword} matches the credential verified
+     * earlier for {@code username}, or null if the caller must run the full check.
+     */
+    public UserDetails lookup(String username, String rawPassword) {
+        Entry entry = entries.getIfPresent(username);
+        if (entry == null || !MessageDigest.isEqual(entry.digest, digest(rawPassword))) {
+            return null;
+        }
+        return entry.principal;
+    }
+
+    public void remember(String username, String rawPassword, String passwordHash, UserDetails principal) {
+        entries.put(username, new Entry(digest(rawPassword), passwordHash, principal));
+    }
+
+    /**
+     * Drops the entry for {@code username} unless the account is still active with the
+     * password hash the entry was verified against.
+     */
+    public void onAccountChanged(String username, String passwordHash, boolean active) {
+        Entry entry = entries.getIfPresent(username);
+        if (entry != null && (!active || !entry.passwordHash.equals(passwordHash))) {
+            entries.invalidate(username);
+            log.debug("Evicted cached credentials for username: {}", username);
+        }
+    }
+
+    public void evict(String username) {
+        entries.invalidate(username);
+    }
+
+    public long size() {
+        return entries.estimatedSize();
+    }
+
+    private byte[] digest(String rawPassword) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(key);
+            return mac.doFinal(rawPassword.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 is not available", e);
+        }
+    }
+
+    private static final class Entry {
+        private final byte[] digest;
+        private final String passwordHash;
+        private final UserDetails principal;
+
+        private Entry(byte[] digest, String passwordHash, UserDetails principal) {
+            this.digest = digest;
+            this.passwordHash = passwordHash;
+            this.principal = principal;
+        }
+    }
+}
@@ -1,8 +1,12 @@
 package com.banking.transfer.service;
 
+import com.banking.transfer.archive.TransactionArchive;
+import com.banking.transfer.cache.AccountSnapshotCache;
 import com.banking.transfer.dto.AccountResponse;
 import com.banking.transfer.dto.CreateAccountRequest;
+import com.banking.transfer.dto.DailyStatementResponse;
 import com.banking.transfer.dto.LoginRequest;
+import com.banking.transfer.dto.TransactionPage;
 import com.banking.transfer.dto.TransactionResponse;
 import com.banking.transfer.entity.Account;
 import com.banking.transfer.entity.AccountStatus;
@@ -10,39 +14,86 @@ import com.banking.transfer.entity.TransactionLog;
 import com.banking.transfer.exception.AccountNotFoundException;
 import com.banking.transfer.exception.DuplicateUsernameException;
 import com.banking.transfer.exception.InvalidCredentialsException;
+import com.banking.transfer.money.Money;
+import com.banking.transfer.replica.ReadFromReplica;
+import com.banking.transfer.replica.ReplicaRouting;
 import com.banking.transfer.repository.AccountRepository;
+import com.banking.transfer.repository.DailyStatementRepository;
 import com.banking.transfer.repository.TransactionLogRepository;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
-import java.util.stream.Collectors;
+
+import static net.logstash.logback.argument.StructuredArguments.kv;
 
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class AccountService {
 
-    private static final BigDecimal DEFAULT_INITIAL_BALANCE = BigDecimal.valueOf(1000);
+    private static final Money DEFAULT_INITIAL_BALANCE = Money.of("1000.00");
+    static final int DEFAULT_PAGE_SIZE = 50;
+    static final int MAX_PAGE_SIZE = 500;
+    static final int MAX_STATEMENT_DAYS = 366;
+    private static final LocalDateTime EARLIEST = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final LocalDateTime LATEST = LocalDateTime.of(9999, 12, 31, 0, 0);
+    static final Comparator<TransactionLog> NEWEST_FIRST = Comparator
+            .comparing(TransactionLog::getCreatedOn)
+            .thenComparing(TransactionLog::getId)
+            .reversed();
 
     private final AccountRepository accountRepository;
     private final TransactionLogRepository transactionLogRepository;
     private final PasswordEncoder passwordEncoder;
+    private final AccountSnapshotCache accountSnapshotCache;
+    private final LedgerService ledgerService;
+    private final HotAccountBalances hotAccountBalances;
+    private final TransactionArchive transactionArchive;
+    private final DailyStatementRepository dailyStatementRepository;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public AccountService(AccountRepository accountRepository,
+                          TransactionLogRepository transactionLogRepository,
+                          PasswordEncoder passwordEncoder,
+                          AccountSnapshotCache accountSnapshotCache,
+                          LedgerService ledgerService,
+                          HotAccountBalances hotAccountBalances,
+                          TransactionArchive transactionArchive,
+                          DailyStatementRepository dailyStatementRepository,
+                          TransactionTemplate transactionTemplate) {
+        this.accountRepository = accountRepository;
+        this.transactionLogRepository = transactionLogRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.accountSnapshotCache = accountSnapshotCache;
+        this.ledgerService = ledgerService;
+        this.hotAccountBalances = hotAccountBalances;
+        this.transactionArchive = transactionArchive;
+        this.dailyStatementRepository = dailyStatementRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.readOnlyTransaction.setReadOnly(true);
+    }
 
     @Transactional
     public AccountResponse createAccount(CreateAccountRequest request) {
-        log.info("Creating account for username: {}", request.getUsername());
+        log.info("Creating account {}", kv("username", request.getUsername()));
 
         // Check if username already exists
         if (accountRepository.existsByUsername(request.getUsername())) {
             throw new DuplicateUsernameException("Username '" + request.getUsername() + "' is already taken");
         }
 
-        BigDecimal balance = request.getInitialBalance() != null
+        Money balance = request.getInitialBalance() != null
                 ? request.getInitialBalance()
                 : DEFAULT_INITIAL_BALANCE;
 
@@ -56,14 +107,16 @@ public class AccountService {
                 .build();
 
         Account savedAccount = accountRepository.save(account);
-        log.info("Account created successfully with ID: {}", savedAccount.getId());
+        ledgerService.recordOpeningBalance(savedAccount);
+        accountSnapshotCache.publishAfterCommit(savedAccount);
+        log.info("Account created {}", kv("accountId", savedAccount.getId()));
 
         return toAccountResponse(savedAccount);
     }
 
     @Transactional(readOnly = true)
     public AccountResponse login(LoginRequest request) {
-        log.info("Login attempt for username: {}", request.getUsername());
+        log.info("Login attempt {}", kv("username", request.getUsername()));
 
         Account account = accountRepository.findByUsername(request.getUsername())
                 .orElseThrow(() -> new InvalidCredentialsException("Invalid username or password"));
@@ -72,51 +125,190 @@ public class AccountService {
             throw new InvalidCredentialsException("Invalid username or password");
         }
 
-        log.info("Login successful for username: {}", request.getUsername());
+        log.info("Login successful {}", kv("username", request.getUsername()));
         return toAccountResponse(account);
     }
 
     @Transactional(readOnly = true)
+    @ReadFromReplica
     public Account getAccount(String accountId) {
         return accountRepository.findById(accountId)
                 .orElseThrow(() -> new AccountNotFoundException("Account with ID " + accountId + " not found"));
     }
 
-    @Transactional(readOnly = true)
+    /**
+     * Serves the account from the snapshot cache, which transfers on this node update as
+     * they commit, and only reads the database on a miss. A miss read through the replica
+     * is not cached: it may predate a transfer committed on another node, and the cache
+     * also serves reads that must see the primary, such as a user's own after a write.
+     * A hot account's row and slot sum are read in one transaction, so the balance is from
+     * one snapshot.
+     */
+    @ReadFromReplica
     public AccountResponse getAccountResponse(String accountId) {
-        Account account = getAccount(accountId);
-        return toAccountResponse(account);
+        AccountResponse cached = hotAccountBalances.isHot(accountId) ? null : accountSnapshotCache.get(accountId);
+        if (cached != null) {
+            return cached;
+        }
+        return readOnlyTransaction.execute(status -> {
+            Account account = getAccount(accountId);
+            if (account.isHot()) {
+                // Slot credits do not bump the account version, so hot accounts are summed on every read
+                AccountResponse response = toAccountResponse(account);
+                response.setBalance(hotAccountBalances.availableBalance(account));
+                return response;
+            }
+            if (!ReplicaRouting.isReplicaAllowed()) {
+                accountSnapshotCache.put(account);
+            }
+            return toAccountResponse(account);
+        });
     }
 
+    /**
+     * Marks the account as hot, spreading its incoming credits over {@code slots} sub-balances.
+     */
+    public AccountResponse makeHot(String accountId, int slots) {
+        getAccount(accountId);
+        hotAccountBalances.makeHot(accountId, slots);
+        accountSnapshotCache.evict(accountId);
+        return getAccountResponse(accountId);
+    }
+
+    /**
+     * Returns one page of the account's history, newest first. {@code from} is inclusive and
+     * {@code to} exclusive; {@code cursor} is the {@code nextCursor} of the previous page.
+     */
     @Transactional(readOnly = true)
-    public List<TransactionResponse> getTransactions(String accountId) {
+    @ReadFromReplica
+    public TransactionPage getTransactions(String accountId, LocalDateTime from, LocalDateTime to,
+                                           String cursor, Integer limit) {
         // Verify account exists
         getAccount(accountId);
 
-        List<TransactionLog> transactions = transactionLogRepository.findByAccountId(accountId);
-
-        return transactions.stream()
-                .map(t -> {
-                    TransactionResponse response = TransactionResponse.builder()
-                            .id(t.getId())
-                            .fromAccountId(t.getFromAccountId())
-                            .toAccountId(t.getToAccountId())
-                            .amount(t.getAmount())
-                            .status(t.getStatus())
-                            .failureReason(t.getFailureReason())
-                            .createdOn(t.getCreatedOn())
-                            .build();
-
-                    // Determine if this is a DEBIT or CREDIT for this account
-                    if (t.getFromAccountId().equals(accountId)) {
-                        response.setType("DEBIT");
-                    } else {
-                        response.setType("CREDIT");
-                    }
-
-                    return response;
-                })
-                .collect(Collectors.toList());
+        int pageSize = limit == null ? DEFAULT_PAGE_SIZE : Math.min(limit, MAX_PAGE_SIZE);
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("Page size must be positive");
+        }
+        LocalDateTime lowerBound = from != null ? from : EARLIEST;
+        LocalDateTime upperBound = to != null ? to : LATEST;
+        if (!lowerBound.isBefore(upperBound)) {
+            throw new IllegalArgumentException("'from' must be before 'to'");
+        }
+
+        // Rows strictly before (beforeTime, beforeId); an empty id excludes rows created exactly at 'to'
+        LocalDateTime beforeTime = upperBound;
+        String beforeId = "";
+        if (cursor != null) {
+            TransactionCursor position = TransactionCursor.decode(cursor);
+            if (position.getCreatedOn().isBefore(upperBound)) {
+                beforeTime = position.getCreatedOn();
+                beforeId = position.getId();
+            }
+        }
+
+        // Two ordered index range scans (sent, received) merged newest first; each side needs at
+        // most pageSize + 1 rows for the merged page to be complete
+        Limit fetch = Limit.of(pageSize + 1);
+        List<TransactionLog> page = take(new MergingIterator<>(List.of(
+                transactionLogRepository.findOutgoingPage(accountId, lowerBound, beforeTime, beforeId, fetch).iterator(),
+                transactionLogRepository.findIncomingPage(accountId, lowerBound, beforeTime, beforeId, fetch).iterator()),
+                NEWEST_FIRST), pageSize + 1);
+
+        // Archived rows are all older than the archive horizon, so the archive is only read when
+        // the page reaches back past it
+        LocalDateTime oldestNeeded = page.size() > pageSize ? page.get(pageSize).getCreatedOn() : lowerBound;
+        if (transactionArchive.mayHaveArchived(oldestNeeded)) {
+            page = take(new MergingIterator<>(List.of(
+                    page.iterator(),
+                    transactionArchive.findOutgoingPage(accountId, lowerBound, beforeTime, beforeId, fetch).iterator(),
+                    transactionArchive.findIncomingPage(accountId, lowerBound, beforeTime, beforeId, fetch).iterator()),
+                    NEWEST_FIRST), pageSize + 1);
+        }
+        Iterator<TransactionLog> merged = page.iterator();
+
+        List<TransactionResponse> items = new ArrayList<>(pageSize);
+        TransactionLog last = null;
+        while (merged.hasNext() && items.size() < pageSize) {
+            last = merged.next();
+            items.add(toTransactionResponse(last, accountId));
+        }
+        String nextCursor = merged.hasNext()
+                ? new TransactionCursor(last.getCreatedOn(), last.getId()).encode()
+                : null;
+
+        return TransactionPage.builder()
+                .items(items)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    /**
+     * Returns the account's daily statements for days in [from, to), oldest first. Days without
+     * postings are left out. The opening balance of the first day comes from the ledger; every
+     * later balance is carried forward from the daily totals.
+     */
+    @Transactional(readOnly = true)
+    @ReadFromReplica
+    public List<DailyStatementResponse> getStatement(String accountId, LocalDate from, LocalDate to) {
+        // Verify account exists
+        getAccount(accountId);
+
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("'from' must be before 'to'");
+        }
+        if (ChronoUnit.DAYS.between(from, to) > MAX_STATEMENT_DAYS) {
+            throw new IllegalArgumentException("A statement covers at most " + MAX_STATEMENT_DAYS + " days");
+        }
+
+        Money balance = ledgerService.balanceAsOf(accountId, from.atStartOfDay());
+        List<Object[]> days = dailyStatementRepository.sumByDay(accountId, from, to);
+        List<DailyStatementResponse> statement = new ArrayList<>(days.size());
+        for (Object[] day : days) {
+            Money debits = Money.of((BigDecimal) day[1]);
+            Money credits = Money.of((BigDecimal) day[2]);
+            Money closing = balance.plus(credits).minus(debits);
+            statement.add(DailyStatementResponse.builder()
+                    .date((LocalDate) day[0])
+                    .openingBalance(balance)
+                    .totalDebits(debits)
+                    .totalCredits(credits)
+                    .debitCount(((Number) day[3]).longValue())
+                    .creditCount(((Number) day[4]).longValue())
+                    .closingBalance(closing)
+                    .build());
+            balance = closing;
+        }
+        return statement;
+    }
+
+    private static List<TransactionLog> take(Iterator<TransactionLog> rows, int count) {
+        List<TransactionLog> taken = new ArrayList<>(count);
+        while (rows.hasNext() && taken.size() < count) {
+            taken.add(rows.next());
+        }
+        return taken;
+    }
+
+    static TransactionResponse toTransactionResponse(TransactionLog t, String accountId) {
+        TransactionResponse response = TransactionResponse.builder()
+                .id(t.getId())
+                .fromAccountId(t.getFromAccountId())
+                .toAccountId(t.getToAccountId())
+                .amount(t.getAmount())
+                .status(t.getStatus())
+                .failureReason(t.getFailureReason())
+                .createdOn(t.getCreatedOn())
+                .build();
+
+        // Determine if this is a DEBIT or CREDIT for this account
+        if (t.getFromAccountId().equals(accountId)) {
+            response.setType("DEBIT");
+        } else {
+            response.setType("CREDIT");
+        }
+
+        return response;
     }
 
     private AccountResponse toAccountResponse(Account account) {
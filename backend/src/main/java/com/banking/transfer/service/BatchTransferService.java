@@ -0,0 +1,250 @@
+package com.banking.transfer.service;
+
+import com.banking.transfer.cache.AccountSnapshotCache;
+import com.banking.transfer.concurrency.AccountLockManager;
+import com.banking.transfer.dto.TransferRequest;
+import com.banking.transfer.dto.TransferResponse;
+import com.banking.transfer.entity.Account;
+import com.banking.transfer.entity.TransactionLog;
+import com.banking.transfer.entity.TransactionStatus;
+import com.banking.transfer.exception.AccountLockTimeoutException;
+import com.banking.transfer.exception.AccountNotFoundException;
+import com.banking.transfer.exception.DuplicateTransferException;
+import com.banking.transfer.idempotency.IdempotencyGuard;
+import com.banking.transfer.repository.AccountRepository;
+import com.banking.transfer.repository.TransactionLogRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Applies many transfers per database transaction.
+ * <p>
+ * Each chunk prefetches its accounts, and the idempotency keys the {@link IdempotencyGuard}
+ * cannot rule out, with one {@code IN} query each. It applies the debits and credits in
+ * memory in request order and flushes the account updates and transaction log inserts
+ * together, so Hibernate JDBC batching applies.
+ * Business failures found before an item changes a balance only fail that item. If the
+ * chunk cannot be committed as a whole, cannot get its locks or a transaction, or an item
+ * fails after its debit has been applied, the chunk is rolled back and its items are
+ * replayed one by one through {@link TransferService}. Every item therefore gets its own
+ * result, whatever happened to the chunks around it.
+ */
+@Service
+@Slf4j
+public class BatchTransferService {
+
+    private final AccountRepository accountRepository;
+    private final TransactionLogRepository transactionLogRepository;
+    private final TransferService transferService;
+    private final AccountLockManager accountLockManager;
+    private final TransactionTemplate transactionTemplate;
+    private final IdempotencyGuard idempotencyGuard;
+    private final AccountSnapshotCache accountSnapshotCache;
+    private final LedgerService ledgerService;
+    private final HotAccountBalances hotAccountBalances;
+    private final TransferMetrics transferMetrics;
+    private final int chunkSize;
+
+    public BatchTransferService(AccountRepository accountRepository,
+                                TransactionLogRepository transactionLogRepository,
+                                TransferService transferService,
+                                AccountLockManager accountLockManager,
+                                TransactionTemplate transactionTemplate,
+                                IdempotencyGuard idempotencyGuard,
+                                AccountSnapshotCache accountSnapshotCache,
+                                LedgerService ledgerService,
+                                HotAccountBalances hotAccountBalances,
+                                TransferMetrics transferMetrics,
+                                @Value("${transfer.batch.chunk-size:50}") int chunkSize) {
+        this.accountRepository = accountRepository;
+        this.transactionLogRepository = transactionLogRepository;
+        this.transferService = transferService;
+        this.accountLockManager = accountLockManager;
+        this.transactionTemplate = transactionTemplate;
+        this.idempotencyGuard = idempotencyGuard;
+        this.accountSnapshotCache = accountSnapshotCache;
+        this.ledgerService = ledgerService;
+        this.hotAccountBalances = hotAccountBalances;
+        this.transferMetrics = transferMetrics;
+        this.chunkSize = chunkSize;
+    }
+
+    public List<TransferOutcome> transferAll(List<TransferRequest> requests) {
+        log.info("Processing batch of {} transfers in chunks of {}", requests.size(), chunkSize);
+
+        List<TransferOutcome> outcomes = new ArrayList<>(requests.size());
+        for (int start = 0; start < requests.size(); start += chunkSize) {
+            List<TransferRequest> chunk = requests.subList(start, Math.min(start + chunkSize, requests.size()));
+            outcomes.addAll(processChunk(chunk));
+        }
+        return outcomes;
+    }
+
+    private List<TransferOutcome> processChunk(List<TransferRequest> chunk) {
+        Set<String> accountIds = new LinkedHashSet<>();
+        for (TransferRequest request : chunk) {
+            accountIds.add(request.getFromAccountId());
+            accountIds.add(request.getToAccountId());
+        }
+
+        try {
+            List<TransferOutcome> outcomes = accountLockManager.withLocks(hotAccountBalances.lockScope(chunk),
+                    () -> transactionTemplate.execute(status -> applyChunk(chunk, accountIds)));
+            // Counted once committed; the item-by-item fallback is counted by TransferService
+            transferMetrics.record(outcomes);
+            return outcomes;
+        } catch (DataAccessException | TransactionException | AccountLockTimeoutException | ChunkAbortedException e) {
+            // Earlier chunks have committed, so this one must still end in per-item results
+            log.warn("Batch chunk of {} transfers could not be committed, retrying items individually: {}",
+                    chunk.size(), e.getMessage());
+            return chunk.stream().map(this::transferSingle).collect(Collectors.toList());
+        }
+    }
+
+    private List<TransferOutcome> applyChunk(List<TransferRequest> chunk, Set<String> accountIds) {
+        Map<String, Account> accounts = accountRepository.findAllById(accountIds).stream()
+                .collect(Collectors.toMap(Account::getId, Function.identity()));
+        Set<String> seenKeys = new HashSet<>(idempotencyGuard.findDuplicates(
+                chunk.stream().map(TransferRequest::getIdempotencyKey).collect(Collectors.toSet())));
+
+        List<TransactionLog> logs = new ArrayList<>(chunk.size());
+        Map<TransactionLog, RuntimeException> failures = new IdentityHashMap<>();
+        List<TransferOutcome> outcomes = new ArrayList<>(chunk.size());
+        Map<String, Account> touched = new LinkedHashMap<>();
+
+        for (TransferRequest request : chunk) {
+            try {
+                TransferRules.validate(request);
+            } catch (IllegalArgumentException e) {
+                outcomes.add(TransferOutcome.failure(request, e));
+                continue;
+            }
+
+            if (!seenKeys.add(request.getIdempotencyKey())) {
+                outcomes.add(TransferOutcome.failure(request, new DuplicateTransferException(
+                        "Duplicate transfer request with idempotency key: " + request.getIdempotencyKey())));
+                continue;
+            }
+
+            Account fromAccount;
+            Account toAccount;
+            try {
+                fromAccount = requireAccount(accounts, request.getFromAccountId(), "Source");
+                toAccount = requireAccount(accounts, request.getToAccountId(), "Destination");
+                checkTransfer(request, fromAccount, toAccount);
+            } catch (DataAccessException e) {
+                throw e;
+            } catch (RuntimeException e) {
+                TransactionLog transactionLog = newLog(request, TransactionStatus.FAILED, e.getMessage());
+                failures.put(transactionLog, e);
+                logs.add(transactionLog);
+                outcomes.add(null);
+                continue;
+            }
+
+            try {
+                hotAccountBalances.debit(fromAccount, request.getAmount());
+                hotAccountBalances.credit(toAccount, request.getAmount());
+            } catch (DataAccessException e) {
+                // A slot UPDATE may already have applied; roll the chunk back and retry item by item
+                throw e;
+            } catch (RuntimeException e) {
+                // The debit may already be applied, so the item cannot just be marked FAILED
+                throw new ChunkAbortedException(e);
+            }
+            touched.put(fromAccount.getId(), fromAccount);
+            touched.put(toAccount.getId(), toAccount);
+            logs.add(newLog(request, TransactionStatus.SUCCESS, null));
+            outcomes.add(null);
+        }
+
+        accountRepository.saveAll(touched.values());
+        transactionLogRepository.saveAll(logs);
+        ledgerService.recordTransfers(logs.stream().filter(transactionLog -> !failures.containsKey(transactionLog)).toList());
+        idempotencyGuard.record(logs.stream().map(TransactionLog::getIdempotencyKey).toList());
+        accountSnapshotCache.publishAfterCommit(touched.values());
+
+        // Fill in the placeholders now that the logs have their ids
+        int logIndex = 0;
+        for (int i = 0; i < outcomes.size(); i++) {
+            if (outcomes.get(i) != null) {
+                continue;
+            }
+            TransactionLog transactionLog = logs.get(logIndex++);
+            TransferRequest request = chunk.get(i);
+            RuntimeException error = failures.get(transactionLog);
+            outcomes.set(i, error == null
+                    ? TransferOutcome.success(request, toResponse(transactionLog))
+                    : TransferOutcome.failure(request, transactionLog.getId(), error));
+        }
+        return outcomes;
+    }
+
+    private TransferOutcome transferSingle(TransferRequest request) {
+        try {
+            return TransferOutcome.success(request, transferService.transfer(request));
+        } catch (RuntimeException e) {
+            return TransferOutcome.failure(request, e);
+        }
+    }
+
+    private Account requireAccount(Map<String, Account> accounts, String accountId, String role) {
+        Account account = accounts.get(accountId);
+        if (account == null) {
+            throw new AccountNotFoundException(role + " account not found: " + accountId);
+        }
+        return account;
+    }
+
+    private void checkTransfer(TransferRequest request, Account fromAccount, Account toAccount) {
+        TransferRules.checkActive(fromAccount, toAccount);
+        TransferRules.checkFunds(hotAccountBalances.availableBalance(fromAccount), request.getAmount());
+    }
+
+    private TransactionLog newLog(TransferRequest request, TransactionStatus status, String failureReason) {
+        return TransactionLog.builder()
+                .id(request.getTransactionId())
+                .fromAccountId(request.getFromAccountId())
+                .toAccountId(request.getToAccountId())
+                .amount(request.getAmount())
+                .status(status)
+                .failureReason(failureReason)
+                .idempotencyKey(request.getIdempotencyKey())
+                .build();
+    }
+
+    private TransferResponse toResponse(TransactionLog transactionLog) {
+        return TransferResponse.builder()
+                .transactionId(transactionLog.getId())
+                .status("SUCCESS")
+                .message("Transfer completed successfully")
+                .debitedFrom(transactionLog.getFromAccountId())
+                .creditedTo(transactionLog.getToAccountId())
+                .amount(transactionLog.getAmount())
+                .build();
+    }
+
+    /**
+     * An item failed after it had changed a balance; the chunk must roll back as a whole.
+     */
+    private static final class ChunkAbortedException extends RuntimeException {
+        ChunkAbortedException(RuntimeException cause) {
+            super(cause.getMessage(), cause);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.banking.transfer.service;
+
+import com.banking.transfer.entity.DailyStatement;
+import com.banking.transfer.entity.LedgerPosting;
+import com.banking.transfer.entity.PostingType;
+import com.banking.transfer.money.Money;
+import com.banking.transfer.repository.DailyStatementRepository;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Folds ledger postings into {@link DailyStatement} rows in the transaction that writes them.
+ * <p>
+ * Postings are first added up per row, so a batch chunk issues one {@code UPDATE} per account
+ * and day. Rows are updated in id order to keep lock order consistent between transactions.
+ * A missing row is inserted; if another transaction inserts it first, the transfer is
+ * re-run as a conflict and then finds the row.
+ */
+@Component
+public class DailyStatements {
+
+    private final DailyStatementRepository statementRepository;
+    private final HotAccountBalances hotAccountBalances;
+
+    public DailyStatements(DailyStatementRepository statementRepository, HotAccountBalances hotAccountBalances) {
+        this.statementRepository = statementRepository;
+        this.hotAccountBalances = hotAccountBalances;
+    }
+
+    public void record(Collection<LedgerPosting> postings) {
+        Map<String, Totals> rows = new TreeMap<>();
+        for (LedgerPosting posting : postings) {
+            LocalDate date = posting.getCreatedOn().toLocalDate();
+            int stripe = stripe(posting);
+            rows.computeIfAbsent(DailyStatement.idOf(posting.getAccountId(), date, stripe),
+                    id -> new Totals(posting.getAccountId(), date, stripe)).add(posting);
+        }
+        rows.forEach(this::apply);
+    }
+
+    private int stripe(LedgerPosting posting) {
+        if (posting.getType() != PostingType.CREDIT || !hotAccountBalances.isHot(posting.getAccountId())) {
+            return 0;
+        }
+        return ThreadLocalRandom.current().nextInt(hotAccountBalances.slotCount(posting.getAccountId()));
+    }
+
+    private void apply(String id, Totals totals) {
+        if (statementRepository.add(id, totals.debits.toBigDecimal(), totals.credits.toBigDecimal(),
+                totals.debitCount, totals.creditCount) > 0) {
+            return;
+        }
+        try {
+            statementRepository.insert(id, totals.accountId, totals.date, totals.stripe,
+                    totals.debits.toBigDecimal(), totals.credits.toBigDecimal(), totals.debitCount, totals.creditCount);
+        } catch (DataIntegrityViolationException e) {
+            if (!(e.getCause() instanceof ConstraintViolationException)) {
+                throw e;
+            }
+            throw new OptimisticLockingFailureException("Daily statement " + id + " was created concurrently", e);
+        }
+    }
+
+    private static final class Totals {
+
+        private final String accountId;
+        private final LocalDate date;
+        private final int stripe;
+        private Money debits = Money.ZERO;
+        private Money credits = Money.ZERO;
+        private long debitCount;
+        private long creditCount;
+
+        private Totals(String accountId, LocalDate date, int stripe) {
+            this.accountId = accountId;
+            this.date = date;
+            this.stripe = stripe;
+        }
+
+        private void add(LedgerPosting posting) {
+            if (posting.getType() == PostingType.DEBIT) {
+                debits = debits.plus(posting.getAmount());
+                debitCount++;
+            } else {
+                credits = credits.plus(posting.getAmount());
+                creditCount++;
+            }
+        }
+    }
+}
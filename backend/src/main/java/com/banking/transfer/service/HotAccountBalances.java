@@ -0,0 +1,239 @@
+package com.banking.transfer.service;
+
+import com.banking.transfer.concurrency.AccountLockManager;
+import com.banking.transfer.dto.TransferRequest;
+import com.banking.transfer.entity.Account;
+import com.banking.transfer.entity.BalanceSlot;
+import com.banking.transfer.exception.AccountNotFoundException;
+import com.banking.transfer.exception.InsufficientBalanceException;
+import com.banking.transfer.money.Money;
+import com.banking.transfer.repository.AccountRepository;
+import com.banking.transfer.repository.BalanceSlotRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Balance operations that understand hot accounts.
+ * <p>
+ * A hot account keeps part of its balance in N {@link BalanceSlot} rows. Credits to it
+ * add to a random slot with a single {@code UPDATE}, without reading or locking the
+ * {@code Account} row, so transfers into it neither queue on its stripe lock nor fight over
+ * its {@code @Version}. Debits from it still take its lock: they draw from the account row
+ * first and then from slots holding enough funds. Its exact balance is the row plus the
+ * sum of the slots. For every other account these methods are plain
+ * {@link Account#debit}/{@link Account#credit}.
+ * <p>
+ * Whether an account is hot is stored on its row ({@link Account#getBalanceSlots}), so
+ * balance, debit and credit decisions use the count read in the caller's transaction.
+ * {@link #isHot(String)} is this node's view, kept up to date by {@link #refresh()} and by
+ * the hot accounts transfers load; it only decides which locks to take and which
+ * statement stripes to use, where a stale answer costs contention but not correctness.
+ */
+@Service
+@Slf4j
+public class HotAccountBalances {
+
+    private final BalanceSlotRepository slotRepository;
+    private final AccountRepository accountRepository;
+    private final AccountLockManager accountLockManager;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<String, Integer> slotCounts = new ConcurrentHashMap<>();
+
+    public HotAccountBalances(BalanceSlotRepository slotRepository,
+                              AccountRepository accountRepository,
+                              AccountLockManager accountLockManager,
+                              TransactionTemplate transactionTemplate) {
+        this.slotRepository = slotRepository;
+        this.accountRepository = accountRepository;
+        this.accountLockManager = accountLockManager;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    /**
+     * Whether this node has seen the account become hot.
+     */
+    public boolean isHot(String accountId) {
+        return slotCounts.containsKey(accountId);
+    }
+
+    public int slotCount(String accountId) {
+        return slotCounts.getOrDefault(accountId, 1);
+    }
+
+    /**
+     * Accounts whose locks a unit of work must hold: every source, and every destination
+     * that is not hot.
+     */
+    public Set<String> lockScope(Collection<TransferRequest> requests) {
+        Set<String> accountIds = new LinkedHashSet<>();
+        for (TransferRequest request : requests) {
+            accountIds.add(request.getFromAccountId());
+            if (!isHot(request.getToAccountId())) {
+                accountIds.add(request.getToAccountId());
+            }
+        }
+        return accountIds;
+    }
+
+    public Money availableBalance(Account account) {
+        if (!account.isHot()) {
+            return account.getBalance();
+        }
+        learn(account);
+        return account.getBalance().plus(Money.of(slotRepository.sumBalance(account.getId())));
+    }
+
+    /**
+     * {@link #availableBalance}, with the account's slots locked until the surrounding
+     * transaction ends, so no slot credit lands between this read and the caller's writes.
+     */
+    public Money lockedAvailableBalance(Account account) {
+        if (account.isHot()) {
+            slotRepository.lockByAccountId(account.getId());
+        }
+        return availableBalance(account);
+    }
+
+    public void credit(Account account, Money amount) {
+        if (!account.isHot()) {
+            account.credit(amount);
+            return;
+        }
+        learn(account);
+        int slot = ThreadLocalRandom.current().nextInt(account.getBalanceSlots());
+        if (slotRepository.credit(account.getId(), slot, amount.toBigDecimal()) == 0) {
+            throw new IllegalStateException("Balance slot " + slot + " of account " + account.getId() + " is missing");
+        }
+    }
+
+    /**
+     * Debits {@code amount}; the caller holds the account's lock and has checked
+     * {@link #availableBalance}.
+     */
+    public void debit(Account account, Money amount) {
+        if (!account.isHot()) {
+            account.debit(amount);
+            return;
+        }
+        learn(account);
+
+        // Plan every take before changing anything, so a shortfall leaves the row and the slots untouched
+        Money fromRow = account.getBalance().min(amount);
+        Money remaining = amount.minus(fromRow);
+        Map<Integer, Money> takes = new LinkedHashMap<>();
+        if (remaining.isPositive()) {
+            List<Object[]> slots = slotRepository.findSlotBalances(account.getId());
+            int offset = slots.isEmpty() ? 0 : ThreadLocalRandom.current().nextInt(slots.size());
+            for (int i = 0; i < slots.size() && remaining.isPositive(); i++) {
+                Object[] slot = slots.get((offset + i) % slots.size());
+                Money take = Money.of((BigDecimal) slot[1]).min(remaining);
+                if (take.isPositive()) {
+                    takes.put(((Number) slot[0]).intValue(), take);
+                    remaining = remaining.minus(take);
+                }
+            }
+            if (remaining.isPositive()) {
+                throw new InsufficientBalanceException("Insufficient balance in source account");
+            }
+        }
+
+        for (Map.Entry<Integer, Money> take : takes.entrySet()) {
+            // Credits only ever add to a slot, so this can only miss if another node debited it.
+            // Earlier takes are already applied; the caller's transaction must roll back.
+            if (slotRepository.debit(account.getId(), take.getKey(), take.getValue().toBigDecimal()) == 0) {
+                throw new OptimisticLockingFailureException(
+                        "Balance slot " + take.getKey() + " of account " + account.getId() + " changed concurrently");
+            }
+        }
+        if (fromRow.isPositive()) {
+            account.debit(fromRow);
+        }
+    }
+
+    /**
+     * Spreads future credits to {@code accountId} over {@code slotCount} slots. Calling it
+     * again with a larger count adds slots; existing slot balances are kept.
+     */
+    public void makeHot(String accountId, int slotCount) {
+        if (slotCount < 1) {
+            throw new IllegalArgumentException("Slot count must be positive");
+        }
+        int slots = accountLockManager.withLocks(List.of(accountId), () -> transactionTemplate.execute(status -> {
+            Account account = accountRepository.findById(accountId)
+                    .orElseThrow(() -> new AccountNotFoundException("Account with ID " + accountId + " not found"));
+            int existing = slotRepository.findByAccountIdOrderBySlot(accountId).size();
+            for (int slot = existing; slot < slotCount; slot++) {
+                slotRepository.save(BalanceSlot.builder()
+                        .accountId(accountId)
+                        .slot(slot)
+                        .balance(Money.ZERO)
+                        .build());
+            }
+            int total = Math.max(existing, slotCount);
+            // Published with the slots, and bumps the version so in-flight transfers on other nodes retry
+            account.setBalanceSlots(total);
+            return total;
+        }));
+        slotCounts.put(accountId, slots);
+        log.info("Account {} is hot with {} balance slots", accountId, slots);
+    }
+
+    /**
+     * Sets the slot count on accounts whose slots were created before it was stored on the
+     * row, then loads which accounts are hot.
+     */
+    @PostConstruct
+    public void init() {
+        Map<String, Integer> counts = countSlots();
+        if (!counts.isEmpty()) {
+            transactionTemplate.execute(status -> {
+                counts.forEach(accountRepository::raiseBalanceSlots);
+                return null;
+            });
+        }
+        refresh();
+    }
+
+    /**
+     * Reloads which accounts are hot, so accounts made hot on other nodes are picked up.
+     */
+    @Scheduled(fixedDelayString = "${transfer.hot-accounts.refresh-interval:PT1M}",
+            initialDelayString = "${transfer.hot-accounts.refresh-interval:PT1M}")
+    public void refresh() {
+        Map<String, Integer> counts = countSlots();
+        // Rebuilt from the table, so accounts whose slots were removed stop being hot
+        slotCounts.keySet().retainAll(counts.keySet());
+        slotCounts.putAll(counts);
+    }
+
+    private Map<String, Integer> countSlots() {
+        Map<String, Integer> counts = new HashMap<>();
+        for (Object[] row : slotRepository.countSlotsByAccount()) {
+            counts.put((String) row[0], ((Number) row[1]).intValue());
+        }
+        return counts;
+    }
+
+    /**
+     * Records a hot account read from the database, so this node stops locking it as a
+     * destination before the next refresh.
+     */
+    private void learn(Account account) {
+        slotCounts.put(account.getId(), account.getBalanceSlots());
+    }
+}
@@ -0,0 +1,152 @@
+package com.banking.transfer.service;
+
+import com.banking.transfer.concurrency.BackgroundThreads;
+import com.banking.transfer.dto.TransferRequest;
+import com.banking.transfer.dto.TransferResponse;
+import com.banking.transfer.exception.DuplicateTransferException;
+import com.banking.transfer.exception.TransferJournalException;
+import com.banking.transfer.id.Ids;
+import com.banking.transfer.idempotency.IdempotencyGuard;
+import com.banking.transfer.journal.JournalRecord;
+import com.banking.transfer.journal.WriteAheadJournal;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Journal engine mode ({@code transfer.engine.mode=journal}).
+ * <p>
+ * A transfer is accepted once it is durable in the {@link WriteAheadJournal}; the request
+ * thread only waits for the group commit that covers it. The journal is applied to
+ * {@code accounts} and {@code transaction_logs} in the background through
+ * {@link BatchTransferService}, which skips already used idempotency keys and so makes
+ * replays after a crash safe. Balance and account checks therefore happen when the
+ * transfer is applied, and a transfer that fails then is recorded as a FAILED log.
+ * <p>
+ * The idempotency key of every transfer that is in the journal but not yet applied is held
+ * in memory, so a retry is rejected as a duplicate on accept rather than when it is applied.
+ * The transaction id is assigned on accept and returned in the response; the applied log,
+ * successful or FAILED, is written under that id.
+ */
+@Service
+@ConditionalOnProperty(name = "transfer.engine.mode", havingValue = "journal")
+@Slf4j
+public class JournaledTransferService {
+
+    private final WriteAheadJournal journal;
+    private final IdempotencyGuard idempotencyGuard;
+    private final long appendTimeoutMillis;
+    // Keys accepted but not yet applied; the IdempotencyGuard only sees them once applied
+    private final Set<String> reservedKeys = ConcurrentHashMap.newKeySet();
+
+    public JournaledTransferService(BatchTransferService batchTransferService,
+                                    BackgroundThreads backgroundThreads,
+                                    IdempotencyGuard idempotencyGuard,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${transfer.journal.dir:data/journal}") String directory,
+                                    @Value("${transfer.journal.segment-size:64MB}") DataSize segmentSize,
+                                    @Value("${transfer.journal.group-commit.max-batch:256}") int groupCommitMaxBatch,
+                                    @Value("${transfer.journal.capacity:10000}") int capacity,
+                                    @Value("${transfer.journal.apply.batch-size:500}") int applyBatchSize,
+                                    @Value("${transfer.journal.append-timeout:5s}") Duration appendTimeout) {
+        this.idempotencyGuard = idempotencyGuard;
+        this.appendTimeoutMillis = appendTimeout.toMillis();
+        this.journal = new WriteAheadJournal(Path.of(directory), (int) segmentSize.toBytes(), groupCommitMaxBatch,
+                capacity, applyBatchSize, records -> apply(batchTransferService, records), backgroundThreads);
+
+        Gauge.builder("transfer.journal.lag", journal, WriteAheadJournal::lag)
+                .description("Durable journal records not yet applied to the database")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void open() throws IOException {
+        journal.open(record -> reservedKeys.add(record.getIdempotencyKey()));
+    }
+
+    @PreDestroy
+    public void close() throws InterruptedException, IOException {
+        journal.close();
+    }
+
+    public TransferResponse accept(TransferRequest request) {
+        log.info("Journaling transfer from {} to {} for amount {}",
+                request.getFromAccountId(), request.getToAccountId(), request.getAmount());
+
+        TransferRules.validate(request);
+        String key = request.getIdempotencyKey();
+        if (!reservedKeys.add(key)) {
+            throw duplicate(key);
+        }
+        if (idempotencyGuard.isDuplicate(key)) {
+            reservedKeys.remove(key);
+            throw duplicate(key);
+        }
+
+        TransferRequest journaled = TransferRequest.builder()
+                .fromAccountId(request.getFromAccountId())
+                .toAccountId(request.getToAccountId())
+                .amount(request.getAmount())
+                .idempotencyKey(key)
+                .transactionId(Ids.newTransactionId())
+                .build();
+        JournalRecord record;
+        try {
+            // Released only if the record never reaches the journal; after a timeout it may still
+            record = journal.append(journaled)
+                    .whenComplete((appended, error) -> {
+                        if (error != null) {
+                            reservedKeys.remove(key);
+                        }
+                    })
+                    .get(appendTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            throw new TransferJournalException("Transfer could not be journaled, please retry", e.getCause());
+        } catch (TimeoutException e) {
+            throw new TransferJournalException("Transfer journal is busy, please retry");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TransferJournalException("Interrupted while journaling transfer");
+        }
+
+        return TransferResponse.builder()
+                .transactionId(record.getTransactionId())
+                .status("ACCEPTED")
+                .message("Transfer accepted for processing (journal sequence " + record.getSequence() + ")")
+                .debitedFrom(request.getFromAccountId())
+                .creditedTo(request.getToAccountId())
+                .amount(request.getAmount())
+                .build();
+    }
+
+    private void apply(BatchTransferService batchTransferService, List<JournalRecord> records) {
+        List<TransferOutcome> outcomes = batchTransferService.transferAll(
+                records.stream().map(JournalRecord::toRequest).toList());
+        // The applied logs, FAILED ones included, now hold these keys
+        records.forEach(record -> reservedKeys.remove(record.getIdempotencyKey()));
+        long failed = outcomes.stream().filter(outcome -> !outcome.isSuccess()).count();
+        log.info("Applied {} journal records up to sequence {}, {} failed",
+                records.size(), records.get(records.size() - 1).getSequence(), failed);
+    }
+
+    private static DuplicateTransferException duplicate(String idempotencyKey) {
+        return new DuplicateTransferException(
+                "Duplicate transfer request with idempotency key: " + idempotencyKey);
+    }
+}
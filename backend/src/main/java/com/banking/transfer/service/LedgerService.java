@@ -0,0 +1,262 @@
+package com.banking.transfer.service;
+
+import com.banking.transfer.concurrency.AccountLockManager;
+import com.banking.transfer.entity.Account;
+import com.banking.transfer.entity.BalanceCheckpoint;
+import com.banking.transfer.entity.LedgerPosting;
+import com.banking.transfer.entity.PostingType;
+import com.banking.transfer.entity.TransactionLog;
+import com.banking.transfer.exception.AccountNotFoundException;
+import com.banking.transfer.money.Money;
+import com.banking.transfer.repository.AccountRepository;
+import com.banking.transfer.repository.BalanceCheckpointRepository;
+import com.banking.transfer.repository.LedgerPostingRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Double-entry ledger kept alongside the account balances.
+ * <p>
+ * Transfers append a DEBIT and a CREDIT posting in the same transaction that updates
+ * {@code Account.balance}. The column is still read, changed and saved under the account's
+ * lock on every transfer, since the overdraft check and the version guard depend on it, so
+ * the ledger does not remove contention on the account row. What it adds is a record the
+ * balance can be rebuilt and checked from. A scheduled job folds postings into per-account
+ * checkpoints, which lets {@link #rebuildBalance} recompute a balance from the last
+ * checkpoint plus a short tail of postings, and reports accounts whose column has drifted
+ * from the ledger. Accounts created before the ledger get an opening posting at startup.
+ * New postings are also added to the accounts' {@link DailyStatements} in the same transaction.
+ * <p>
+ * Checkpoints only cover postings older than the settle lag, so a transaction that drew
+ * its timestamp before a checkpoint but commits after it is never skipped.
+ */
+@Service
+@Slf4j
+public class LedgerService {
+
+    private static final LocalDateTime EARLIEST = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final LocalDateTime LATEST = LocalDateTime.of(9999, 12, 31, 0, 0);
+
+    private final LedgerPostingRepository postingRepository;
+    private final BalanceCheckpointRepository checkpointRepository;
+    private final AccountRepository accountRepository;
+    private final AccountLockManager accountLockManager;
+    private final TransactionTemplate transactionTemplate;
+    private final HotAccountBalances hotAccountBalances;
+    private final DailyStatements dailyStatements;
+    private final Duration settleLag;
+    private volatile LocalDateTime lastCutoff;
+
+    private final Counter checkpointsWritten;
+    private final Counter driftDetected;
+
+    public LedgerService(LedgerPostingRepository postingRepository,
+                         BalanceCheckpointRepository checkpointRepository,
+                         AccountRepository accountRepository,
+                         AccountLockManager accountLockManager,
+                         TransactionTemplate transactionTemplate,
+                         HotAccountBalances hotAccountBalances,
+                         DailyStatements dailyStatements,
+                         MeterRegistry meterRegistry,
+                         @Value("${ledger.checkpoint.settle-lag:1m}") Duration settleLag) {
+        this.postingRepository = postingRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.accountRepository = accountRepository;
+        this.accountLockManager = accountLockManager;
+        this.transactionTemplate = transactionTemplate;
+        this.hotAccountBalances = hotAccountBalances;
+        this.dailyStatements = dailyStatements;
+        this.settleLag = settleLag;
+
+        this.checkpointsWritten = Counter.builder("ledger.checkpoints.written")
+                .register(meterRegistry);
+        this.driftDetected = Counter.builder("ledger.balance.drift")
+                .description("Accounts whose balance column disagreed with their postings")
+                .register(meterRegistry);
+    }
+
+    public void recordOpeningBalance(Account account) {
+        LedgerPosting posting = LedgerPosting.builder()
+                .accountId(account.getId())
+                .type(PostingType.CREDIT)
+                .amount(account.getBalance())
+                .build();
+        postingRepository.save(posting);
+        dailyStatements.record(List.of(posting));
+    }
+
+    /**
+     * Gives each account created before the ledger existed an opening posting, so that its
+     * postings sum to its balance. The opening amount is the balance less the postings the
+     * account already has, dated at its first posting; its checkpoints move by the same amount.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOpeningBalances() {
+        List<String> accountIds = postingRepository.findAccountIdsWithoutOpeningPosting();
+        if (accountIds.isEmpty()) {
+            return;
+        }
+        int seeded = 0;
+        for (String accountId : accountIds) {
+            try {
+                if (backfillOpeningBalance(accountId)) {
+                    seeded++;
+                }
+            } catch (RuntimeException e) {
+                log.error("Could not back-fill the opening posting of account {}: {}", accountId, e.getMessage());
+            }
+        }
+        log.info("Back-filled opening postings for {} of {} accounts", seeded, accountIds.size());
+    }
+
+    boolean backfillOpeningBalance(String accountId) {
+        return Boolean.TRUE.equals(accountLockManager.withLocks(List.of(accountId), () -> transactionTemplate.execute(status -> {
+            // The row and slot locks hold off transfers on other nodes until the posting commits
+            Account account = accountRepository.findByIdForUpdate(accountId)
+                    .orElseThrow(() -> new AccountNotFoundException("Account with ID " + accountId + " not found"));
+            Money balance = hotAccountBalances.lockedAvailableBalance(account);
+            if (postingRepository.existsByAccountIdAndTransactionIdIsNull(accountId)) {
+                // Another node back-filled it first
+                return false;
+            }
+
+            Money opening = balance.minus(sumPostings(accountId, EARLIEST, LATEST));
+            LedgerPosting posting = LedgerPosting.builder()
+                    .accountId(accountId)
+                    .type(opening.signum() < 0 ? PostingType.DEBIT : PostingType.CREDIT)
+                    .amount(opening.signum() < 0 ? opening.negate() : opening)
+                    .createdOn(postingRepository.findFirstPostedOn(accountId).orElseGet(LocalDateTime::now))
+                    .build();
+            postingRepository.save(posting);
+            checkpointRepository.addToAll(accountId, opening.toBigDecimal());
+            dailyStatements.record(List.of(posting));
+            return true;
+        })));
+    }
+
+    public void recordTransfer(TransactionLog transfer) {
+        recordTransfers(List.of(transfer));
+    }
+
+    /**
+     * Appends the debit and credit postings for successful, already saved transfers.
+     */
+    public void recordTransfers(Collection<TransactionLog> transfers) {
+        List<LedgerPosting> postings = new ArrayList<>(transfers.size() * 2);
+        for (TransactionLog transfer : transfers) {
+            postings.add(posting(transfer, transfer.getFromAccountId(), PostingType.DEBIT));
+            postings.add(posting(transfer, transfer.getToAccountId(), PostingType.CREDIT));
+        }
+        postingRepository.saveAll(postings);
+        dailyStatements.record(postings);
+    }
+
+    /**
+     * Recomputes the balance from the ledger: the latest checkpoint plus every posting
+     * created since.
+     */
+    public Money rebuildBalance(String accountId) {
+        return checkpointRepository.findFirstByAccountIdOrderByAsOfDesc(accountId)
+                .map(checkpoint -> checkpoint.getBalance().plus(sumPostings(accountId, checkpoint.getAsOf(), LATEST)))
+                .orElseGet(() -> sumPostings(accountId, EARLIEST, LATEST));
+    }
+
+    /**
+     * The balance as of {@code asOf}: the sum of the postings created before it, starting from
+     * the latest checkpoint at or before it.
+     */
+    public Money balanceAsOf(String accountId, LocalDateTime asOf) {
+        return checkpointRepository.findFirstByAccountIdAndAsOfLessThanEqualOrderByAsOfDesc(accountId, asOf)
+                .map(checkpoint -> checkpoint.getBalance().plus(sumPostings(accountId, checkpoint.getAsOf(), asOf)))
+                .orElseGet(() -> sumPostings(accountId, EARLIEST, asOf));
+    }
+
+    @Scheduled(fixedDelayString = "${ledger.checkpoint.interval:PT5M}",
+            initialDelayString = "${ledger.checkpoint.interval:PT5M}")
+    public void writeCheckpoints() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(settleLag);
+        LocalDateTime from = lastCutoff != null ? lastCutoff
+                : checkpointRepository.findLatestAsOf().orElse(EARLIEST);
+        if (!from.isBefore(cutoff)) {
+            return;
+        }
+
+        List<String> accountIds = postingRepository.findAccountIdsPostedBetween(from, cutoff);
+        for (String accountId : accountIds) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> checkpoint(accountId, cutoff));
+                verifyBalance(accountId);
+            } catch (RuntimeException e) {
+                log.error("Could not checkpoint account {}: {}", accountId, e.getMessage());
+            }
+        }
+        lastCutoff = cutoff;
+        log.info("Wrote balance checkpoints for {} accounts as of {}", accountIds.size(), cutoff);
+    }
+
+    /**
+     * Compares the balance column with the ledger while holding the account's lock, so no
+     * transfer on this node is half-applied. Returns false and counts the drift on mismatch.
+     */
+    public boolean verifyBalance(String accountId) {
+        return accountLockManager.withLocks(List.of(accountId), () -> transactionTemplate.execute(status -> {
+            Account account = accountRepository.findById(accountId)
+                    .orElseThrow(() -> new AccountNotFoundException("Account with ID " + accountId + " not found"));
+            Money ledgerBalance = rebuildBalance(accountId);
+            Money balance = hotAccountBalances.availableBalance(account);
+            if (!ledgerBalance.equals(balance)) {
+                driftDetected.increment();
+                log.warn("Balance of account {} is {} but its postings sum to {}",
+                        accountId, balance, ledgerBalance);
+                return false;
+            }
+            return true;
+        }));
+    }
+
+    void checkpoint(String accountId, LocalDateTime cutoff) {
+        BalanceCheckpoint previous = checkpointRepository.findFirstByAccountIdOrderByAsOfDesc(accountId)
+                .orElse(null);
+        if (previous != null && !previous.getAsOf().isBefore(cutoff)) {
+            // Another node already checkpointed this account past the cutoff
+            return;
+        }
+        Money balance = previous != null
+                ? previous.getBalance().plus(sumPostings(accountId, previous.getAsOf(), cutoff))
+                : sumPostings(accountId, EARLIEST, cutoff);
+
+        checkpointRepository.save(BalanceCheckpoint.builder()
+                .accountId(accountId)
+                .balance(balance)
+                .asOf(cutoff)
+                .build());
+        checkpointsWritten.increment();
+    }
+
+    private Money sumPostings(String accountId, LocalDateTime from, LocalDateTime to) {
+        return Money.of(postingRepository.sumPostings(accountId, from, to));
+    }
+
+    private static LedgerPosting posting(TransactionLog transfer, String accountId, PostingType type) {
+        return LedgerPosting.builder()
+                .accountId(accountId)
+                .transactionId(transfer.getId())
+                .type(type)
+                .amount(transfer.getAmount())
+                .createdOn(transfer.getCreatedOn())
+                .build();
+    }
+}
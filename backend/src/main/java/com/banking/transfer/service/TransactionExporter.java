@@ -0,0 +1,167 @@
+package com.banking.transfer.service;
+
+import com.banking.transfer.archive.TransactionArchive;
+import com.banking.transfer.dto.TransactionResponse;
+import com.banking.transfer.entity.TransactionLog;
+import com.banking.transfer.replica.ReadFromReplica;
+import com.banking.transfer.repository.TransactionLogRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Writes an account's complete history, oldest first, as NDJSON or CSV.
+ * <p>
+ * Sent and received transfers are read through two database cursors, using the same indexes
+ * as the history endpoint, and merged by {@link MergingIterator}. Each row is written as soon
+ * as it is read. The persistence context is cleared after every fetch, so memory use stays the
+ * same however many rows the account has. Archived rows are merged in when the range reaches
+ * past the archive horizon.
+ */
+@Service
+@RequiredArgsConstructor
+public class TransactionExporter {
+
+    static final Comparator<TransactionLog> OLDEST_FIRST = AccountService.NEWEST_FIRST.reversed();
+    private static final int CLEAR_EVERY = Integer.parseInt(TransactionLogRepository.EXPORT_FETCH_SIZE);
+    private static final LocalDateTime EARLIEST = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final LocalDateTime LATEST = LocalDateTime.of(9999, 12, 31, 0, 0);
+    private static final String CSV_HEADER =
+            "id,type,fromAccountId,toAccountId,amount,status,failureReason,createdOn";
+
+    private final AccountService accountService;
+    private final TransactionLogRepository transactionLogRepository;
+    private final TransactionArchive transactionArchive;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Checks the account and range up front, while an error can still be sent as a normal
+     * error response.
+     */
+    @Transactional(readOnly = true)
+    @ReadFromReplica
+    public void validate(String accountId, LocalDateTime from, LocalDateTime to) {
+        accountService.getAccount(accountId);
+        if (!lowerBound(from).isBefore(upperBound(to))) {
+            throw new IllegalArgumentException("'from' must be before 'to'");
+        }
+    }
+
+    /**
+     * Writes the account's transfers created in [from, to) to {@code out} and returns how many
+     * were written. {@code out} is flushed but not closed.
+     */
+    @Transactional(readOnly = true)
+    @ReadFromReplica
+    public long export(String accountId, LocalDateTime from, LocalDateTime to, ExportFormat format,
+                       OutputStream out) throws IOException {
+        LocalDateTime lowerBound = lowerBound(from);
+        LocalDateTime upperBound = upperBound(to);
+        List<Stream<TransactionLog>> sources = new ArrayList<>(4);
+        try {
+            sources.add(transactionLogRepository.streamOutgoing(accountId, lowerBound, upperBound));
+            sources.add(transactionLogRepository.streamIncoming(accountId, lowerBound, upperBound));
+            if (transactionArchive.mayHaveArchived(lowerBound)) {
+                sources.add(transactionArchive.streamOutgoing(accountId, lowerBound, upperBound));
+                sources.add(transactionArchive.streamIncoming(accountId, lowerBound, upperBound));
+            }
+            Iterator<TransactionLog> rows = new MergingIterator<>(
+                    sources.stream().map(Stream::iterator).toList(), OLDEST_FIRST);
+            return format == ExportFormat.CSV
+                    ? writeCsv(rows, accountId, out)
+                    : writeNdjson(rows, accountId, out);
+        } finally {
+            sources.forEach(Stream::close);
+        }
+    }
+
+    private long writeNdjson(Iterator<TransactionLog> rows, String accountId, OutputStream out) throws IOException {
+        ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        long count = 0;
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            while (rows.hasNext()) {
+                writer.writeValue(generator, AccountService.toTransactionResponse(rows.next(), accountId));
+                generator.writeRaw('\n');
+                count = countRow(count);
+            }
+        }
+        return count;
+    }
+
+    private long writeCsv(Iterator<TransactionLog> rows, String accountId, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+        long count = 0;
+        while (rows.hasNext()) {
+            TransactionResponse row = AccountService.toTransactionResponse(rows.next(), accountId);
+            writer.write(row.getId());
+            writer.write(',');
+            writer.write(row.getType());
+            writer.write(',');
+            writer.write(row.getFromAccountId());
+            writer.write(',');
+            writer.write(row.getToAccountId());
+            writer.write(',');
+            writer.write(row.getAmount().toString());
+            writer.write(',');
+            writer.write(row.getStatus().name());
+            writer.write(',');
+            writer.write(csvField(row.getFailureReason()));
+            writer.write(',');
+            writer.write(row.getCreatedOn().toString());
+            writer.write('\n');
+            count = countRow(count);
+        }
+        writer.flush();
+        return count;
+    }
+
+    private long countRow(long count) {
+        count++;
+        if (count % CLEAR_EVERY == 0) {
+            // Rows already written are never needed again; the export only reads
+            entityManager.clear();
+        }
+        return count;
+    }
+
+    static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    private static LocalDateTime lowerBound(LocalDateTime from) {
+        return from != null ? from : EARLIEST;
+    }
+
+    private static LocalDateTime upperBound(LocalDateTime to) {
+        return to != null ? to : LATEST;
+    }
+}
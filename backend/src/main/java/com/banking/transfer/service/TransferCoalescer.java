@@ -0,0 +1,230 @@
+package com.banking.transfer.service;
+
+import com.banking.transfer.concurrency.BackgroundThreads;
+import com.banking.transfer.dto.TransferRequest;
+import com.banking.transfer.dto.TransferResponse;
+import com.banking.transfer.exception.TransferOverloadedException;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Coalesces concurrent single transfers into shared database transactions
+ * ({@code transfer.coalescer.enabled=true}).
+ * <p>
+ * Request threads queue their transfer and wait on a future. Each worker takes the oldest
+ * waiting transfer, keeps collecting until the window has passed or the batch is full, and
+ * applies the batch through {@link BatchTransferService}, so one commit covers all of them.
+ * Business failures only fail their own item, and a batch that cannot commit is replayed
+ * item by item, so one conflicting transfer never fails the others. Each caller gets its
+ * own response, or its own exception rethrown, exactly as from {@link TransferService}.
+ * <p>
+ * {@code transfer.coalescer.timeout} only bounds the wait for a worker. A caller whose
+ * transfer no worker has taken by then withdraws it and gets a
+ * {@link TransferOverloadedException}, so a retry with the same idempotency key is safe.
+ * Once a worker has taken the transfer it may commit, so the caller waits for that batch's
+ * outcome instead of reporting a failure that could turn out to be a success.
+ */
+@Service
+@ConditionalOnProperty(name = "transfer.coalescer.enabled", havingValue = "true")
+@Slf4j
+public class TransferCoalescer {
+
+    private final BatchTransferService batchTransferService;
+    private final BackgroundThreads backgroundThreads;
+    private final BlockingQueue<PendingTransfer> queue;
+    private final long windowNanos;
+    private final int maxBatch;
+    private final int workerCount;
+    private final long timeoutMillis;
+    private final DistributionSummary batchSizes;
+    private final List<Thread> workers = new ArrayList<>();
+    private volatile boolean running;
+
+    public TransferCoalescer(BatchTransferService batchTransferService,
+                             BackgroundThreads backgroundThreads,
+                             MeterRegistry meterRegistry,
+                             @Value("${transfer.coalescer.window:2ms}") Duration window,
+                             @Value("${transfer.coalescer.max-batch:50}") int maxBatch,
+                             @Value("${transfer.coalescer.workers:4}") int workerCount,
+                             @Value("${transfer.coalescer.capacity:10000}") int capacity,
+                             @Value("${transfer.coalescer.timeout:10s}") Duration timeout) {
+        this.batchTransferService = batchTransferService;
+        this.backgroundThreads = backgroundThreads;
+        this.queue = new LinkedBlockingQueue<>(capacity);
+        this.windowNanos = window.toNanos();
+        this.maxBatch = maxBatch;
+        this.workerCount = workerCount;
+        this.timeoutMillis = timeout.toMillis();
+        this.batchSizes = DistributionSummary.builder("transfer.coalescer.batch.size")
+                .description("Transfers applied per coalesced transaction")
+                .register(meterRegistry);
+        Gauge.builder("transfer.coalescer.queue.size", queue, BlockingQueue::size)
+                .description("Transfers waiting to be coalesced")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public synchronized void start() {
+        running = true;
+        for (int i = 0; i < workerCount; i++) {
+            workers.add(backgroundThreads.start("transfer-coalescer-" + i, this::workLoop));
+        }
+    }
+
+    @PreDestroy
+    public synchronized void stop() throws InterruptedException {
+        running = false;
+        for (Thread worker : workers) {
+            worker.join(TimeUnit.SECONDS.toMillis(10));
+        }
+        workers.clear();
+    }
+
+    public TransferResponse transfer(TransferRequest request) {
+        TransferRules.validate(request);
+
+        PendingTransfer pending = new PendingTransfer(request, new CompletableFuture<>(), new AtomicBoolean());
+        if (!running || !queue.offer(pending)) {
+            throw new TransferOverloadedException("Too many transfers in flight, please retry");
+        }
+
+        TransferOutcome outcome;
+        try {
+            outcome = pending.future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            if (pending.claim()) {
+                // No worker has taken it, and none will: nothing was applied
+                throw new TransferOverloadedException(
+                        "Transfer did not start in time, retry with the same idempotency key");
+            }
+            outcome = awaitTaken(pending);
+        } catch (ExecutionException e) {
+            throw unwrap(e);
+        } catch (InterruptedException e) {
+            if (pending.claim()) {
+                Thread.currentThread().interrupt();
+                throw new TransferOverloadedException("Interrupted while waiting for transfer");
+            }
+            outcome = awaitTaken(pending);
+            Thread.currentThread().interrupt();
+        }
+
+        if (!outcome.isSuccess()) {
+            throw outcome.getError();
+        }
+        return outcome.getResponse();
+    }
+
+    /**
+     * Waits for the batch that has taken {@code pending}; the batch itself is bounded by the
+     * lock and transaction timeouts.
+     */
+    private static TransferOutcome awaitTaken(PendingTransfer pending) {
+        boolean interrupted = false;
+        try {
+            while (true) {
+                try {
+                    return pending.future.get();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                } catch (ExecutionException e) {
+                    throw unwrap(e);
+                }
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static RuntimeException unwrap(ExecutionException e) {
+        return e.getCause() instanceof RuntimeException runtime ? runtime : new IllegalStateException(e.getCause());
+    }
+
+    void workLoop() {
+        while (running || !queue.isEmpty()) {
+            try {
+                List<PendingTransfer> batch = collect();
+                if (!batch.isEmpty()) {
+                    apply(batch);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private List<PendingTransfer> collect() throws InterruptedException {
+        List<PendingTransfer> batch = new ArrayList<>(maxBatch);
+        PendingTransfer first = queue.poll(100, TimeUnit.MILLISECONDS);
+        if (first == null) {
+            return batch;
+        }
+        addIfWaiting(batch, first);
+        long deadline = System.nanoTime() + windowNanos;
+        while (batch.size() < maxBatch) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                break;
+            }
+            PendingTransfer next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                break;
+            }
+            addIfWaiting(batch, next);
+        }
+        return batch;
+    }
+
+    private void apply(List<PendingTransfer> batch) {
+        batchSizes.record(batch.size());
+        try {
+            List<TransferOutcome> outcomes = batchTransferService.transferAll(
+                    batch.stream().map(PendingTransfer::request).toList());
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).future.complete(outcomes.get(i));
+            }
+        } catch (RuntimeException e) {
+            log.error("Coalesced batch of {} transfers failed: {}", batch.size(), e.getMessage());
+            batch.forEach(pending -> pending.future.completeExceptionally(e));
+        }
+    }
+
+    private static void addIfWaiting(List<PendingTransfer> batch, PendingTransfer pending) {
+        if (pending.claim()) {
+            batch.add(pending);
+        }
+    }
+
+    /**
+     * {@code claimed} is set once, by the worker that takes the transfer or by a caller that
+     * gives up on it first.
+     */
+    private record PendingTransfer(TransferRequest request, CompletableFuture<TransferOutcome> future,
+                                   AtomicBoolean claimed) {
+
+        boolean claim() {
+            return claimed.compareAndSet(false, true);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.banking.transfer.service;
+
+import com.banking.transfer.exception.AccountLockTimeoutException;
+import com.banking.transfer.exception.AccountNotActiveException;
+import com.banking.transfer.exception.AccountNotFoundException;
+import com.banking.transfer.exception.DuplicateTransferException;
+import com.banking.transfer.exception.InsufficientBalanceException;
+import com.banking.transfer.exception.TransferOverloadedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Counts finished transfers in {@code transfer.outcomes}, tagged by result and failure reason.
+ * <p>
+ * A transfer is counted once, where it is applied: by {@link TransferService} for single
+ * transfers and by {@link BatchTransferService} for each item of a committed chunk. Transfers
+ * accepted by the write-ahead journal are counted when the applier runs them.
+ */
+@Component
+public class TransferMetrics {
+
+    static final String INSUFFICIENT_BALANCE = "insufficient_balance";
+    static final String NOT_ACTIVE = "account_not_active";
+    static final String NOT_FOUND = "account_not_found";
+    static final String DUPLICATE = "duplicate";
+    static final String LOCK_CONFLICT = "lock_conflict";
+    static final String OVERLOADED = "overloaded";
+    static final String INVALID = "invalid_request";
+    static final String OTHER = "other";
+
+    private final Counter succeeded;
+    private final Map<String, Counter> failed = new HashMap<>();
+
+    public TransferMetrics(MeterRegistry meterRegistry) {
+        this.succeeded = counter(meterRegistry, "success", "none");
+        for (String reason : List.of(INSUFFICIENT_BALANCE, NOT_ACTIVE, NOT_FOUND, DUPLICATE,
+                LOCK_CONFLICT, OVERLOADED, INVALID, OTHER)) {
+            failed.put(reason, counter(meterRegistry, "failure", reason));
+        }
+    }
+
+    public void recordSuccess() {
+        succeeded.increment();
+    }
+
+    public void recordFailure(Throwable error) {
+        failed.get(reason(error)).increment();
+    }
+
+    public void record(Collection<TransferOutcome> outcomes) {
+        for (TransferOutcome outcome : outcomes) {
+            if (outcome.isSuccess()) {
+                recordSuccess();
+            } else {
+                recordFailure(outcome.getError());
+            }
+        }
+    }
+
+    static String reason(Throwable error) {
+        if (error instanceof InsufficientBalanceException) {
+            return INSUFFICIENT_BALANCE;
+        } else if (error instanceof AccountNotActiveException) {
+            return NOT_ACTIVE;
+        } else if (error instanceof AccountNotFoundException) {
+            return NOT_FOUND;
+        } else if (error instanceof DuplicateTransferException) {
+            return DUPLICATE;
+        } else if (error instanceof AccountLockTimeoutException || error instanceof ConcurrencyFailureException) {
+            return LOCK_CONFLICT;
+        } else if (error instanceof TransferOverloadedException) {
+            return OVERLOADED;
+        } else if (error instanceof IllegalArgumentException) {
+            return INVALID;
+        }
+        return OTHER;
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String result, String reason) {
+        return Counter.builder("transfer.outcomes")
+                .description("Applied transfers by result and failure reason")
+                .tag("result", result)
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,41 @@
+package com.banking.transfer.service;
+
+import com.banking.transfer.dto.TransferRequest;
+import com.banking.transfer.dto.TransferResponse;
+import lombok.Value;
+
+/**
+ * Result of one item of a multi-transfer unit of work: either the response the
+ * single-transfer path would have returned, or the exception it would have thrown.
+ */
+@Value
+public class TransferOutcome {
+
+    TransferRequest request;
+    TransferResponse response;
+    RuntimeException error;
+
+    public static TransferOutcome success(TransferRequest request, TransferResponse response) {
+        return new TransferOutcome(request, response, null);
+    }
+
+    public static TransferOutcome failure(TransferRequest request, RuntimeException error) {
+        return failure(request, null, error);
+    }
+
+    public static TransferOutcome failure(TransferRequest request, String transactionId, RuntimeException error) {
+        TransferResponse response = TransferResponse.builder()
+                .transactionId(transactionId)
+                .status("FAILED")
+                .message(error.getMessage())
+                .debitedFrom(request.getFromAccountId())
+                .creditedTo(request.getToAccountId())
+                .amount(request.getAmount())
+                .build();
+        return new TransferOutcome(request, response, error);
+    }
+
+    public boolean isSuccess() {
+        return error == null;
+    }
+}
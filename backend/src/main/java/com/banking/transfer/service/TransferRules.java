@@ -0,0 +1,60 @@
+package com.banking.transfer.service;
+
+import com.banking.transfer.dto.TransferRequest;
+import com.banking.transfer.entity.Account;
+import com.banking.transfer.exception.AccountNotActiveException;
+import com.banking.transfer.exception.InsufficientBalanceException;
+import com.banking.transfer.money.Money;
+
+/**
+ * The business rules of a transfer, free of persistence and locking, so every engine
+ * (servlet, batch, journal, reactive) rejects the same requests with the same errors.
+ */
+public final class TransferRules {
+
+    private TransferRules() {
+    }
+
+    public static void validate(TransferRequest request) {
+        if (request.getFromAccountId().equals(request.getToAccountId())) {
+            throw new IllegalArgumentException("Cannot transfer to the same account");
+        }
+
+        if (!request.getAmount().isPositive()) {
+            throw new IllegalArgumentException("Transfer amount must be positive");
+        }
+    }
+
+    public static void checkActive(Account fromAccount, Account toAccount) {
+        if (!fromAccount.isActive()) {
+            throw new AccountNotActiveException("Source account is not active");
+        }
+
+        if (!toAccount.isActive()) {
+            throw new AccountNotActiveException("Destination account is not active");
+        }
+    }
+
+    public static void checkFunds(Money availableBalance, Money amount) {
+        if (availableBalance.isLessThan(amount)) {
+            throw insufficientBalance();
+        }
+    }
+
+    /**
+     * Checks both accounts and moves {@code amount} between their in-memory balances
+     * (debit before credit), without allocating.
+     */
+    public static void apply(Account fromAccount, Account toAccount, Money amount) {
+        checkActive(fromAccount, toAccount);
+        if (!fromAccount.hasFunds(amount)) {
+            throw insufficientBalance();
+        }
+        fromAccount.debit(amount);
+        toAccount.credit(amount);
+    }
+
+    private static InsufficientBalanceException insufficientBalance() {
+        return new InsufficientBalanceException("Insufficient balance in source account");
+    }
+}
@@ -1,5 +1,9 @@
 package com.banking.transfer.service;
 
+import com.banking.transfer.audit.FailedTransferJournal;
+import com.banking.transfer.cache.AccountSnapshotCache;
+import com.banking.transfer.concurrency.AccountLockManager;
+import com.banking.transfer.concurrency.ConflictRetryExecutor;
 import com.banking.transfer.dto.TransferRequest;
 import com.banking.transfer.dto.TransferResponse;
 import com.banking.transfer.entity.Account;
@@ -9,12 +13,20 @@ import com.banking.transfer.exception.AccountNotActiveException;
 import com.banking.transfer.exception.AccountNotFoundException;
 import com.banking.transfer.exception.DuplicateTransferException;
 import com.banking.transfer.exception.InsufficientBalanceException;
+import com.banking.transfer.idempotency.IdempotencyGuard;
 import com.banking.transfer.repository.AccountRepository;
 import com.banking.transfer.repository.TransactionLogRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static net.logstash.logback.argument.StructuredArguments.kv;
 
 @Service
 @RequiredArgsConstructor
@@ -23,23 +35,64 @@ public class TransferService {
 
     private final AccountRepository accountRepository;
     private final TransactionLogRepository transactionLogRepository;
+    private final AccountLockManager accountLockManager;
+    private final TransactionTemplate transactionTemplate;
+    private final IdempotencyGuard idempotencyGuard;
+    private final AccountSnapshotCache accountSnapshotCache;
+    private final FailedTransferJournal failedTransferJournal;
+    private final LedgerService ledgerService;
+    private final HotAccountBalances hotAccountBalances;
+    private final ConflictRetryExecutor conflictRetryExecutor;
+    private final TransferMetrics transferMetrics;
 
-    @Transactional
     public TransferResponse transfer(TransferRequest request) {
-        log.info("Processing transfer from {} to {} for amount {}",
-                request.getFromAccountId(), request.getToAccountId(), request.getAmount());
+        try {
+            TransferResponse response = transferWithRetries(request);
+            transferMetrics.recordSuccess();
+            return response;
+        } catch (RuntimeException e) {
+            transferMetrics.recordFailure(e);
+            throw e;
+        }
+    }
+
+    private TransferResponse transferWithRetries(TransferRequest request) {
+        log.info("Processing transfer {} {} {}", kv("from", request.getFromAccountId()),
+                kv("to", request.getToAccountId()), kv("amount", request.getAmount()));
 
         // Validate request
-        validateTransferRequest(request);
+        TransferRules.validate(request);
 
+        try {
+            List<String> accountIds = List.of(request.getFromAccountId(), request.getToAccountId());
+            // Serialize on the accounts until the transaction has committed; credits to a hot
+            // account go to its balance slots and do not need its lock
+            List<String> lockedIds = hotAccountBalances.isHot(request.getToAccountId())
+                    ? List.of(request.getFromAccountId())
+                    : accountIds;
+            Supplier<TransferResponse> unitOfWork = () -> accountLockManager.withLocks(lockedIds,
+                    () -> transactionTemplate.execute(status -> executeTransfer(request)));
+            // Conflicts with writers on other nodes re-run the whole unit of work
+            return conflictRetryExecutor.execute(accountIds, unitOfWork);
+        } catch (DataIntegrityViolationException e) {
+            // Another node committed the same idempotency key after our check
+            if (transactionLogRepository.findByIdempotencyKey(request.getIdempotencyKey()).isPresent()) {
+                throw new DuplicateTransferException(
+                        "Duplicate transfer request with idempotency key: " + request.getIdempotencyKey());
+            }
+            throw e;
+        }
+    }
+
+    private TransferResponse executeTransfer(TransferRequest request) {
         // Check for duplicate idempotency key
-        if (transactionLogRepository.findByIdempotencyKey(request.getIdempotencyKey()).isPresent()) {
+        if (idempotencyGuard.isDuplicate(request.getIdempotencyKey())) {
             throw new DuplicateTransferException(
                     "Duplicate transfer request with idempotency key: " + request.getIdempotencyKey());
         }
 
         try {
-            // Get accounts with pessimistic locking
+            // Get accounts; concurrent writers on this node are already queued on the account locks
             Account fromAccount = accountRepository.findById(request.getFromAccountId())
                     .orElseThrow(() -> new AccountNotFoundException(
                             "Source account not found: " + request.getFromAccountId()));
@@ -48,23 +101,13 @@ public class TransferService {
                     .orElseThrow(() -> new AccountNotFoundException(
                             "Destination account not found: " + request.getToAccountId()));
 
-            // Validate account status
-            if (!fromAccount.isActive()) {
-                throw new AccountNotActiveException("Source account is not active");
-            }
-
-            if (!toAccount.isActive()) {
-                throw new AccountNotActiveException("Destination account is not active");
-            }
-
-            // Validate sufficient balance
-            if (fromAccount.getBalance().compareTo(request.getAmount()) < 0) {
-                throw new InsufficientBalanceException("Insufficient balance in source account");
-            }
+            // Validate account status and sufficient balance
+            TransferRules.checkActive(fromAccount, toAccount);
+            TransferRules.checkFunds(hotAccountBalances.availableBalance(fromAccount), request.getAmount());
 
             // Execute transfer (debit before credit)
-            fromAccount.debit(request.getAmount());
-            toAccount.credit(request.getAmount());
+            hotAccountBalances.debit(fromAccount, request.getAmount());
+            hotAccountBalances.credit(toAccount, request.getAmount());
 
             // Save accounts
             accountRepository.save(fromAccount);
@@ -72,6 +115,7 @@ public class TransferService {
 
             // Log successful transaction
             TransactionLog transactionLog = TransactionLog.builder()
+                    .id(request.getTransactionId())
                     .fromAccountId(request.getFromAccountId())
                     .toAccountId(request.getToAccountId())
                     .amount(request.getAmount())
@@ -80,8 +124,11 @@ public class TransferService {
                     .build();
 
             TransactionLog savedLog = transactionLogRepository.save(transactionLog);
+            ledgerService.recordTransfer(savedLog);
+            idempotencyGuard.record(savedLog.getIdempotencyKey());
+            accountSnapshotCache.publishAfterCommit(List.of(fromAccount, toAccount));
 
-            log.info("Transfer completed successfully. Transaction ID: {}", savedLog.getId());
+            log.info("Transfer completed {}", kv("transactionId", savedLog.getId()));
 
             return TransferResponse.builder()
                     .transactionId(savedLog.getId())
@@ -92,31 +139,26 @@ public class TransferService {
                     .amount(request.getAmount())
                     .build();
 
-        } catch (Exception e) {
-            // Log failed transaction
+        } catch (AccountNotFoundException | AccountNotActiveException | InsufficientBalanceException e) {
+            // Only business failures burn the key. Anything else, such as a conflict or a lost
+            // connection, propagates without a FAILED log, so a retry with the key can succeed.
+            // This transaction rolls back, so the journal writes the FAILED log separately
             TransactionLog failedLog = TransactionLog.builder()
+                    .id(request.getTransactionId())
                     .fromAccountId(request.getFromAccountId())
                     .toAccountId(request.getToAccountId())
                     .amount(request.getAmount())
                     .status(TransactionStatus.FAILED)
                     .failureReason(e.getMessage())
                     .idempotencyKey(request.getIdempotencyKey())
+                    .createdOn(LocalDateTime.now())
                     .build();
 
-            transactionLogRepository.save(failedLog);
+            failedTransferJournal.submit(failedLog);
 
-            log.error("Transfer failed: {}", e.getMessage());
+            log.error("Transfer failed {} {}", kv("idempotencyKey", request.getIdempotencyKey()),
+                    kv("reason", e.getMessage()));
             throw e;
         }
     }
-
-    private void validateTransferRequest(TransferRequest request) {
-        if (request.getFromAccountId().equals(request.getToAccountId())) {
-            throw new IllegalArgumentException("Cannot transfer to the same account");
-        }
-
-        if (request.getAmount().signum() <= 0) {
-            throw new IllegalArgumentException("Transfer amount must be positive");
-        }
-    }
 }
@@ -0,0 +1,147 @@
+package com.banking.transfer.archive;
+
+import com.banking.transfer.dto.CreateAccountRequest;
+import com.banking.transfer.dto.TransactionPage;
+import com.banking.transfer.dto.TransactionResponse;
+import com.banking.transfer.entity.TransactionLog;
+import com.banking.transfer.entity.TransactionStatus;
+import com.banking.transfer.idempotency.IdempotencyGuard;
+import com.banking.transfer.money.Money;
+import com.banking.transfer.repository.ArchivedTransactionLogRepository;
+import com.banking.transfer.repository.TransactionLogRepository;
+import com.banking.transfer.service.AccountService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:archive;DB_CLOSE_DELAY=-1",
+        "transaction-archive.after=30d",
+        "transaction-archive.batch-size=2",
+        "transaction-archive.interval=PT1H"
+})
+@ActiveProfiles("test")
+class TransactionArchiveTest {
+
+    private static final AtomicInteger USERS = new AtomicInteger();
+
+    @Autowired
+    private TransactionArchive transactionArchive;
+
+    @Autowired
+    private TransactionLogRepository transactionLogRepository;
+
+    @Autowired
+    private ArchivedTransactionLogRepository archiveRepository;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private IdempotencyGuard idempotencyGuard;
+
+    private String fromId;
+    private String toId;
+    private String prefix;
+
+    @BeforeEach
+    void setUp() {
+        int n = USERS.incrementAndGet();
+        prefix = "archive" + n + "-";
+        fromId = createAccount(prefix + "from");
+        toId = createAccount(prefix + "to");
+    }
+
+    private String createAccount(String username) {
+        return accountService.createAccount(CreateAccountRequest.builder()
+                .username(username)
+                .password("pw")
+                .holderName(username)
+                .build()).getId();
+    }
+
+    private void saveLog(String key, LocalDateTime createdOn) {
+        transactionLogRepository.save(TransactionLog.builder()
+                .fromAccountId(fromId)
+                .toAccountId(toId)
+                .amount(Money.of("1.00"))
+                .status(TransactionStatus.SUCCESS)
+                .idempotencyKey(prefix + key)
+                .createdOn(createdOn)
+                .build());
+    }
+
+    @Test
+    void archiveOldTransactions_MovesRowsPastTheAgeInBatches() {
+        // Arrange
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < 5; i++) {
+            saveLog("old" + i, now.minusDays(40 + i));
+        }
+        saveLog("new", now.minusDays(1));
+
+        // Act
+        transactionArchive.archiveOldTransactions();
+
+        // Assert
+        assertTrue(transactionLogRepository.findByIdempotencyKey(prefix + "new").isPresent());
+        for (int i = 0; i < 5; i++) {
+            assertTrue(transactionLogRepository.findByIdempotencyKey(prefix + "old" + i).isEmpty());
+        }
+        assertTrue(archiveRepository.findAll().stream()
+                .filter(row -> row.getIdempotencyKey().startsWith(prefix))
+                .allMatch(row -> row.getCreatedOn().isBefore(transactionArchive.horizon())));
+        assertEquals(5, archiveRepository.findAll().stream()
+                .filter(row -> row.getIdempotencyKey().startsWith(prefix)).count());
+    }
+
+    @Test
+    void getTransactions_OlderRange_IncludesArchivedRows() {
+        // Arrange
+        LocalDateTime now = LocalDateTime.now();
+        saveLog("old", now.minusDays(60));
+        saveLog("new", now.minusDays(1));
+        transactionArchive.archiveOldTransactions();
+
+        // Act
+        TransactionPage all = accountService.getTransactions(fromId, null, null, null, 10);
+        TransactionPage recent = accountService.getTransactions(fromId, now.minusDays(7), null, null, 10);
+        TransactionPage firstPage = accountService.getTransactions(fromId, null, null, null, 1);
+        TransactionPage secondPage = accountService.getTransactions(fromId, null, null, firstPage.getNextCursor(), 1);
+
+        // Assert
+        assertEquals(2, all.getItems().size());
+        assertEquals(1, recent.getItems().size());
+        assertEquals(createdOnDays(all.getItems().get(1)), createdOnDays(secondPage.getItems().get(0)));
+        assertNull(secondPage.getNextCursor());
+    }
+
+    @Test
+    void isDuplicate_RetainedKeyRejected_ArchivedKeyReusable() {
+        // Arrange
+        LocalDateTime now = LocalDateTime.now();
+        saveLog("old", now.minusDays(60));
+        saveLog("new", now.minusDays(29));
+        // The transfer path records keys as it writes them; the old key's cache entry has long expired
+        idempotencyGuard.record(prefix + "new");
+        transactionArchive.archiveOldTransactions();
+
+        // Act & Assert
+        assertTrue(idempotencyGuard.isDuplicate(prefix + "new"));
+        assertFalse(idempotencyGuard.isDuplicate(prefix + "old"));
+        assertEquals(List.of(prefix + "new"), List.copyOf(idempotencyGuard.findDuplicates(
+                List.of(prefix + "old", prefix + "new"))));
+    }
+
+    private static long createdOnDays(TransactionResponse item) {
+        return item.getCreatedOn().toLocalDate().toEpochDay();
+    }
+}
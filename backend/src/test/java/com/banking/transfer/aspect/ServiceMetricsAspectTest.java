@@ -0,0 +1,72 @@
+package com.banking.transfer.aspect;
+
+import com.banking.transfer.concurrency.BackgroundThreads;
+import com.banking.transfer.dto.TransferRequest;
+import com.banking.transfer.money.Money;
+import com.banking.transfer.service.BatchTransferService;
+import com.banking.transfer.service.TransferCoalescer;
+import com.banking.transfer.service.TransferMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class ServiceMetricsAspectTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private ServiceMetricsAspect aspect;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        aspect = new ServiceMetricsAspect(meterRegistry, false, 0.01);
+    }
+
+    @Test
+    void entryPointService_IsTimed() {
+        // Arrange
+        TransferCoalescer coalescer = proxy(new TransferCoalescer(mock(BatchTransferService.class),
+                new BackgroundThreads(false), new SimpleMeterRegistry(),
+                Duration.ofMillis(1), 50, 1, 1000, Duration.ofSeconds(1)));
+        TransferRequest sameAccount = TransferRequest.builder()
+                .fromAccountId("ACC-1")
+                .toAccountId("ACC-1")
+                .amount(Money.of("10.00"))
+                .idempotencyKey("k1")
+                .build();
+
+        // Act
+        assertThrows(IllegalArgumentException.class, () -> coalescer.transfer(sameAccount));
+
+        // Assert
+        assertEquals(1, meterRegistry.get("service.calls")
+                .tag("class", "TransferCoalescer")
+                .tag("method", "transfer")
+                .tag("exception", "IllegalArgumentException")
+                .timer().count());
+    }
+
+    @Test
+    void internalHelper_IsNotTimed() {
+        // Arrange
+        TransferMetrics transferMetrics = proxy(new TransferMetrics(new SimpleMeterRegistry()));
+
+        // Act
+        transferMetrics.recordSuccess();
+
+        // Assert
+        assertNull(meterRegistry.find("service.calls").timer());
+    }
+
+    private <T> T proxy(T target) {
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(aspect);
+        return factory.getProxy();
+    }
+}
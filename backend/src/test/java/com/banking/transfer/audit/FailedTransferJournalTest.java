@@ -0,0 +1,212 @@
+package com.banking.transfer.audit;
+
+import com.banking.transfer.concurrency.BackgroundThreads;
+import com.banking.transfer.entity.TransactionLog;
+import com.banking.transfer.entity.TransactionStatus;
+import com.banking.transfer.idempotency.IdempotencyGuard;
+import com.banking.transfer.money.Money;
+import com.banking.transfer.repository.TransactionLogRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionSystemException;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FailedTransferJournalTest {
+
+    @Mock
+    private TransactionLogRepository transactionLogRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private IdempotencyGuard idempotencyGuard;
+
+    @TempDir
+    Path directory;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        lenient().when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+    }
+
+    @Test
+    void submit_QueueHasRoom_ReturnsWithoutWriting() throws Exception {
+        // Arrange
+        FailedTransferJournal journal = journal(10);
+
+        // Act
+        journal.submit(failedLog("k1"));
+
+        // Assert
+        assertEquals(1, journal.queued());
+        verifyNoInteractions(transactionLogRepository);
+    }
+
+    @Test
+    void flush_WritesQueuedRecordsInBatches() throws Exception {
+        // Arrange
+        FailedTransferJournal journal = journal(10);
+        for (int i = 0; i < 5; i++) {
+            journal.submit(failedLog("k" + i));
+        }
+
+        // Act
+        journal.flush();
+
+        // Assert
+        verify(transactionLogRepository, times(3)).saveAll(anyList());
+        verify(idempotencyGuard, times(3)).record(anyList());
+        assertEquals(0, journal.queued());
+        assertEquals(5, meterRegistry.get("audit.journal.records").tag("result", "written").counter().count());
+    }
+
+    @Test
+    void submit_QueueFull_WritesOnCallerThread() throws Exception {
+        // Arrange
+        FailedTransferJournal journal = journal(1);
+        journal.submit(failedLog("k1"));
+
+        // Act
+        journal.submit(failedLog("k2"));
+
+        // Assert
+        verify(transactionLogRepository, times(1)).saveAll(argThat(logs ->
+                ((List<TransactionLog>) logs).get(0).getIdempotencyKey().equals("k2")));
+        assertEquals(1, journal.queued());
+        assertEquals(1, meterRegistry.get("audit.journal.records").tag("result", "written_by_caller").counter().count());
+    }
+
+    @Test
+    void flush_BatchRejected_IsolatesOffendingRecord() throws Exception {
+        // Arrange
+        FailedTransferJournal journal = journal(10);
+        journal.submit(failedLog("k1"));
+        journal.submit(failedLog("taken"));
+        when(transactionLogRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<TransactionLog> logs = invocation.getArgument(0);
+            if (logs.stream().anyMatch(log -> log.getIdempotencyKey().equals("taken"))) {
+                throw new DataIntegrityViolationException("unique idempotency_key");
+            }
+            return logs;
+        });
+
+        // Act
+        journal.flush();
+
+        // Assert
+        verify(transactionLogRepository, times(3)).saveAll(anyList());
+        assertEquals(1, meterRegistry.get("audit.journal.records").tag("result", "written").counter().count());
+        assertEquals(1, meterRegistry.get("audit.journal.records").tag("result", "lost").counter().count());
+    }
+
+    @Test
+    void submit_QueueFullAndNoConnection_CountsRecordLostWithoutThrowing() throws Exception {
+        // Arrange
+        FailedTransferJournal journal = journal(1);
+        journal.submit(failedLog("k1"));
+        when(transactionManager.getTransaction(any()))
+                .thenThrow(new CannotCreateTransactionException("Connection is not available"));
+
+        // Act
+        assertDoesNotThrow(() -> journal.submit(failedLog("k2")));
+
+        // Assert
+        verifyNoInteractions(transactionLogRepository);
+        assertEquals(1, meterRegistry.get("audit.journal.records").tag("result", "lost").counter().count());
+    }
+
+    @Test
+    void flush_CommitFails_CountsWholeBatchLost() throws Exception {
+        // Arrange
+        FailedTransferJournal journal = journal(10);
+        journal.submit(failedLog("k1"));
+        journal.submit(failedLog("k2"));
+        doThrow(new TransactionSystemException("Could not commit")).when(transactionManager).commit(any());
+
+        // Act
+        journal.flush();
+
+        // Assert
+        verify(transactionLogRepository, times(1)).saveAll(anyList());
+        assertEquals(0, meterRegistry.get("audit.journal.records").tag("result", "written").counter().count());
+        assertEquals(2, meterRegistry.get("audit.journal.records").tag("result", "lost").counter().count());
+    }
+
+    @Test
+    void replay_RecordsQueuedAtCrash_WrittenByNextRunExceptExistingKeys() throws Exception {
+        // Arrange: the first run queues two records and dies without flushing
+        FailedTransferJournal crashed = journal(10);
+        crashed.submit(failedLog("k1"));
+        crashed.submit(failedLog("already-written"));
+        when(transactionLogRepository.findExistingIdempotencyKeys(anyCollection()))
+                .thenReturn(List.of("already-written"));
+
+        // Act
+        FailedTransferJournal restarted = journal(10);
+        restarted.replay();
+
+        // Assert
+        verify(transactionLogRepository).saveAll(argThat(logs ->
+                ((List<TransactionLog>) logs).stream().map(TransactionLog::getIdempotencyKey).toList().equals(List.of("k1"))));
+        assertEquals(1, meterRegistry.get("audit.journal.records").tag("result", "written").counter().count());
+        assertEquals(0, Files.size(directory.resolve(FailureSpool.FILE_NAME)));
+    }
+
+    @Test
+    void flush_AllRecordsWritten_EmptiesSpool() throws Exception {
+        // Arrange
+        FailedTransferJournal journal = journal(10);
+        journal.submit(failedLog("k1"));
+        journal.submit(failedLog("k2"));
+        assertTrue(Files.size(directory.resolve(FailureSpool.FILE_NAME)) > 0);
+
+        // Act
+        journal.flush();
+
+        // Assert
+        assertEquals(0, Files.size(directory.resolve(FailureSpool.FILE_NAME)));
+    }
+
+    private FailedTransferJournal journal(int capacity) throws IOException {
+        return new FailedTransferJournal(transactionLogRepository, new TransactionTemplate(transactionManager),
+                idempotencyGuard, new BackgroundThreads(false), meterRegistry, capacity, 2, Duration.ofMillis(1),
+                directory.toString());
+    }
+
+    private static TransactionLog failedLog(String idempotencyKey) {
+        return TransactionLog.builder()
+                .fromAccountId("ACC-1")
+                .toAccountId("ACC-2")
+                .amount(Money.of("10.00"))
+                .status(TransactionStatus.FAILED)
+                .failureReason("Insufficient balance in source account")
+                .idempotencyKey(idempotencyKey)
+                .createdOn(LocalDateTime.now())
+                .build();
+    }
+}
@@ -0,0 +1,191 @@
+package com.banking.transfer.concurrency;
+
+import com.banking.transfer.exception.AccountLockTimeoutException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AccountLockManagerTest {
+
+    @Test
+    void stripeCount_RoundedUpToPowerOfTwo() {
+        assertEquals(16, new AccountLockManager(10, 100).stripeCount());
+        assertEquals(1024, new AccountLockManager(1024, 100).stripeCount());
+        assertEquals(1, new AccountLockManager(1, 100).stripeCount());
+    }
+
+    @Test
+    void withLocks_SameAccount_SerializesWriters() throws Exception {
+        AccountLockManager lockManager = new AccountLockManager(64, 5000);
+        AtomicInteger inside = new AtomicInteger();
+        AtomicInteger maxInside = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+
+        try {
+            List<Future<Object>> futures = pool.invokeAll(Collections.nCopies(200, () ->
+                    lockManager.withLocks("ACC-HOT", "ACC-" + Thread.currentThread().getId(), () -> {
+                        maxInside.accumulateAndGet(inside.incrementAndGet(), Math::max);
+                        Thread.yield();
+                        inside.decrementAndGet();
+                        return null;
+                    })));
+            for (Future<Object> future : futures) {
+                future.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertEquals(1, maxInside.get());
+    }
+
+    @Test
+    void withLocks_OppositeOrder_DoesNotDeadlock() throws Exception {
+        AccountLockManager lockManager = new AccountLockManager(1024, 5000);
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger completed = new AtomicInteger();
+
+        try {
+            Runnable forward = () -> repeat(start, () -> lockManager.withLocks("ACC-A", "ACC-B", completed::incrementAndGet));
+            Runnable backward = () -> repeat(start, () -> lockManager.withLocks("ACC-B", "ACC-A", completed::incrementAndGet));
+            Future<?> first = pool.submit(forward);
+            Future<?> second = pool.submit(backward);
+            start.countDown();
+            first.get(10, TimeUnit.SECONDS);
+            second.get(10, TimeUnit.SECONDS);
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertEquals(20_000, completed.get());
+    }
+
+    @Test
+    void withLocks_DisjointAccounts_RunInParallel() throws Exception {
+        AccountLockManager lockManager = new AccountLockManager(1024, 5000);
+        String first = "ACC-1";
+        String second = findIdOnOtherStripe(lockManager, first);
+        CountDownLatch bothInside = new CountDownLatch(2);
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+
+        try {
+            Future<Boolean> a = pool.submit(() -> lockManager.withLocks(List.of(first), () -> {
+                bothInside.countDown();
+                return awaitQuietly(bothInside);
+            }));
+            Future<Boolean> b = pool.submit(() -> lockManager.withLocks(List.of(second), () -> {
+                bothInside.countDown();
+                return awaitQuietly(bothInside);
+            }));
+
+            assertTrue(a.get(5, TimeUnit.SECONDS));
+            assertTrue(b.get(5, TimeUnit.SECONDS));
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void withLocks_HeldTooLong_ThrowsTimeout() throws Exception {
+        AccountLockManager lockManager = new AccountLockManager(16, 50);
+        CountDownLatch held = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+
+        try {
+            pool.submit(() -> lockManager.withLocks(List.of("ACC-1"), () -> {
+                held.countDown();
+                return awaitQuietly(release);
+            }));
+            held.await();
+
+            assertThrows(AccountLockTimeoutException.class,
+                    () -> lockManager.withLocks(List.of("ACC-1"), () -> null));
+        } finally {
+            release.countDown();
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void withLocks_Disabled_DoesNotWaitForHolder() throws Exception {
+        AccountLockManager lockManager = new AccountLockManager(16, 50, false);
+        CountDownLatch held = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+
+        try {
+            pool.submit(() -> lockManager.withLocks(List.of("ACC-1"), () -> {
+                held.countDown();
+                return awaitQuietly(release);
+            }));
+            held.await();
+
+            assertEquals("ok", lockManager.withLocks(List.of("ACC-1"), () -> "ok"));
+        } finally {
+            release.countDown();
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void gauges_ReportHeldStripes() {
+        AccountLockManager lockManager = new AccountLockManager(16, 50);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        lockManager.bindTo(meterRegistry);
+
+        double held = lockManager.withLocks("ACC-1", "ACC-2",
+                () -> meterRegistry.get("transfer.locks.held").gauge().value());
+
+        assertTrue(held >= 1);
+        assertEquals(0, meterRegistry.get("transfer.locks.held").gauge().value());
+        assertEquals(0, meterRegistry.get("transfer.locks.waiting").gauge().value());
+    }
+
+    @Test
+    void withLocks_ReleasesLocksWhenActionThrows() {
+        AccountLockManager lockManager = new AccountLockManager(16, 50);
+
+        assertThrows(IllegalStateException.class, () -> lockManager.withLocks("ACC-1", "ACC-2", () -> {
+            throw new IllegalStateException("boom");
+        }));
+
+        assertEquals("ok", lockManager.withLocks("ACC-1", "ACC-2", () -> "ok"));
+    }
+
+    private static void repeat(CountDownLatch start, Runnable action) {
+        awaitQuietly(start);
+        for (int i = 0; i < 10_000; i++) {
+            action.run();
+        }
+    }
+
+    private static boolean awaitQuietly(CountDownLatch latch) {
+        try {
+            return latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static String findIdOnOtherStripe(AccountLockManager lockManager, String accountId) {
+        for (int i = 2; ; i++) {
+            String candidate = "ACC-" + i;
+            if (lockManager.stripeFor(candidate) != lockManager.stripeFor(accountId)) {
+                return candidate;
+            }
+        }
+    }
+}
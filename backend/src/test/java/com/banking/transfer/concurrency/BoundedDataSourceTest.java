@@ -0,0 +1,111 @@
+package com.banking.transfer.concurrency;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.FutureTask;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class BoundedDataSourceTest {
+
+    private DataSource target;
+    private BoundedDataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        target = mock(DataSource.class);
+        when(target.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+        dataSource = new BoundedDataSource(target, 2, 50);
+    }
+
+    @Test
+    void getConnection_BeyondLimit_TimesOut() throws Exception {
+        // Arrange
+        openOnOtherThread();
+        openOnOtherThread();
+
+        // Act & Assert
+        assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+        assertEquals(2, dataSource.inUse());
+        assertEquals(1, dataSource.rejected());
+        verify(target, times(2)).getConnection();
+    }
+
+    @Test
+    void close_ReleasesPermitOnce() throws Exception {
+        // Arrange
+        Connection first = dataSource.getConnection();
+        openOnOtherThread();
+
+        // Act
+        first.close();
+        first.close();
+
+        // Assert
+        assertEquals(1, dataSource.inUse());
+        openOnOtherThread();
+        assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+    }
+
+    @Test
+    void getConnection_NestedOnHoldingThread_DoesNotWaitForPermit() throws Exception {
+        // Arrange
+        Connection outer = dataSource.getConnection();
+        openOnOtherThread();
+
+        // Act
+        // e.g. a REQUIRES_NEW write while the transfer's connection is open
+        Connection nested = dataSource.getConnection();
+
+        // Assert
+        assertNotNull(nested);
+        assertEquals(2, dataSource.inUse());
+        nested.close();
+        outer.close();
+        assertEquals(1, dataSource.inUse());
+        assertEquals(0, dataSource.rejected());
+    }
+
+    @Test
+    void getConnection_TargetFails_ReleasesPermit() throws SQLException {
+        // Arrange
+        when(target.getConnection()).thenThrow(new SQLException("database down"));
+
+        // Act & Assert
+        assertThrows(SQLException.class, dataSource::getConnection);
+        assertEquals(0, dataSource.inUse());
+    }
+
+    @Test
+    void connection_DelegatesOtherCalls() throws SQLException {
+        // Arrange
+        Connection delegate = mock(Connection.class);
+        when(target.getConnection()).thenReturn(delegate);
+        Connection connection = dataSource.getConnection();
+
+        // Act
+        connection.setAutoCommit(false);
+        connection.close();
+
+        // Assert
+        verify(delegate).setAutoCommit(false);
+        verify(delegate).close();
+        assertEquals(0, dataSource.inUse());
+    }
+
+    /**
+     * Opens a connection from a fresh thread, so it holds its own permit.
+     */
+    private Connection openOnOtherThread() throws Exception {
+        FutureTask<Connection> open = new FutureTask<>(dataSource::getConnection);
+        Thread thread = new Thread(open);
+        thread.start();
+        return open.get();
+    }
+}
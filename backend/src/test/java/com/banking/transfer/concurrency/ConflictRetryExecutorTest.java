@@ -0,0 +1,179 @@
+package com.banking.transfer.concurrency;
+
+import com.banking.transfer.exception.TransferOverloadedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConflictRetryExecutorTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private AtomicLong clock;
+    private List<Long> sleeps;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        clock = new AtomicLong();
+        sleeps = new ArrayList<>();
+    }
+
+    private ConflictRetryExecutor executor(int maxAttempts, int budgetBurst, int stormThreshold) {
+        return new ConflictRetryExecutor(meterRegistry, maxAttempts, Duration.ofMillis(5), Duration.ofMillis(40),
+                budgetBurst, 1, stormThreshold, Duration.ofSeconds(1), 10, clock::get, nanos -> {
+                    sleeps.add(nanos);
+                    clock.addAndGet(nanos);
+                });
+    }
+
+    private static Supplier<String> failingTimes(int failures, AtomicInteger calls) {
+        return () -> {
+            if (calls.incrementAndGet() <= failures) {
+                throw new OptimisticLockingFailureException("version changed");
+            }
+            return "done";
+        };
+    }
+
+    @Test
+    void execute_TransientConflict_Recovers() {
+        // Arrange
+        ConflictRetryExecutor executor = executor(4, 10, 100);
+        AtomicInteger calls = new AtomicInteger();
+
+        // Act
+        String result = executor.execute(List.of("ACC-1", "ACC-2"), failingTimes(2, calls));
+
+        // Assert
+        assertEquals("done", result);
+        assertEquals(3, calls.get());
+        assertEquals(2, sleeps.size());
+        assertEquals(2, meterRegistry.get("transfer.retries").counter().count());
+        assertEquals(1, meterRegistry.get("transfer.retry.outcomes").tag("result", "recovered").counter().count());
+        assertEquals(2, meterRegistry.get("transfer.conflicts").tag("account", "ACC-1").counter().count());
+        assertEquals(1, meterRegistry.get("transfer.retry.time").timer().count());
+    }
+
+    @Test
+    void execute_NoConflict_RecordsNothing() {
+        // Arrange
+        ConflictRetryExecutor executor = executor(4, 10, 100);
+
+        // Act
+        executor.execute(List.of("ACC-1"), () -> "done");
+
+        // Assert
+        assertTrue(sleeps.isEmpty());
+        assertEquals(0, meterRegistry.get("transfer.retry.time").timer().count());
+        assertTrue(meterRegistry.find("transfer.conflicts").counters().isEmpty());
+    }
+
+    @Test
+    void execute_PersistentConflict_RethrowsAfterMaxAttempts() {
+        // Arrange
+        ConflictRetryExecutor executor = executor(3, 10, 100);
+        AtomicInteger calls = new AtomicInteger();
+
+        // Act & Assert
+        assertThrows(OptimisticLockingFailureException.class,
+                () -> executor.execute(List.of("ACC-1"), failingTimes(10, calls)));
+        assertEquals(3, calls.get());
+        assertEquals(1, meterRegistry.get("transfer.retry.outcomes").tag("result", "attempts_exhausted").counter().count());
+    }
+
+    @Test
+    void execute_BudgetSpent_StopsRetryingThatAccount() {
+        // Arrange
+        ConflictRetryExecutor executor = executor(10, 2, 100);
+        AtomicInteger calls = new AtomicInteger();
+
+        // Act & Assert
+        assertThrows(OptimisticLockingFailureException.class,
+                () -> executor.execute(List.of("ACC-HOT"), failingTimes(10, calls)));
+        assertEquals(3, calls.get());
+        assertEquals(1, meterRegistry.get("transfer.retry.outcomes").tag("result", "budget_exhausted").counter().count());
+
+        // A quiet account still has its own budget
+        assertEquals("done", executor.execute(List.of("ACC-QUIET"), failingTimes(1, new AtomicInteger())));
+    }
+
+    @Test
+    void execute_BudgetRefillsOverTime() {
+        // Arrange
+        ConflictRetryExecutor executor = executor(10, 1, 100);
+        assertThrows(OptimisticLockingFailureException.class,
+                () -> executor.execute(List.of("ACC-HOT"), failingTimes(10, new AtomicInteger())));
+
+        // Act
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(2));
+        String result = executor.execute(List.of("ACC-HOT"), failingTimes(1, new AtomicInteger()));
+
+        // Assert
+        assertEquals("done", result);
+    }
+
+    @Test
+    void execute_ConflictStorm_FailsFast() {
+        // Arrange
+        ConflictRetryExecutor executor = executor(10, 100, 3);
+        AtomicInteger calls = new AtomicInteger();
+
+        // Act & Assert
+        assertThrows(TransferOverloadedException.class,
+                () -> executor.execute(List.of("ACC-1"), failingTimes(10, calls)));
+        assertEquals(4, calls.get());
+        assertEquals(1, meterRegistry.get("transfer.retry.outcomes").tag("result", "storm").counter().count());
+    }
+
+    @Test
+    void execute_ConflictStormOnOneAccount_OtherAccountsKeepRetrying() {
+        // Arrange
+        ConflictRetryExecutor executor = executor(10, 100, 3);
+        assertThrows(TransferOverloadedException.class,
+                () -> executor.execute(List.of("ACC-HOT"), failingTimes(10, new AtomicInteger())));
+
+        // Act
+        String result = executor.execute(List.of("ACC-1", "ACC-2"), failingTimes(2, new AtomicInteger()));
+
+        // Assert
+        assertEquals("done", result);
+        assertEquals(1, meterRegistry.get("transfer.retry.outcomes").tag("result", "storm").counter().count());
+    }
+
+    @Test
+    void execute_LaterAccountOutOfBudget_DoesNotSpendEarlierAccounts() {
+        // Arrange: ACC-HOT spends its only token, ACC-1 still has one
+        ConflictRetryExecutor executor = executor(10, 1, 100);
+        assertThrows(OptimisticLockingFailureException.class,
+                () -> executor.execute(List.of("ACC-HOT"), failingTimes(10, new AtomicInteger())));
+
+        // Act
+        assertThrows(OptimisticLockingFailureException.class,
+                () -> executor.execute(List.of("ACC-1", "ACC-HOT"), failingTimes(10, new AtomicInteger())));
+
+        // Assert: the refused retry left ACC-1's token in place
+        assertEquals("done", executor.execute(List.of("ACC-1"), failingTimes(1, new AtomicInteger())));
+    }
+
+    @Test
+    void backoff_GrowsExponentiallyUpToCap() {
+        ConflictRetryExecutor executor = executor(10, 10, 100);
+
+        for (int i = 0; i < 100; i++) {
+            assertTrue(executor.backoff(1) <= TimeUnit.MILLISECONDS.toNanos(5));
+            assertTrue(executor.backoff(3) <= TimeUnit.MILLISECONDS.toNanos(20));
+            assertTrue(executor.backoff(30) <= TimeUnit.MILLISECONDS.toNanos(40));
+        }
+    }
+}
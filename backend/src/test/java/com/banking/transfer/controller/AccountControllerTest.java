@@ -4,6 +4,7 @@ import com.banking.transfer.dto.AccountResponse;
 import com.banking.transfer.dto.CreateAccountRequest;
 import com.banking.transfer.dto.LoginRequest;
 import com.banking.transfer.entity.AccountStatus;
+import com.banking.transfer.money.Money;
 import com.banking.transfer.service.AccountService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
@@ -14,8 +15,6 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
-import java.math.BigDecimal;
-
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
@@ -42,14 +41,14 @@ class AccountControllerTest {
                 .username("testuser")
                 .password("password123")
                 .holderName("Test User")
-                .initialBalance(new BigDecimal("1000.00"))
+                .initialBalance(Money.of("1000.00"))
                 .build();
 
         AccountResponse response = AccountResponse.builder()
                 .id("ACC-1")
                 .username("testuser")
                 .holderName("Test User")
-                .balance(new BigDecimal("1000.00"))
+                .balance(Money.of("1000.00"))
                 .status(AccountStatus.ACTIVE)
                 .build();
 
@@ -79,7 +78,7 @@ class AccountControllerTest {
                 .id("ACC-1")
                 .username("testuser")
                 .holderName("Test User")
-                .balance(new BigDecimal("1000.00"))
+                .balance(Money.of("1000.00"))
                 .status(AccountStatus.ACTIVE)
                 .build();
 
@@ -101,7 +100,7 @@ class AccountControllerTest {
                 .id("ACC-1")
                 .username("testuser")
                 .holderName("Test User")
-                .balance(new BigDecimal("1000.00"))
+                .balance(Money.of("1000.00"))
                 .status(AccountStatus.ACTIVE)
                 .build();
 
@@ -122,7 +121,7 @@ class AccountControllerTest {
         CreateAccountRequest request = CreateAccountRequest.builder()
                 .password("password123")
                 .holderName("Test User")
-                .initialBalance(new BigDecimal("1000.00"))
+                .initialBalance(Money.of("1000.00"))
                 .build();
 
         // Act & Assert
@@ -139,7 +138,7 @@ class AccountControllerTest {
                 .username("testuser")
                 .password("password123")
                 .holderName("Test User")
-                .initialBalance(new BigDecimal("-100.00"))
+                .initialBalance(Money.of("-100.00"))
                 .build();
 
         // Act & Assert
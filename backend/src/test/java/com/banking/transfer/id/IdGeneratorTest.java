@@ -0,0 +1,122 @@
+package com.banking.transfer.id;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdGeneratorTest {
+
+    @Test
+    void nextId_ManyThreads_AllUniqueAndIncreasingPerThread() throws Exception {
+        // Arrange
+        IdGenerator generator = new IdGenerator(7);
+        int threads = 16;
+        int idsPerThread = 50_000;
+        Set<Long> seen = ConcurrentHashMap.newKeySet(threads * idsPerThread);
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+
+        // Act
+        List<Future<Boolean>> results = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            results.add(pool.submit(() -> {
+                start.await();
+                long previous = Long.MIN_VALUE;
+                boolean increasing = true;
+                for (int i = 0; i < idsPerThread; i++) {
+                    long id = generator.nextId();
+                    increasing &= id > previous;
+                    previous = id;
+                    seen.add(id);
+                }
+                return increasing;
+            }));
+        }
+        start.countDown();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(60, TimeUnit.SECONDS));
+
+        // Assert
+        for (Future<Boolean> result : results) {
+            assertTrue(result.get());
+        }
+        assertEquals(threads * idsPerThread, seen.size());
+    }
+
+    @Test
+    void nextId_SequenceExhaustedWithinMillisecond_StaysMonotonic() {
+        // Arrange
+        IdGenerator generator = new IdGenerator(1, () -> IdGenerator.EPOCH_MILLIS + 1000);
+
+        // Act
+        long previous = generator.nextId();
+        for (int i = 0; i < 10_000; i++) {
+            long id = generator.nextId();
+
+            // Assert
+            assertTrue(id > previous);
+            previous = id;
+        }
+        assertTrue(IdGenerator.timestampOf(previous) > IdGenerator.EPOCH_MILLIS + 1000);
+    }
+
+    @Test
+    void nextId_ClockStepsBack_StaysMonotonic() {
+        // Arrange
+        AtomicLong now = new AtomicLong(IdGenerator.EPOCH_MILLIS + 5000);
+        IdGenerator generator = new IdGenerator(1, now::get);
+        long before = generator.nextId();
+
+        // Act
+        now.addAndGet(-2000);
+        long after = generator.nextId();
+
+        // Assert
+        assertTrue(after > before);
+    }
+
+    @Test
+    void encode_PreservesNumericOrderAndWidth() {
+        // Arrange
+        IdGenerator generator = new IdGenerator(3);
+        long first = generator.nextId();
+        long second = generator.nextId();
+
+        // Act
+        String a = IdGenerator.encode(first);
+        String b = IdGenerator.encode(second);
+
+        // Assert
+        assertEquals(IdGenerator.ENCODED_LENGTH, a.length());
+        assertEquals(IdGenerator.ENCODED_LENGTH, IdGenerator.encode(0).length());
+        assertTrue(a.compareTo(b) < 0);
+        assertTrue(IdGenerator.encode(Long.MAX_VALUE).compareTo(IdGenerator.encode(Long.MAX_VALUE - 1)) > 0);
+    }
+
+    @Test
+    void constructor_NodeIdOutOfRange_Throws() {
+        assertThrows(IllegalArgumentException.class, () -> new IdGenerator(IdGenerator.MAX_NODE_ID + 1));
+        assertThrows(IllegalArgumentException.class, () -> new IdGenerator(-1));
+    }
+
+    @Test
+    void newAccountId_HasPrefixAndFixedWidth() {
+        // Act
+        String id = Ids.newAccountId();
+
+        // Assert
+        assertTrue(id.startsWith(Ids.ACCOUNT_PREFIX));
+        assertEquals(Ids.ACCOUNT_PREFIX.length() + IdGenerator.ENCODED_LENGTH, id.length());
+    }
+}
@@ -0,0 +1,130 @@
+package com.banking.transfer.idempotency;
+
+import com.banking.transfer.concurrency.BackgroundThreads;
+import com.banking.transfer.entity.TransactionLog;
+import com.banking.transfer.repository.TransactionLogRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyGuardTest {
+
+    @Mock
+    private TransactionLogRepository transactionLogRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+    private IdempotencyGuard idempotencyGuard;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        idempotencyGuard = new IdempotencyGuard(transactionLogRepository, new TransactionTemplate(transactionManager),
+                new BackgroundThreads(false), meterRegistry, 10_000, 0.01, 1000, Duration.ofHours(1));
+    }
+
+    @Test
+    void isDuplicate_BeforeWarmUp_GoesToDatabase() {
+        // Arrange
+        when(transactionLogRepository.findByIdempotencyKey("k1")).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertFalse(idempotencyGuard.isDuplicate("k1"));
+        verify(transactionLogRepository, times(1)).findByIdempotencyKey("k1");
+    }
+
+    @Test
+    void isDuplicate_AfterWarmUp_NewKeyAnsweredInMemory() {
+        // Arrange
+        warmUpWith("old-1", "old-2");
+
+        // Act & Assert
+        assertFalse(idempotencyGuard.isDuplicate("brand-new"));
+        verify(transactionLogRepository, never()).findByIdempotencyKey(anyString());
+        assertEquals(1.0, meterRegistry.get("idempotency.filter.hit.rate").gauge().value());
+    }
+
+    @Test
+    void isDuplicate_WarmedKey_ConfirmedByDatabaseThenCached() {
+        // Arrange
+        warmUpWith("old-1");
+        when(transactionLogRepository.findByIdempotencyKey("old-1")).thenReturn(Optional.of(new TransactionLog()));
+
+        // Act & Assert
+        assertTrue(idempotencyGuard.isDuplicate("old-1"));
+        assertTrue(idempotencyGuard.isDuplicate("old-1"));
+        verify(transactionLogRepository, times(1)).findByIdempotencyKey("old-1");
+    }
+
+    @Test
+    void record_KeyIsDuplicateWithoutDatabase() {
+        // Arrange
+        warmUpWith();
+
+        // Act
+        idempotencyGuard.record("k1");
+
+        // Assert
+        assertTrue(idempotencyGuard.isDuplicate("k1"));
+        verify(transactionLogRepository, never()).findByIdempotencyKey(anyString());
+    }
+
+    @Test
+    void findDuplicates_OnlyUncertainKeysQueried() {
+        // Arrange
+        warmUpWith("old-1", "old-2");
+        idempotencyGuard.record("recent");
+        when(transactionLogRepository.findExistingIdempotencyKeys(anyCollection())).thenReturn(List.of("old-1"));
+
+        // Act
+        Set<String> duplicates = idempotencyGuard.findDuplicates(List.of("old-1", "recent", "new-1", "new-2"));
+
+        // Assert
+        assertEquals(Set.of("old-1", "recent"), duplicates);
+        verify(transactionLogRepository).findExistingIdempotencyKeys(argThat(keys -> keys.contains("old-1")
+                && !keys.contains("recent") && !keys.contains("new-1") && !keys.contains("new-2")));
+    }
+
+    @Test
+    void bloomFilter_FalsePositiveRateNearConfigured() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("key-" + i);
+        }
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(filter.mightContain("key-" + i));
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain("other-" + i)) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 2_000, "false positives: " + falsePositives);
+    }
+
+    private void warmUpWith(String... keys) {
+        when(transactionLogRepository.streamAllIdempotencyKeys()).thenReturn(Stream.of(keys));
+        idempotencyGuard.loadExistingKeys();
+        assertTrue(idempotencyGuard.isWarmedUp());
+    }
+}
@@ -0,0 +1,184 @@
+package com.banking.transfer.journal;
+
+import com.banking.transfer.dto.TransferRequest;
+import com.banking.transfer.money.Money;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WriteAheadJournalTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void append_ConcurrentCallers_AllDurableAndAppliedInOrder() throws Exception {
+        // Arrange
+        List<Long> applied = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch done = new CountDownLatch(200);
+        WriteAheadJournal journal = new WriteAheadJournal(directory, 1 << 20, 64, 1000, 50, records -> {
+            records.forEach(record -> {
+                applied.add(record.getSequence());
+                done.countDown();
+            });
+        });
+        journal.open();
+
+        // Act
+        List<CompletableFuture<JournalRecord>> futures = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            futures.add(journal.append(request("k" + i)));
+        }
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).get(10, TimeUnit.SECONDS);
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        journal.close();
+
+        // Assert
+        List<Long> sorted = new ArrayList<>(applied);
+        Collections.sort(sorted);
+        assertEquals(sorted, applied);
+        assertEquals(200, applied.stream().distinct().count());
+        assertEquals(0, journal.lag());
+    }
+
+    @Test
+    void open_UnappliedRecords_ReplayedAfterRestart() throws Exception {
+        // Arrange: an applier that never succeeds leaves everything unapplied
+        WriteAheadJournal first = new WriteAheadJournal(directory, 1 << 20, 64, 1000, 50, records -> {
+            throw new IllegalStateException("database down");
+        });
+        first.open();
+        for (int i = 0; i < 5; i++) {
+            first.append(request("k" + i)).get(5, TimeUnit.SECONDS);
+        }
+        first.close();
+
+        // Act
+        List<String> replayed = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch done = new CountDownLatch(5);
+        WriteAheadJournal second = new WriteAheadJournal(directory, 1 << 20, 64, 1000, 50, records ->
+                records.forEach(record -> {
+                    replayed.add(record.getIdempotencyKey());
+                    done.countDown();
+                }));
+        second.open();
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        JournalRecord next = second.append(request("k5")).get(5, TimeUnit.SECONDS);
+        second.close();
+
+        // Assert
+        assertEquals(List.of("k0", "k1", "k2", "k3", "k4"), replayed.subList(0, 5));
+        assertEquals(6, next.getSequence());
+    }
+
+    @Test
+    void append_SegmentFull_RollsOverAndDeletesAppliedSegments() throws Exception {
+        // Arrange
+        CountDownLatch done = new CountDownLatch(100);
+        WriteAheadJournal journal = new WriteAheadJournal(directory, 1024, 8, 1000, 10,
+                records -> records.forEach(record -> done.countDown()));
+        journal.open();
+
+        // Act
+        for (int i = 0; i < 100; i++) {
+            journal.append(request("key-" + i)).get(5, TimeUnit.SECONDS);
+        }
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        Thread.sleep(200);
+        journal.close();
+
+        // Assert: only the active segment is left
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(1, files.filter(JournalSegment::isSegmentFile).count());
+        }
+    }
+
+    @Test
+    void append_WriteFailsMidGroup_GroupIsNotReplayedAndSequenceIsReused() throws Exception {
+        // Arrange: hold the writer back so both appends land in one group
+        CountDownLatch started = new CountDownLatch(1);
+        WriteAheadJournal first = new WriteAheadJournal(directory, 1024, 8, 1000, 10, records -> {
+            throw new IllegalStateException("database down");
+        }, loop -> new Thread(() -> {
+            try {
+                started.await();
+            } catch (InterruptedException e) {
+                return;
+            }
+            loop.run();
+        }));
+        first.open();
+        CompletableFuture<JournalRecord> written = first.append(request("k1"));
+        // Too large for any segment, so the write fails after k1 is already in the segment
+        CompletableFuture<JournalRecord> tooLarge = first.append(request("k".repeat(2000)));
+
+        // Act
+        started.countDown();
+
+        // Assert
+        assertThrows(Exception.class, () -> written.get(5, TimeUnit.SECONDS));
+        assertThrows(Exception.class, () -> tooLarge.get(5, TimeUnit.SECONDS));
+        JournalRecord next = first.append(request("k2")).get(5, TimeUnit.SECONDS);
+        first.close();
+        assertEquals(1, next.getSequence());
+
+        List<String> replayed = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch done = new CountDownLatch(1);
+        WriteAheadJournal second = new WriteAheadJournal(directory, 1024, 8, 1000, 10, records ->
+                records.forEach(record -> {
+                    replayed.add(record.getIdempotencyKey());
+                    done.countDown();
+                }));
+        second.open();
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        Thread.sleep(200);
+        second.close();
+        assertEquals(List.of("k2"), replayed);
+    }
+
+    @Test
+    void read_TornTail_StopsAtLastCompleteRecord() throws IOException {
+        // Arrange
+        try (JournalSegment segment = JournalSegment.create(directory, 1, 4096)) {
+            segment.tryAppend(JournalRecord.of(1, request("k1")));
+            segment.tryAppend(JournalRecord.of(2, request("k2")));
+            segment.force();
+        }
+        Path file = directory.resolve(JournalSegment.fileName(1));
+        int secondPayloadStart = JournalSegment.FRAME_HEADER * 2 + JournalRecord.of(1, request("k1")).encode().length;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{42}), secondPayloadStart + 3);
+        }
+
+        // Act
+        List<JournalRecord> records = JournalSegment.read(file);
+
+        // Assert
+        assertEquals(1, records.size());
+        assertEquals("k1", records.get(0).getIdempotencyKey());
+    }
+
+    private static TransferRequest request(String idempotencyKey) {
+        return TransferRequest.builder()
+                .fromAccountId("ACC-1")
+                .toAccountId("ACC-2")
+                .amount(Money.of("10.00"))
+                .idempotencyKey(idempotencyKey)
+                .build();
+    }
+}
@@ -0,0 +1,42 @@
+package com.banking.transfer.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.spi.FilterReply;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SampledLogTurboFilterTest {
+
+    private final SampledLogTurboFilter filter = new SampledLogTurboFilter();
+    private final Logger logger = new LoggerContext().getLogger("test");
+
+    @AfterEach
+    void clearMdc() {
+        MDC.clear();
+    }
+
+    @Test
+    void decide_UnsampledRequest_DropsInfoButKeepsWarnings() {
+        // Arrange
+        MDC.put(RequestLogSampling.SAMPLED, "false");
+
+        // Act & Assert
+        assertEquals(FilterReply.DENY, filter.decide(null, logger, Level.INFO, "msg", null, null));
+        assertEquals(FilterReply.DENY, filter.decide(null, logger, Level.DEBUG, "msg", null, null));
+        assertEquals(FilterReply.NEUTRAL, filter.decide(null, logger, Level.WARN, "msg", null, null));
+        assertEquals(FilterReply.NEUTRAL, filter.decide(null, logger, Level.ERROR, "msg", null, null));
+    }
+
+    @Test
+    void decide_SampledOrOutsideRequest_PassesEverything() {
+        assertEquals(FilterReply.NEUTRAL, filter.decide(null, logger, Level.INFO, "msg", null, null));
+
+        MDC.put(RequestLogSampling.SAMPLED, "true");
+        assertEquals(FilterReply.NEUTRAL, filter.decide(null, logger, Level.DEBUG, "msg", null, null));
+    }
+}
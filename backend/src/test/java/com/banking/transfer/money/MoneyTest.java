@@ -0,0 +1,101 @@
+package com.banking.transfer.money;
+
+import com.banking.transfer.dto.CreateAccountRequest;
+import com.banking.transfer.dto.TransferRequest;
+import com.banking.transfer.dto.TransferResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MoneyTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void of_ConvertsExactDecimalsToMinorUnits() {
+        assertEquals(1234, Money.of("12.34").minorUnits());
+        assertEquals(1200, Money.of(new BigDecimal("12")).minorUnits());
+        assertEquals(-5, Money.of("-0.05").minorUnits());
+        assertEquals(Money.of("12.3"), Money.of("12.30"));
+    }
+
+    @Test
+    void of_MoreThanTwoDecimalPlaces_Rejected() {
+        assertThrows(ArithmeticException.class, () -> Money.of("10.001"));
+        assertThrows(ArithmeticException.class, () -> Money.of("100000000000000000.00"));
+    }
+
+    @Test
+    void arithmetic_IsExactAndOverflowChecked() {
+        assertEquals(Money.of("0.30"), Money.of("0.10").plus(Money.of("0.20")));
+        assertEquals(Money.of("-0.10"), Money.of("0.10").minus(Money.of("0.20")));
+        assertEquals(Money.of("0.10"), Money.of("0.10").min(Money.of("0.20")));
+        assertTrue(Money.of("0.10").isLessThan(Money.of("0.11")));
+        assertThrows(ArithmeticException.class, () -> Money.ofMinorUnits(Long.MAX_VALUE).plus(Money.of("0.01")));
+        assertThrows(ArithmeticException.class, () -> Money.ofMinorUnits(Long.MIN_VALUE).minus(Money.of("0.01")));
+    }
+
+    @Test
+    void toString_IsPlainWithTwoDecimals() {
+        assertEquals("250.00", Money.of("250").toString());
+        assertEquals("-12.05", Money.of("-12.05").toString());
+        assertEquals("0.00", Money.ZERO.toString());
+        assertEquals(new BigDecimal("-92233720368547758.08"), Money.ofMinorUnits(Long.MIN_VALUE).toBigDecimal());
+        assertEquals("-92233720368547758.08", Money.ofMinorUnits(Long.MIN_VALUE).toString());
+    }
+
+    @Test
+    void json_KeepsDecimalFormat() throws Exception {
+        // Arrange
+        TransferResponse response = TransferResponse.builder().amount(Money.of("250")).build();
+
+        // Act
+        String json = objectMapper.writeValueAsString(response);
+        TransferRequest fromNumber = objectMapper.readValue("{\"amount\":10.5}", TransferRequest.class);
+        TransferRequest fromString = objectMapper.readValue("{\"amount\":\"10.50\"}", TransferRequest.class);
+
+        // Assert
+        assertTrue(json.contains("\"amount\":250.00"), json);
+        assertEquals(Money.of("10.50"), fromNumber.getAmount());
+        assertEquals(Money.of("10.50"), fromString.getAmount());
+    }
+
+    @Test
+    void json_MoreThanTwoDecimalPlaces_Rejected() {
+        assertThrows(InvalidFormatException.class,
+                () -> objectMapper.readValue("{\"amount\":10.001}", TransferRequest.class));
+        assertThrows(InvalidFormatException.class,
+                () -> objectMapper.readValue("{\"amount\":\"ten\"}", TransferRequest.class));
+    }
+
+    @Test
+    void decimalMin_AppliesToMoneyFields() {
+        Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+        TransferRequest request = TransferRequest.builder()
+                .fromAccountId("ACC-1")
+                .toAccountId("ACC-2")
+                .idempotencyKey("key")
+                .build();
+
+        request.setAmount(Money.ZERO);
+        assertEquals(1, validator.validate(request).size());
+        request.setAmount(Money.of("0.01"));
+        assertTrue(validator.validate(request).isEmpty());
+
+        CreateAccountRequest account = CreateAccountRequest.builder()
+                .username("alice")
+                .password("pw")
+                .holderName("Alice")
+                .initialBalance(Money.of("-0.01"))
+                .build();
+        assertEquals(1, validator.validate(account).size());
+        account.setInitialBalance(Money.ZERO);
+        assertTrue(validator.validate(account).isEmpty());
+    }
+}
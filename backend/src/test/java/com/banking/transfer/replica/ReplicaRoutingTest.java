@@ -0,0 +1,200 @@
+package com.banking.transfer.replica;
+
+import com.banking.transfer.cache.AccountSnapshotCache;
+import com.banking.transfer.dto.CreateAccountRequest;
+import com.banking.transfer.dto.TransferRequest;
+import com.banking.transfer.money.Money;
+import com.banking.transfer.service.AccountService;
+import com.banking.transfer.service.TransferService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.sql.DataSource;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Runs against two in-memory H2 databases. Replication is simulated by copying the primary
+ * into the replica with {@code SCRIPT}/{@code RUNSCRIPT}, so the replica stays stale until
+ * the next copy.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:rw-primary;DB_CLOSE_DELAY=-1",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "datasource.replica.enabled=true",
+        "datasource.replica.url=jdbc:h2:mem:rw-replica;DB_CLOSE_DELAY=-1",
+        "datasource.replica.max-staleness=1m",
+        "datasource.replica.heartbeat-interval=PT1H"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ReplicaRoutingTest {
+
+    private static final AtomicInteger USERS = new AtomicInteger();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private TransferService transferService;
+
+    @Autowired
+    private ReplicaLagMonitor lagMonitor;
+
+    @Autowired
+    private AccountSnapshotCache accountSnapshotCache;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primaryDataSource;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replicaDataSource;
+
+    @TempDir
+    private Path tempDir;
+
+    private String sender;
+    private String senderId;
+    private String reader;
+    private String recipientId;
+
+    @BeforeEach
+    void setUp() {
+        int n = USERS.incrementAndGet();
+        sender = "sender" + n;
+        reader = "reader" + n;
+        senderId = createAccount(sender);
+        recipientId = createAccount(reader);
+        replicate();
+    }
+
+    private String createAccount(String username) {
+        return accountService.createAccount(CreateAccountRequest.builder()
+                .username(username)
+                .password("pw")
+                .holderName(username)
+                .initialBalance(Money.of("100.00"))
+                .build()).getId();
+    }
+
+    private void replicate() {
+        lagMonitor.check();
+        String script = tempDir.resolve("primary.sql").toString();
+        new JdbcTemplate(primaryDataSource).execute("SCRIPT TO '" + script + "'");
+        JdbcTemplate replica = new JdbcTemplate(replicaDataSource);
+        replica.execute("DROP ALL OBJECTS");
+        replica.execute("RUNSCRIPT FROM '" + script + "'");
+        lagMonitor.check();
+    }
+
+    private TransferRequest transfer(String key) {
+        return TransferRequest.builder()
+                .fromAccountId(senderId)
+                .toAccountId(recipientId)
+                .amount(Money.of("10.00"))
+                .idempotencyKey(key)
+                .build();
+    }
+
+    @Test
+    void history_FreshReplica_ServedFromReplica() throws Exception {
+        // Arrange: committed on the primary only
+        transferService.transfer(transfer("replica-" + sender));
+
+        // Act & Assert
+        assertTrue(lagMonitor.isWithinBound());
+        mockMvc.perform(get("/api/v1/accounts/{id}/transactions", senderId).with(httpBasic(reader, "pw")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(0)));
+    }
+
+    @Test
+    void history_AfterOwnTransfer_ServedFromPrimary() throws Exception {
+        // Arrange
+        mockMvc.perform(post("/api/v1/transfers")
+                        .with(httpBasic(sender, "pw"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(transfer("ryw-" + sender))))
+                .andExpect(status().isOk());
+
+        // Act & Assert: the writer reads its own transfer, another user still sees the replica
+        mockMvc.perform(get("/api/v1/accounts/{id}/transactions", senderId).with(httpBasic(sender, "pw")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)));
+        mockMvc.perform(get("/api/v1/accounts/{id}/transactions", senderId).with(httpBasic(reader, "pw")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(0)));
+    }
+
+    @Test
+    void history_ReplicaBeyondStalenessBound_ServedFromPrimary() throws Exception {
+        // Arrange
+        transferService.transfer(transfer("stale-" + sender));
+        new JdbcTemplate(replicaDataSource).update("UPDATE replica_heartbeat SET beat_millis = ?",
+                System.currentTimeMillis() - 3_600_000);
+
+        // Act
+        lagMonitor.check();
+
+        // Assert
+        assertFalse(lagMonitor.isWithinBound());
+        mockMvc.perform(get("/api/v1/accounts/{id}/transactions", senderId).with(httpBasic(reader, "pw")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)));
+    }
+
+    @Test
+    void account_ReadFromReplica_NotCached() throws Exception {
+        // Arrange: committed on the primary only, as if by another node
+        transferService.transfer(transfer("cache-" + sender));
+        accountSnapshotCache.evict(senderId);
+
+        // Act
+        mockMvc.perform(get("/api/v1/accounts/{id}", senderId).with(httpBasic(reader, "pw")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.balance").value(100.00));
+
+        // Assert: the stale replica balance is not left for primary-path reads
+        assertNull(accountSnapshotCache.get(senderId));
+    }
+
+    @Test
+    void transfer_ReadWriteTransaction_AlwaysUsesPrimary() {
+        // Act
+        transferService.transfer(transfer("write-" + sender));
+
+        // Assert
+        Integer onPrimary = new JdbcTemplate(primaryDataSource).queryForObject(
+                "SELECT COUNT(*) FROM transaction_logs WHERE idempotency_key = ?", Integer.class, "write-" + sender);
+        Integer onReplica = new JdbcTemplate(replicaDataSource).queryForObject(
+                "SELECT COUNT(*) FROM transaction_logs WHERE idempotency_key = ?", Integer.class, "write-" + sender);
+        assertEquals(1, onPrimary);
+        assertEquals(0, onReplica);
+    }
+}
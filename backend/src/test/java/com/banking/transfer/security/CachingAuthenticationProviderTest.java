@@ -0,0 +1,123 @@
+package com.banking.transfer.security;
+
+import com.banking.transfer.entity.Account;
+import com.banking.transfer.entity.AccountStatus;
+import com.banking.transfer.money.Money;
+import com.banking.transfer.repository.AccountRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CachingAuthenticationProviderTest {
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @Mock
+    private PasswordEncoder passwordEncoder;
+
+    private VerifiedCredentialCache credentialCache;
+    private CachingAuthenticationProvider provider;
+    private Account account;
+
+    @BeforeEach
+    void setUp() {
+        credentialCache = new VerifiedCredentialCache(100, Duration.ofMinutes(5));
+        DaoAuthenticationProvider daoProvider = new DaoAuthenticationProvider();
+        daoProvider.setUserDetailsService(new CustomUserDetailsService(accountRepository));
+        daoProvider.setPasswordEncoder(passwordEncoder);
+        provider = new CachingAuthenticationProvider(daoProvider, credentialCache);
+
+        account = Account.builder()
+                .id("ACC-1")
+                .username("alice")
+                .password("$2a$10$hash")
+                .holderName("Alice Johnson")
+                .balance(Money.of("5000.00"))
+                .status(AccountStatus.ACTIVE)
+                .version(0)
+                .build();
+    }
+
+    @Test
+    void authenticate_RepeatedCredentials_VerifiedOnce() {
+        // Arrange
+        when(accountRepository.findByUsername("alice")).thenReturn(Optional.of(account));
+        when(passwordEncoder.matches("secret", "$2a$10$hash")).thenReturn(true);
+
+        // Act
+        Authentication first = provider.authenticate(basic("alice", "secret"));
+        Authentication second = provider.authenticate(basic("alice", "secret"));
+
+        // Assert
+        assertTrue(first.isAuthenticated());
+        assertTrue(second.isAuthenticated());
+        assertEquals("alice", second.getName());
+        verify(accountRepository, times(1)).findByUsername("alice");
+        verify(passwordEncoder, times(1)).matches(anyString(), anyString());
+    }
+
+    @Test
+    void authenticate_DifferentPassword_NotServedFromCache() {
+        // Arrange
+        when(accountRepository.findByUsername("alice")).thenReturn(Optional.of(account));
+        when(passwordEncoder.matches("secret", "$2a$10$hash")).thenReturn(true);
+        when(passwordEncoder.matches("guess", "$2a$10$hash")).thenReturn(false);
+        provider.authenticate(basic("alice", "secret"));
+
+        // Act & Assert
+        assertThrows(BadCredentialsException.class, () -> provider.authenticate(basic("alice", "guess")));
+        verify(passwordEncoder, times(1)).matches("guess", "$2a$10$hash");
+    }
+
+    @Test
+    void authenticate_AccountLockedAfterCaching_FallsBackToFullCheck() {
+        // Arrange
+        when(accountRepository.findByUsername("alice")).thenReturn(Optional.of(account));
+        when(passwordEncoder.matches("secret", "$2a$10$hash")).thenReturn(true);
+        provider.authenticate(basic("alice", "secret"));
+
+        // Act
+        account.setStatus(AccountStatus.LOCKED);
+        new CredentialCacheEvictionListener(credentialCache).afterUpdate(account);
+
+        // Assert
+        assertThrows(org.springframework.security.authentication.LockedException.class,
+                () -> provider.authenticate(basic("alice", "secret")));
+        verify(accountRepository, times(2)).findByUsername("alice");
+    }
+
+    @Test
+    void onAccountChanged_BalanceUpdate_KeepsEntry() {
+        // Arrange
+        when(accountRepository.findByUsername("alice")).thenReturn(Optional.of(account));
+        when(passwordEncoder.matches("secret", "$2a$10$hash")).thenReturn(true);
+        provider.authenticate(basic("alice", "secret"));
+
+        // Act
+        account.credit(Money.of("1.00"));
+        new CredentialCacheEvictionListener(credentialCache).afterUpdate(account);
+
+        // Assert
+        assertNotNull(credentialCache.lookup("alice", "secret"));
+    }
+
+    private static Authentication basic(String username, String password) {
+        return UsernamePasswordAuthenticationToken.unauthenticated(username, password);
+    }
+}
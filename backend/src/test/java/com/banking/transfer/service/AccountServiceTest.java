@@ -1,30 +1,48 @@
 package com.banking.transfer.service;
 
+import com.banking.transfer.archive.TransactionArchive;
+import com.banking.transfer.cache.AccountSnapshotCache;
 import com.banking.transfer.dto.AccountResponse;
 import com.banking.transfer.dto.CreateAccountRequest;
+import com.banking.transfer.dto.DailyStatementResponse;
 import com.banking.transfer.dto.LoginRequest;
+import com.banking.transfer.dto.TransactionPage;
 import com.banking.transfer.entity.Account;
 import com.banking.transfer.entity.AccountStatus;
+import com.banking.transfer.entity.TransactionLog;
+import com.banking.transfer.entity.TransactionStatus;
 import com.banking.transfer.exception.AccountNotFoundException;
 import com.banking.transfer.exception.DuplicateUsernameException;
 import com.banking.transfer.exception.InvalidCredentialsException;
+import com.banking.transfer.money.Money;
 import com.banking.transfer.repository.AccountRepository;
+import com.banking.transfer.repository.DailyStatementRepository;
 import com.banking.transfer.repository.TransactionLogRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -39,6 +57,25 @@ class AccountServiceTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Spy
+    private AccountSnapshotCache accountSnapshotCache =
+            new AccountSnapshotCache(new SimpleMeterRegistry(), 100, Duration.ofMinutes(1));
+
+    @Mock
+    private LedgerService ledgerService;
+
+    @Mock
+    private HotAccountBalances hotAccountBalances;
+
+    @Mock
+    private TransactionArchive transactionArchive;
+
+    @Mock
+    private DailyStatementRepository dailyStatementRepository;
+
+    @Spy
+    private TransactionTemplate transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
+
     @InjectMocks
     private AccountService accountService;
 
@@ -51,7 +88,7 @@ class AccountServiceTest {
                 .username("testuser")
                 .password("password123")
                 .holderName("Test User")
-                .initialBalance(new BigDecimal("1000.00"))
+                .initialBalance(Money.of("1000.00"))
                 .build();
 
         testAccount = Account.builder()
@@ -59,7 +96,7 @@ class AccountServiceTest {
                 .username("testuser")
                 .password("$2a$10$encoded_password")
                 .holderName("Test User")
-                .balance(new BigDecimal("1000.00"))
+                .balance(Money.of("1000.00"))
                 .status(AccountStatus.ACTIVE)
                 .version(0)
                 .build();
@@ -79,7 +116,7 @@ class AccountServiceTest {
         assertNotNull(response);
         assertEquals("testuser", response.getUsername());
         assertEquals("Test User", response.getHolderName());
-        assertEquals(new BigDecimal("1000.00"), response.getBalance());
+        assertEquals(Money.of("1000.00"), response.getBalance());
         assertEquals(AccountStatus.ACTIVE, response.getStatus());
 
         verify(accountRepository, times(1)).existsByUsername("testuser");
@@ -102,7 +139,7 @@ class AccountServiceTest {
                 .username("newuser")
                 .password("$2a$10$encoded_password")
                 .holderName("New User")
-                .balance(new BigDecimal("1000.00"))
+                .balance(Money.of("1000.00"))
                 .status(AccountStatus.ACTIVE)
                 .version(0)
                 .build();
@@ -116,8 +153,8 @@ class AccountServiceTest {
 
         // Assert
         assertNotNull(response);
-        assertEquals(new BigDecimal("1000.00"), response.getBalance());
-        verify(accountRepository).save(argThat(account -> account.getBalance().compareTo(new BigDecimal("1000")) == 0));
+        assertEquals(Money.of("1000.00"), response.getBalance());
+        verify(accountRepository).save(argThat(account -> account.getBalance().equals(Money.of("1000.00"))));
     }
 
     @Test
@@ -212,11 +249,71 @@ class AccountServiceTest {
         assertEquals("ACC-1", response.getId());
         assertEquals("testuser", response.getUsername());
         assertEquals("Test User", response.getHolderName());
-        assertEquals(new BigDecimal("1000.00"), response.getBalance());
+        assertEquals(Money.of("1000.00"), response.getBalance());
+
+        verify(accountRepository, times(1)).findById("ACC-1");
+    }
+
+    @Test
+    void getAccountResponse_SecondRead_ServedFromCache() {
+        // Arrange
+        when(accountRepository.findById("ACC-1")).thenReturn(Optional.of(testAccount));
+        accountService.getAccountResponse("ACC-1");
+
+        // Act
+        AccountResponse response = accountService.getAccountResponse("ACC-1");
 
+        // Assert
+        assertEquals(Money.of("1000.00"), response.getBalance());
         verify(accountRepository, times(1)).findById("ACC-1");
     }
 
+    @Test
+    void getAccountResponse_AfterPublishedTransfer_ReturnsNewBalance() {
+        // Arrange
+        when(accountRepository.findById("ACC-1")).thenReturn(Optional.of(testAccount));
+        accountService.getAccountResponse("ACC-1");
+        Account afterTransfer = Account.builder()
+                .id("ACC-1")
+                .username("testuser")
+                .holderName("Test User")
+                .balance(Money.of("750.00"))
+                .status(AccountStatus.ACTIVE)
+                .version(1)
+                .build();
+
+        // Act
+        accountSnapshotCache.publishAfterCommit(afterTransfer);
+        accountSnapshotCache.put(testAccount);
+        AccountResponse response = accountService.getAccountResponse("ACC-1");
+
+        // Assert
+        assertEquals(Money.of("750.00"), response.getBalance());
+        verify(accountRepository, times(1)).findById("ACC-1");
+    }
+
+    @Test
+    void getAccountResponse_HotAccount_ReadsRowAndSlotsInOneReadOnlyTransaction() {
+        // Arrange
+        testAccount.setBalanceSlots(4);
+        PlatformTransactionManager transactionManager = transactionTemplate.getTransactionManager();
+        when(hotAccountBalances.isHot("ACC-1")).thenReturn(true);
+        when(accountRepository.findById("ACC-1")).thenReturn(Optional.of(testAccount));
+        when(hotAccountBalances.availableBalance(testAccount)).thenAnswer(invocation -> {
+            // Still inside the transaction that read the row
+            verify(transactionManager, never()).commit(any());
+            return Money.of("1250.00");
+        });
+
+        // Act
+        AccountResponse response = accountService.getAccountResponse("ACC-1");
+
+        // Assert
+        assertEquals(Money.of("1250.00"), response.getBalance());
+        verify(transactionManager, times(1)).getTransaction(argThat(definition -> definition.isReadOnly()));
+        verify(transactionManager, times(1)).commit(any());
+    }
+
     @Test
     void getAccountResponse_AccountNotFound_ThrowsException() {
         // Arrange
@@ -229,4 +326,172 @@ class AccountServiceTest {
 
         verify(accountRepository, times(1)).findById("ACC-999");
     }
+
+    @Test
+    void getTransactions_MorePagesAvailable_ReturnsCursor() {
+        // Arrange
+        LocalDateTime now = LocalDateTime.of(2026, 1, 1, 12, 0);
+        when(accountRepository.findById("ACC-1")).thenReturn(Optional.of(testAccount));
+        when(transactionLogRepository.findOutgoingPage(eq("ACC-1"), any(), any(), eq(""), eq(Limit.of(3))))
+                .thenReturn(List.of(
+                        log("t3", "ACC-1", "ACC-2", now),
+                        log("t1", "ACC-1", "ACC-2", now.minusMinutes(2))));
+        when(transactionLogRepository.findIncomingPage(eq("ACC-1"), any(), any(), eq(""), eq(Limit.of(3))))
+                .thenReturn(List.of(log("t2", "ACC-2", "ACC-1", now.minusMinutes(1))));
+
+        // Act
+        TransactionPage page = accountService.getTransactions("ACC-1", null, null, null, 2);
+
+        // Assert
+        assertEquals(2, page.getItems().size());
+        assertEquals("t3", page.getItems().get(0).getId());
+        assertEquals("t2", page.getItems().get(1).getId());
+        assertEquals("DEBIT", page.getItems().get(0).getType());
+        assertEquals("CREDIT", page.getItems().get(1).getType());
+        assertNotNull(page.getNextCursor());
+        TransactionCursor cursor = TransactionCursor.decode(page.getNextCursor());
+        assertEquals("t2", cursor.getId());
+        assertEquals(now.minusMinutes(1), cursor.getCreatedOn());
+    }
+
+    @Test
+    void getTransactions_WithCursor_ContinuesAfterPosition() {
+        // Arrange
+        LocalDateTime position = LocalDateTime.of(2026, 1, 1, 11, 59);
+        String cursor = new TransactionCursor(position, "t2").encode();
+        when(accountRepository.findById("ACC-1")).thenReturn(Optional.of(testAccount));
+        when(transactionLogRepository.findOutgoingPage(eq("ACC-1"), any(), eq(position), eq("t2"), any()))
+                .thenReturn(List.of(log("t1", "ACC-1", "ACC-2", position.minusMinutes(1))));
+        when(transactionLogRepository.findIncomingPage(eq("ACC-1"), any(), eq(position), eq("t2"), any()))
+                .thenReturn(List.of());
+
+        // Act
+        TransactionPage page = accountService.getTransactions("ACC-1", null, null, cursor, 2);
+
+        // Assert
+        assertEquals(1, page.getItems().size());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void getTransactions_PageReachesArchive_MergesArchivedRows() {
+        // Arrange
+        LocalDateTime now = LocalDateTime.of(2026, 1, 1, 12, 0);
+        when(accountRepository.findById("ACC-1")).thenReturn(Optional.of(testAccount));
+        when(transactionLogRepository.findOutgoingPage(anyString(), any(), any(), anyString(), any()))
+                .thenReturn(List.of(log("t3", "ACC-1", "ACC-2", now)));
+        when(transactionLogRepository.findIncomingPage(anyString(), any(), any(), anyString(), any()))
+                .thenReturn(List.of());
+        when(transactionArchive.mayHaveArchived(any())).thenReturn(true);
+        when(transactionArchive.findOutgoingPage(anyString(), any(), any(), anyString(), any()))
+                .thenReturn(List.of(log("t1", "ACC-1", "ACC-2", now.minusDays(200))));
+        when(transactionArchive.findIncomingPage(anyString(), any(), any(), anyString(), any()))
+                .thenReturn(List.of(log("t2", "ACC-2", "ACC-1", now.minusDays(100))));
+
+        // Act
+        TransactionPage page = accountService.getTransactions("ACC-1", null, null, null, 2);
+
+        // Assert
+        assertEquals(List.of("t3", "t2"), page.getItems().stream().map(item -> item.getId()).toList());
+        assertEquals("t2", TransactionCursor.decode(page.getNextCursor()).getId());
+    }
+
+    @Test
+    void getTransactions_PageWithinHotWindow_SkipsArchive() {
+        // Arrange
+        LocalDateTime now = LocalDateTime.of(2026, 1, 1, 12, 0);
+        when(accountRepository.findById("ACC-1")).thenReturn(Optional.of(testAccount));
+        when(transactionLogRepository.findOutgoingPage(anyString(), any(), any(), anyString(), any()))
+                .thenReturn(List.of(log("t2", "ACC-1", "ACC-2", now), log("t1", "ACC-1", "ACC-2", now.minusMinutes(1))));
+        when(transactionLogRepository.findIncomingPage(anyString(), any(), any(), anyString(), any()))
+                .thenReturn(List.of());
+        when(transactionArchive.mayHaveArchived(now.minusMinutes(1))).thenReturn(false);
+
+        // Act
+        TransactionPage page = accountService.getTransactions("ACC-1", null, null, null, 1);
+
+        // Assert
+        assertEquals(1, page.getItems().size());
+        verify(transactionArchive, never()).findOutgoingPage(anyString(), any(), any(), anyString(), any());
+    }
+
+    @Test
+    void getTransactions_PageSizeCapped() {
+        // Arrange
+        when(accountRepository.findById("ACC-1")).thenReturn(Optional.of(testAccount));
+        when(transactionLogRepository.findOutgoingPage(anyString(), any(), any(), anyString(), any()))
+                .thenReturn(List.of());
+        when(transactionLogRepository.findIncomingPage(anyString(), any(), any(), anyString(), any()))
+                .thenReturn(List.of());
+
+        // Act
+        accountService.getTransactions("ACC-1", null, null, null, 100_000);
+
+        // Assert
+        verify(transactionLogRepository).findOutgoingPage(anyString(), any(), any(), anyString(),
+                eq(Limit.of(AccountService.MAX_PAGE_SIZE + 1)));
+        verify(transactionLogRepository).findIncomingPage(anyString(), any(), any(), anyString(),
+                eq(Limit.of(AccountService.MAX_PAGE_SIZE + 1)));
+    }
+
+    @Test
+    void getTransactions_InvalidRange_ThrowsException() {
+        // Arrange
+        LocalDateTime now = LocalDateTime.now();
+        when(accountRepository.findById("ACC-1")).thenReturn(Optional.of(testAccount));
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+                () -> accountService.getTransactions("ACC-1", now, now.minusDays(1), null, null));
+        assertThrows(IllegalArgumentException.class,
+                () -> accountService.getTransactions("ACC-1", null, null, "not-a-cursor", null));
+    }
+
+    @Test
+    void getStatement_CarriesBalanceForwardFromLedger() {
+        // Arrange
+        LocalDate from = LocalDate.of(2026, 3, 1);
+        LocalDate to = LocalDate.of(2026, 4, 1);
+        when(accountRepository.findById("ACC-1")).thenReturn(Optional.of(testAccount));
+        when(ledgerService.balanceAsOf("ACC-1", from.atStartOfDay())).thenReturn(Money.of("100.00"));
+        when(dailyStatementRepository.sumByDay("ACC-1", from, to)).thenReturn(List.of(
+                new Object[]{LocalDate.of(2026, 3, 2), new BigDecimal("30.00"), new BigDecimal("5.00"), 2L, 1L},
+                new Object[]{LocalDate.of(2026, 3, 9), new BigDecimal("0.00"), new BigDecimal("50.00"), 0L, 1L}));
+
+        // Act
+        List<DailyStatementResponse> statement = accountService.getStatement("ACC-1", from, to);
+
+        // Assert
+        assertEquals(2, statement.size());
+        assertEquals(Money.of("100.00"), statement.get(0).getOpeningBalance());
+        assertEquals(Money.of("75.00"), statement.get(0).getClosingBalance());
+        assertEquals(2, statement.get(0).getDebitCount());
+        assertEquals(Money.of("75.00"), statement.get(1).getOpeningBalance());
+        assertEquals(Money.of("125.00"), statement.get(1).getClosingBalance());
+    }
+
+    @Test
+    void getStatement_InvalidRange_ThrowsException() {
+        // Arrange
+        LocalDate day = LocalDate.of(2026, 3, 1);
+        when(accountRepository.findById("ACC-1")).thenReturn(Optional.of(testAccount));
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+                () -> accountService.getStatement("ACC-1", day, day));
+        assertThrows(IllegalArgumentException.class,
+                () -> accountService.getStatement("ACC-1", day, day.plusYears(2)));
+    }
+
+    private static TransactionLog log(String id, String from, String to, LocalDateTime createdOn) {
+        return TransactionLog.builder()
+                .id(id)
+                .fromAccountId(from)
+                .toAccountId(to)
+                .amount(Money.of("10.00"))
+                .status(TransactionStatus.SUCCESS)
+                .idempotencyKey("key-" + id)
+                .createdOn(createdOn)
+                .build();
+    }
 }
@@ -0,0 +1,290 @@
+package com.banking.transfer.service;
+
+import com.banking.transfer.cache.AccountSnapshotCache;
+import com.banking.transfer.concurrency.AccountLockManager;
+import com.banking.transfer.concurrency.BackgroundThreads;
+import com.banking.transfer.dto.TransferRequest;
+import com.banking.transfer.dto.TransferResponse;
+import com.banking.transfer.entity.Account;
+import com.banking.transfer.entity.AccountStatus;
+import com.banking.transfer.entity.TransactionLog;
+import com.banking.transfer.entity.TransactionStatus;
+import com.banking.transfer.exception.AccountNotFoundException;
+import com.banking.transfer.exception.DuplicateTransferException;
+import com.banking.transfer.exception.InsufficientBalanceException;
+import com.banking.transfer.idempotency.IdempotencyGuard;
+import com.banking.transfer.money.Money;
+import com.banking.transfer.repository.AccountRepository;
+import com.banking.transfer.repository.BalanceSlotRepository;
+import com.banking.transfer.repository.TransactionLogRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BatchTransferServiceTest {
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @Mock
+    private TransactionLogRepository transactionLogRepository;
+
+    @Mock
+    private TransferService transferService;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private LedgerService ledgerService;
+
+    @Mock
+    private BalanceSlotRepository slotRepository;
+
+    private HotAccountBalances hotAccountBalances;
+
+    private BatchTransferService batchTransferService;
+
+    private Account alice;
+    private Account bob;
+
+    @BeforeEach
+    void setUp() {
+        IdempotencyGuard idempotencyGuard = new IdempotencyGuard(transactionLogRepository, transactionTemplate,
+                new BackgroundThreads(false), new SimpleMeterRegistry(), 1000, 0.01, 1000, Duration.ofHours(1));
+        AccountLockManager lockManager = new AccountLockManager(16, 1000);
+        hotAccountBalances = new HotAccountBalances(slotRepository, accountRepository, lockManager, transactionTemplate);
+        batchTransferService = new BatchTransferService(accountRepository, transactionLogRepository,
+                transferService, lockManager, transactionTemplate, idempotencyGuard,
+                new AccountSnapshotCache(new SimpleMeterRegistry(), 100, Duration.ofMinutes(1)), ledgerService,
+                hotAccountBalances,
+                new TransferMetrics(new SimpleMeterRegistry()), 2);
+
+        lenient().when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        lenient().when(transactionLogRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<TransactionLog> logs = invocation.getArgument(0);
+            logs.forEach(TransactionLog::prePersist);
+            return logs;
+        });
+
+        alice = account("ACC-1", "5000.00");
+        bob = account("ACC-2", "3000.00");
+    }
+
+    @Test
+    void transferAll_ChunksShareOneLookupPerChunk() {
+        // Arrange
+        when(accountRepository.findAllById(anyCollection())).thenReturn(List.of(alice, bob));
+        when(transactionLogRepository.findExistingIdempotencyKeys(anyCollection())).thenReturn(List.of());
+
+        List<TransferRequest> requests = List.of(
+                request("ACC-1", "ACC-2", "100.00", "k1"),
+                request("ACC-2", "ACC-1", "50.00", "k2"),
+                request("ACC-1", "ACC-2", "10.00", "k3"));
+
+        // Act
+        List<TransferOutcome> outcomes = batchTransferService.transferAll(requests);
+
+        // Assert
+        assertEquals(3, outcomes.size());
+        assertTrue(outcomes.stream().allMatch(TransferOutcome::isSuccess));
+        assertEquals(Money.of("4940.00"), alice.getBalance());
+        assertEquals(Money.of("3060.00"), bob.getBalance());
+
+        // Two chunks of at most two items: one account and one key lookup each
+        verify(accountRepository, times(2)).findAllById(anyCollection());
+        verify(transactionLogRepository, times(2)).findExistingIdempotencyKeys(anyCollection());
+        verify(transactionLogRepository, times(2)).saveAll(anyList());
+        verify(transferService, never()).transfer(any());
+    }
+
+    @Test
+    void transferAll_FailuresOnlyFailTheirOwnItem() {
+        // Arrange
+        when(accountRepository.findAllById(anyCollection())).thenReturn(List.of(alice, bob));
+        when(transactionLogRepository.findExistingIdempotencyKeys(anyCollection())).thenReturn(List.of("k-old"));
+
+        List<TransferRequest> requests = List.of(
+                request("ACC-1", "ACC-2", "9000.00", "k1"),
+                request("ACC-1", "ACC-2", "100.00", "k-old"),
+                request("ACC-1", "ACC-9", "100.00", "k2"),
+                request("ACC-1", "ACC-2", "100.00", "k3"));
+
+        // Act
+        List<TransferOutcome> outcomes = batchTransferService.transferAll(requests);
+
+        // Assert
+        assertInstanceOf(InsufficientBalanceException.class, outcomes.get(0).getError());
+        assertInstanceOf(DuplicateTransferException.class, outcomes.get(1).getError());
+        assertInstanceOf(AccountNotFoundException.class, outcomes.get(2).getError());
+        assertTrue(outcomes.get(3).isSuccess());
+        assertEquals("FAILED", outcomes.get(0).getResponse().getStatus());
+        assertNotNull(outcomes.get(0).getResponse().getTransactionId());
+        assertEquals(Money.of("4900.00"), alice.getBalance());
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<TransactionLog>> logs = ArgumentCaptor.forClass(List.class);
+        verify(transactionLogRepository, times(2)).saveAll(logs.capture());
+        List<TransactionStatus> statuses = logs.getAllValues().stream()
+                .flatMap(List::stream)
+                .map(TransactionLog::getStatus)
+                .toList();
+        // The duplicate gets no log of its own because its key is already taken
+        assertEquals(List.of(TransactionStatus.FAILED, TransactionStatus.FAILED, TransactionStatus.SUCCESS), statuses);
+
+        // Only the successful transfer is posted to the ledger
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<TransactionLog>> posted = ArgumentCaptor.forClass(List.class);
+        verify(ledgerService, times(2)).recordTransfers(posted.capture());
+        assertEquals(List.of("k3"), posted.getAllValues().stream()
+                .flatMap(List::stream)
+                .map(TransactionLog::getIdempotencyKey)
+                .toList());
+    }
+
+    @Test
+    void transferAll_DuplicateKeyWithinBatch_FailsSecondItem() {
+        // Arrange
+        when(accountRepository.findAllById(anyCollection())).thenReturn(List.of(alice, bob));
+        when(transactionLogRepository.findExistingIdempotencyKeys(anyCollection())).thenReturn(List.of());
+
+        List<TransferRequest> requests = List.of(
+                request("ACC-1", "ACC-2", "100.00", "same"),
+                request("ACC-1", "ACC-2", "100.00", "same"));
+
+        // Act
+        List<TransferOutcome> outcomes = batchTransferService.transferAll(requests);
+
+        // Assert
+        assertTrue(outcomes.get(0).isSuccess());
+        assertInstanceOf(DuplicateTransferException.class, outcomes.get(1).getError());
+        assertEquals(Money.of("4900.00"), alice.getBalance());
+    }
+
+    @Test
+    void transferAll_ChunkCommitFails_FallsBackToSingleTransfers() {
+        // Arrange
+        doThrow(new DataIntegrityViolationException("duplicate key")).when(transactionTemplate).execute(any());
+        TransferRequest first = request("ACC-1", "ACC-2", "100.00", "k1");
+        TransferRequest second = request("ACC-1", "ACC-2", "100.00", "k2");
+        when(transferService.transfer(first)).thenReturn(TransferResponse.builder().status("SUCCESS").build());
+        when(transferService.transfer(second)).thenThrow(new DuplicateTransferException("Duplicate transfer request"));
+
+        // Act
+        List<TransferOutcome> outcomes = batchTransferService.transferAll(List.of(first, second));
+
+        // Assert
+        assertTrue(outcomes.get(0).isSuccess());
+        assertFalse(outcomes.get(1).isSuccess());
+        verify(transferService, times(2)).transfer(any());
+    }
+
+    @Test
+    void transferAll_LaterChunkGetsNoTransaction_KeepsEarlierResults() {
+        // Arrange
+        when(accountRepository.findAllById(anyCollection())).thenReturn(List.of(alice, bob));
+        when(transactionLogRepository.findExistingIdempotencyKeys(anyCollection())).thenReturn(List.of());
+        doAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null))
+                .doThrow(new CannotCreateTransactionException("pool exhausted"))
+                .when(transactionTemplate).execute(any());
+        TransferRequest third = request("ACC-1", "ACC-2", "10.00", "k3");
+        when(transferService.transfer(third)).thenThrow(new CannotCreateTransactionException("pool exhausted"));
+
+        // Act
+        List<TransferOutcome> outcomes = batchTransferService.transferAll(List.of(
+                request("ACC-1", "ACC-2", "100.00", "k1"),
+                request("ACC-2", "ACC-1", "50.00", "k2"),
+                third));
+
+        // Assert
+        assertEquals(3, outcomes.size());
+        assertTrue(outcomes.get(0).isSuccess());
+        assertTrue(outcomes.get(1).isSuccess());
+        assertInstanceOf(CannotCreateTransactionException.class, outcomes.get(2).getError());
+        assertEquals("FAILED", outcomes.get(2).getResponse().getStatus());
+    }
+
+    @Test
+    void transferAll_HotSlotChangedConcurrently_RollsBackChunkAndRetriesItems() {
+        // Arrange
+        when(accountRepository.findById("ACC-1")).thenReturn(Optional.of(alice));
+        hotAccountBalances.makeHot("ACC-1", 1);
+        when(accountRepository.findAllById(anyCollection())).thenReturn(List.of(alice, bob));
+        when(transactionLogRepository.findExistingIdempotencyKeys(anyCollection())).thenReturn(List.of());
+        when(slotRepository.sumBalance("ACC-1")).thenReturn(new BigDecimal("5000.00"));
+        when(slotRepository.findSlotBalances("ACC-1")).thenReturn(List.<Object[]>of(new Object[]{0, new BigDecimal("5000.00")}));
+        when(slotRepository.debit(eq("ACC-1"), anyInt(), any())).thenReturn(0);
+        TransferRequest request = request("ACC-1", "ACC-2", "6000.00", "k1");
+        when(transferService.transfer(request)).thenReturn(TransferResponse.builder().status("SUCCESS").build());
+
+        // Act
+        List<TransferOutcome> outcomes = batchTransferService.transferAll(List.of(request));
+
+        // Assert
+        assertTrue(outcomes.get(0).isSuccess());
+        assertEquals(Money.of("5000.00"), alice.getBalance());
+        verify(transactionLogRepository, never()).saveAll(anyList());
+        verify(transferService).transfer(request);
+    }
+
+    @Test
+    void transferAll_CreditFailsAfterDebit_RollsBackChunkAndRetriesItems() {
+        // Arrange
+        when(accountRepository.findById("ACC-2")).thenReturn(Optional.of(bob));
+        hotAccountBalances.makeHot("ACC-2", 1);
+        when(accountRepository.findAllById(anyCollection())).thenReturn(List.of(alice, bob));
+        when(transactionLogRepository.findExistingIdempotencyKeys(anyCollection())).thenReturn(List.of());
+        when(slotRepository.credit(eq("ACC-2"), anyInt(), any())).thenReturn(0);
+        TransferRequest request = request("ACC-1", "ACC-2", "100.00", "k1");
+        when(transferService.transfer(request)).thenReturn(TransferResponse.builder().status("SUCCESS").build());
+
+        // Act
+        List<TransferOutcome> outcomes = batchTransferService.transferAll(List.of(request));
+
+        // Assert
+        assertTrue(outcomes.get(0).isSuccess());
+        verify(accountRepository, never()).saveAll(anyCollection());
+        verify(transactionLogRepository, never()).saveAll(anyList());
+        verify(transferService).transfer(request);
+    }
+
+    private static Account account(String id, String balance) {
+        return Account.builder()
+                .id(id)
+                .username(id.toLowerCase())
+                .password("encoded_password")
+                .holderName(id)
+                .balance(Money.of(balance))
+                .status(AccountStatus.ACTIVE)
+                .version(0)
+                .build();
+    }
+
+    private static TransferRequest request(String from, String to, String amount, String key) {
+        return TransferRequest.builder()
+                .fromAccountId(from)
+                .toAccountId(to)
+                .amount(Money.of(amount))
+                .idempotencyKey(key)
+                .build();
+    }
+}
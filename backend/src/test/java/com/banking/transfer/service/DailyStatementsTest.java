@@ -0,0 +1,134 @@
+package com.banking.transfer.service;
+
+import com.banking.transfer.dto.CreateAccountRequest;
+import com.banking.transfer.dto.DailyStatementResponse;
+import com.banking.transfer.dto.TransferRequest;
+import com.banking.transfer.entity.DailyStatement;
+import com.banking.transfer.money.Money;
+import com.banking.transfer.repository.DailyStatementRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:statements;DB_CLOSE_DELAY=-1")
+@ActiveProfiles("test")
+class DailyStatementsTest {
+
+    private static final AtomicInteger USERS = new AtomicInteger();
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private TransferService transferService;
+
+    @Autowired
+    private BatchTransferService batchTransferService;
+
+    @Autowired
+    private HotAccountBalances hotAccountBalances;
+
+    @Autowired
+    private DailyStatementRepository statementRepository;
+
+    private String prefix;
+    private String aliceId;
+    private String bobId;
+
+    @BeforeEach
+    void setUp() {
+        prefix = "statement" + USERS.incrementAndGet() + "-";
+        aliceId = createAccount(prefix + "alice");
+        bobId = createAccount(prefix + "bob");
+    }
+
+    private String createAccount(String username) {
+        return accountService.createAccount(CreateAccountRequest.builder()
+                .username(username)
+                .password("pw")
+                .holderName(username)
+                .initialBalance(Money.of("100.00"))
+                .build()).getId();
+    }
+
+    private TransferRequest transfer(String from, String to, String amount, String key) {
+        return TransferRequest.builder()
+                .fromAccountId(from)
+                .toAccountId(to)
+                .amount(Money.of(amount))
+                .idempotencyKey(prefix + key)
+                .build();
+    }
+
+    @Test
+    void transfers_UpdateTodaysStatementRow() {
+        // Arrange
+        LocalDate today = LocalDate.now();
+
+        // Act
+        transferService.transfer(transfer(aliceId, bobId, "10.00", "t1"));
+        batchTransferService.transferAll(List.of(
+                transfer(aliceId, bobId, "5.00", "b1"),
+                transfer(bobId, aliceId, "2.50", "b2"),
+                transfer(aliceId, bobId, "500.00", "b3")));
+        List<DailyStatementResponse> statement = accountService.getStatement(aliceId, today, today.plusDays(1));
+
+        // Assert: the opening deposit counts as the day's first credit; the failed transfer is not included
+        assertEquals(1, statement.size());
+        DailyStatementResponse day = statement.get(0);
+        assertEquals(today, day.getDate());
+        assertEquals(Money.ZERO, day.getOpeningBalance());
+        assertEquals(Money.of("15.00"), day.getTotalDebits());
+        assertEquals(Money.of("102.50"), day.getTotalCredits());
+        assertEquals(2, day.getDebitCount());
+        assertEquals(2, day.getCreditCount());
+        assertEquals(Money.of("87.50"), day.getClosingBalance());
+        assertEquals(accountService.getAccount(aliceId).getBalance(), day.getClosingBalance());
+    }
+
+    @Test
+    void hotAccountCredits_SpreadOverStripes_SummedPerDay() {
+        // Arrange
+        LocalDate today = LocalDate.now();
+        accountService.makeHot(bobId, 4);
+
+        // Act
+        for (int i = 0; i < 20; i++) {
+            transferService.transfer(transfer(aliceId, bobId, "1.00", "hot" + i));
+        }
+        List<DailyStatementResponse> statement = accountService.getStatement(bobId, today, today.plusDays(1));
+
+        // Assert
+        assertEquals(1, statement.size());
+        assertEquals(21, statement.get(0).getCreditCount());
+        assertEquals(Money.of("120.00"), statement.get(0).getClosingBalance());
+        assertTrue(statementRepository.findAll().stream()
+                .filter(row -> row.getAccountId().equals(bobId))
+                .map(DailyStatement::getStripe)
+                .distinct()
+                .count() > 1);
+    }
+
+    @Test
+    void getStatement_LaterRange_OpensWithLedgerBalance() {
+        // Arrange
+        transferService.transfer(transfer(aliceId, bobId, "40.00", "later"));
+        LocalDate tomorrow = LocalDate.now().plusDays(1);
+
+        // Act
+        List<DailyStatementResponse> statement = accountService.getStatement(aliceId, tomorrow, tomorrow.plusDays(7));
+
+        // Assert
+        assertTrue(statement.isEmpty());
+        assertEquals(Money.of("60.00"), accountService.getStatement(aliceId, LocalDate.now(), tomorrow)
+                .get(0).getClosingBalance());
+    }
+}
@@ -0,0 +1,224 @@
+package com.banking.transfer.service;
+
+import com.banking.transfer.concurrency.AccountLockManager;
+import com.banking.transfer.dto.TransferRequest;
+import com.banking.transfer.entity.Account;
+import com.banking.transfer.entity.AccountStatus;
+import com.banking.transfer.entity.BalanceSlot;
+import com.banking.transfer.exception.InsufficientBalanceException;
+import com.banking.transfer.money.Money;
+import com.banking.transfer.repository.AccountRepository;
+import com.banking.transfer.repository.BalanceSlotRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class HotAccountBalancesTest {
+
+    @Mock
+    private BalanceSlotRepository slotRepository;
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private HotAccountBalances hotAccountBalances;
+    private Account merchant;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        hotAccountBalances = new HotAccountBalances(slotRepository, accountRepository,
+                new AccountLockManager(16, 1000), transactionTemplate);
+        merchant = Account.builder()
+                .id("ACC-M")
+                .username("merchant")
+                .password("encoded_password")
+                .holderName("Merchant")
+                .balance(Money.of("100.00"))
+                .status(AccountStatus.ACTIVE)
+                .version(0)
+                .build();
+    }
+
+    @Test
+    void makeHot_CreatesSlotsAndRegistersAccount() {
+        // Arrange
+        when(accountRepository.findById("ACC-M")).thenReturn(Optional.of(merchant));
+        when(slotRepository.findByAccountIdOrderBySlot("ACC-M")).thenReturn(List.of());
+
+        // Act
+        hotAccountBalances.makeHot("ACC-M", 4);
+
+        // Assert
+        assertTrue(hotAccountBalances.isHot("ACC-M"));
+        assertEquals(4, merchant.getBalanceSlots());
+        verify(slotRepository, times(4)).save(any(BalanceSlot.class));
+    }
+
+    @Test
+    void credit_HotAccount_GoesToASlotNotTheRow() {
+        // Arrange
+        makeHot(4);
+        when(slotRepository.credit(eq("ACC-M"), anyInt(), any())).thenReturn(1);
+
+        // Act
+        hotAccountBalances.credit(merchant, Money.of("25.00"));
+
+        // Assert
+        assertEquals(Money.of("100.00"), merchant.getBalance());
+        verify(slotRepository).credit(eq("ACC-M"), intThat(slot -> slot >= 0 && slot < 4), eq(new BigDecimal("25.00")));
+    }
+
+    @Test
+    void debit_HotAccount_DrawsRowThenSlots() {
+        // Arrange
+        makeHot(2);
+        when(slotRepository.findSlotBalances("ACC-M")).thenReturn(List.of(
+                slotBalance(0, "30.00"), slotBalance(1, "50.00")));
+        when(slotRepository.debit(eq("ACC-M"), anyInt(), any())).thenReturn(1);
+
+        // Act
+        hotAccountBalances.debit(merchant, Money.of("160.00"));
+
+        // Assert
+        assertEquals(0, merchant.getBalance().signum());
+        ArgumentCaptor<BigDecimal> taken = ArgumentCaptor.forClass(BigDecimal.class);
+        verify(slotRepository, times(2)).debit(eq("ACC-M"), anyInt(), taken.capture());
+        assertEquals(new BigDecimal("60.00"), taken.getAllValues().stream().reduce(BigDecimal.ZERO, BigDecimal::add));
+    }
+
+    @Test
+    void debit_HotAccountSlotsShort_ThrowsWithoutTouchingRowOrSlots() {
+        // Arrange
+        makeHot(1);
+        when(slotRepository.findSlotBalances("ACC-M")).thenReturn(List.<Object[]>of(slotBalance(0, "10.00")));
+
+        // Act & Assert
+        assertThrows(InsufficientBalanceException.class,
+                () -> hotAccountBalances.debit(merchant, Money.of("500.00")));
+        assertEquals(Money.of("100.00"), merchant.getBalance());
+        verify(slotRepository, never()).debit(anyString(), anyInt(), any());
+    }
+
+    @Test
+    void debit_HotAccountSlotChangedConcurrently_LeavesRowUntouched() {
+        // Arrange
+        makeHot(1);
+        when(slotRepository.findSlotBalances("ACC-M")).thenReturn(List.<Object[]>of(slotBalance(0, "80.00")));
+        when(slotRepository.debit(eq("ACC-M"), anyInt(), any())).thenReturn(0);
+
+        // Act & Assert
+        assertThrows(OptimisticLockingFailureException.class,
+                () -> hotAccountBalances.debit(merchant, Money.of("150.00")));
+        assertEquals(Money.of("100.00"), merchant.getBalance());
+    }
+
+    @Test
+    void availableBalance_HotAccount_AddsSlots() {
+        // Arrange
+        makeHot(4);
+        when(slotRepository.sumBalance("ACC-M")).thenReturn(new BigDecimal("900.00"));
+
+        // Act & Assert
+        assertEquals(Money.of("1000.00"), hotAccountBalances.availableBalance(merchant));
+    }
+
+    @Test
+    void refresh_ReplacesHotAccountsWithTheTable() {
+        // Arrange
+        makeHot(4);
+        when(slotRepository.countSlotsByAccount()).thenReturn(List.<Object[]>of(new Object[]{"ACC-N", 2L}));
+
+        // Act
+        hotAccountBalances.refresh();
+
+        // Assert
+        assertFalse(hotAccountBalances.isHot("ACC-M"));
+        assertTrue(hotAccountBalances.isHot("ACC-N"));
+    }
+
+    @Test
+    void lockScope_SkipsHotDestinations() {
+        // Arrange
+        makeHot(4);
+        TransferRequest toMerchant = TransferRequest.builder().fromAccountId("ACC-1").toAccountId("ACC-M").build();
+        TransferRequest fromMerchant = TransferRequest.builder().fromAccountId("ACC-M").toAccountId("ACC-2").build();
+
+        // Act & Assert
+        assertEquals(Set.of("ACC-1"), hotAccountBalances.lockScope(List.of(toMerchant)));
+        assertEquals(Set.of("ACC-1", "ACC-M", "ACC-2"), hotAccountBalances.lockScope(List.of(toMerchant, fromMerchant)));
+    }
+
+    @Test
+    void debit_AccountMadeHotOnAnotherNode_DrawsFromSlots() {
+        // Arrange: this node never saw makeHot, but the row it loaded says the account is hot
+        merchant.setBalanceSlots(2);
+        when(slotRepository.sumBalance("ACC-M")).thenReturn(new BigDecimal("80.00"));
+        when(slotRepository.findSlotBalances("ACC-M")).thenReturn(List.of(
+                slotBalance(0, "30.00"), slotBalance(1, "50.00")));
+        when(slotRepository.debit(eq("ACC-M"), anyInt(), any())).thenReturn(1);
+
+        // Act
+        Money available = hotAccountBalances.availableBalance(merchant);
+        hotAccountBalances.debit(merchant, Money.of("150.00"));
+
+        // Assert
+        assertEquals(Money.of("180.00"), available);
+        assertEquals(0, merchant.getBalance().signum());
+        assertTrue(hotAccountBalances.isHot("ACC-M"));
+    }
+
+    @Test
+    void init_SlotsWithoutCountOnRow_BackFillsCount() {
+        // Arrange
+        when(slotRepository.countSlotsByAccount()).thenReturn(List.<Object[]>of(new Object[]{"ACC-M", 4L}));
+
+        // Act
+        hotAccountBalances.init();
+
+        // Assert
+        verify(accountRepository).raiseBalanceSlots("ACC-M", 4);
+        assertTrue(hotAccountBalances.isHot("ACC-M"));
+    }
+
+    @Test
+    void credit_ColdAccount_UpdatesRow() {
+        // Act
+        hotAccountBalances.credit(merchant, Money.of("25.00"));
+
+        // Assert
+        assertEquals(Money.of("125.00"), merchant.getBalance());
+        verifyNoInteractions(slotRepository);
+    }
+
+    private void makeHot(int slots) {
+        when(accountRepository.findById("ACC-M")).thenReturn(Optional.of(merchant));
+        when(slotRepository.findByAccountIdOrderBySlot("ACC-M")).thenReturn(List.of());
+        hotAccountBalances.makeHot("ACC-M", slots);
+        reset(slotRepository);
+    }
+
+    private static Object[] slotBalance(int slot, String balance) {
+        return new Object[]{slot, new BigDecimal(balance)};
+    }
+}
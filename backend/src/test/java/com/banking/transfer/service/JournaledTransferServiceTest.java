@@ -0,0 +1,102 @@
+package com.banking.transfer.service;
+
+import com.banking.transfer.concurrency.BackgroundThreads;
+import com.banking.transfer.dto.TransferRequest;
+import com.banking.transfer.dto.TransferResponse;
+import com.banking.transfer.exception.DuplicateTransferException;
+import com.banking.transfer.idempotency.IdempotencyGuard;
+import com.banking.transfer.money.Money;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class JournaledTransferServiceTest {
+
+    @TempDir
+    Path directory;
+
+    private BatchTransferService batchTransferService;
+    private IdempotencyGuard idempotencyGuard;
+    private JournaledTransferService journaledTransferService;
+    private final CountDownLatch applyReleased = new CountDownLatch(1);
+    private final CountDownLatch applied = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() throws Exception {
+        batchTransferService = mock(BatchTransferService.class);
+        idempotencyGuard = mock(IdempotencyGuard.class);
+        // Holds the applier until a test releases it, so accepted keys stay unapplied
+        when(batchTransferService.transferAll(anyList())).thenAnswer(invocation -> {
+            applyReleased.await(10, TimeUnit.SECONDS);
+            applied.countDown();
+            return List.of();
+        });
+        journaledTransferService = new JournaledTransferService(batchTransferService, new BackgroundThreads(false),
+                idempotencyGuard, new SimpleMeterRegistry(), directory.toString(), DataSize.ofMegabytes(1),
+                64, 1000, 50, Duration.ofSeconds(5));
+        journaledTransferService.open();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        applyReleased.countDown();
+        journaledTransferService.close();
+    }
+
+    @Test
+    void accept_ReturnsTransactionIdAppliedUnder() throws Exception {
+        // Act
+        TransferResponse response = journaledTransferService.accept(request("k1"));
+        applyReleased.countDown();
+        assertTrue(applied.await(10, TimeUnit.SECONDS));
+
+        // Assert
+        assertEquals("ACCEPTED", response.getStatus());
+        assertNotNull(response.getTransactionId());
+        verify(batchTransferService).transferAll(argThat(requests -> requests.size() == 1
+                && response.getTransactionId().equals(requests.get(0).getTransactionId())));
+    }
+
+    @Test
+    void accept_SameKeyNotYetApplied_ThrowsDuplicate() {
+        // Arrange
+        journaledTransferService.accept(request("k1"));
+
+        // Act & Assert: the guard has not seen the key, the reservation has
+        assertThrows(DuplicateTransferException.class, () -> journaledTransferService.accept(request("k1")));
+        verify(idempotencyGuard, times(1)).isDuplicate(any());
+    }
+
+    @Test
+    void accept_KeyAppliedAlready_ThrowsDuplicate() {
+        // Arrange
+        when(idempotencyGuard.isDuplicate("k1")).thenReturn(true);
+
+        // Act & Assert
+        assertThrows(DuplicateTransferException.class, () -> journaledTransferService.accept(request("k1")));
+        verify(batchTransferService, never()).transferAll(anyList());
+    }
+
+    private static TransferRequest request(String idempotencyKey) {
+        return TransferRequest.builder()
+                .fromAccountId("ACC-1")
+                .toAccountId("ACC-2")
+                .amount(Money.of("10.00"))
+                .idempotencyKey(idempotencyKey)
+                .build();
+    }
+}
@@ -0,0 +1,221 @@
+package com.banking.transfer.service;
+
+import com.banking.transfer.concurrency.AccountLockManager;
+import com.banking.transfer.entity.Account;
+import com.banking.transfer.entity.AccountStatus;
+import com.banking.transfer.entity.BalanceCheckpoint;
+import com.banking.transfer.entity.LedgerPosting;
+import com.banking.transfer.entity.PostingType;
+import com.banking.transfer.entity.TransactionLog;
+import com.banking.transfer.entity.TransactionStatus;
+import com.banking.transfer.money.Money;
+import com.banking.transfer.repository.AccountRepository;
+import com.banking.transfer.repository.BalanceCheckpointRepository;
+import com.banking.transfer.repository.BalanceSlotRepository;
+import com.banking.transfer.repository.LedgerPostingRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LedgerServiceTest {
+
+    @Mock
+    private LedgerPostingRepository postingRepository;
+
+    @Mock
+    private BalanceCheckpointRepository checkpointRepository;
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+    private LedgerService ledgerService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        lenient().when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        AccountLockManager lockManager = new AccountLockManager(16, 1000);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        ledgerService = new LedgerService(postingRepository, checkpointRepository, accountRepository,
+                lockManager, transactionTemplate,
+                new HotAccountBalances(mock(BalanceSlotRepository.class), accountRepository, lockManager,
+                        transactionTemplate),
+                mock(DailyStatements.class), meterRegistry, Duration.ofMinutes(1));
+    }
+
+    @Test
+    void recordTransfers_AppendsDebitAndCreditPerTransfer() {
+        // Arrange
+        TransactionLog transfer = TransactionLog.builder()
+                .id("T1")
+                .fromAccountId("ACC-1")
+                .toAccountId("ACC-2")
+                .amount(Money.of("25.00"))
+                .status(TransactionStatus.SUCCESS)
+                .createdOn(LocalDateTime.of(2026, 1, 1, 12, 0))
+                .build();
+
+        // Act
+        ledgerService.recordTransfer(transfer);
+
+        // Assert
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<LedgerPosting>> postings = ArgumentCaptor.forClass(List.class);
+        verify(postingRepository).saveAll(postings.capture());
+        List<LedgerPosting> saved = postings.getValue();
+        assertEquals(2, saved.size());
+        assertEquals("ACC-1", saved.get(0).getAccountId());
+        assertEquals(PostingType.DEBIT, saved.get(0).getType());
+        assertEquals("ACC-2", saved.get(1).getAccountId());
+        assertEquals(PostingType.CREDIT, saved.get(1).getType());
+        assertTrue(saved.stream().allMatch(p -> "T1".equals(p.getTransactionId())
+                && p.getAmount().equals(Money.of("25.00"))));
+    }
+
+    @Test
+    void rebuildBalance_StartsFromLatestCheckpoint() {
+        // Arrange
+        LocalDateTime asOf = LocalDateTime.of(2026, 1, 1, 0, 0);
+        when(checkpointRepository.findFirstByAccountIdOrderByAsOfDesc("ACC-1"))
+                .thenReturn(Optional.of(checkpoint("ACC-1", "800.00", asOf)));
+        when(postingRepository.sumPostings(eq("ACC-1"), eq(asOf), any())).thenReturn(new BigDecimal("-50.00"));
+
+        // Act
+        Money balance = ledgerService.rebuildBalance("ACC-1");
+
+        // Assert
+        assertEquals(Money.of("750.00"), balance);
+    }
+
+    @Test
+    void balanceAsOf_StartsFromCheckpointBeforeInstant() {
+        // Arrange
+        LocalDateTime checkpointAsOf = LocalDateTime.of(2026, 1, 1, 0, 0);
+        LocalDateTime asOf = LocalDateTime.of(2026, 2, 1, 0, 0);
+        when(checkpointRepository.findFirstByAccountIdAndAsOfLessThanEqualOrderByAsOfDesc("ACC-1", asOf))
+                .thenReturn(Optional.of(checkpoint("ACC-1", "800.00", checkpointAsOf)));
+        when(postingRepository.sumPostings("ACC-1", checkpointAsOf, asOf)).thenReturn(new BigDecimal("25.00"));
+
+        // Act
+        Money balance = ledgerService.balanceAsOf("ACC-1", asOf);
+
+        // Assert
+        assertEquals(Money.of("825.00"), balance);
+    }
+
+    @Test
+    void writeCheckpoints_FoldsPostingsSincePreviousCheckpoint() {
+        // Arrange
+        LocalDateTime previousAsOf = LocalDateTime.now().minusHours(1);
+        when(checkpointRepository.findLatestAsOf()).thenReturn(Optional.of(previousAsOf));
+        when(postingRepository.findAccountIdsPostedBetween(eq(previousAsOf), any())).thenReturn(List.of("ACC-1"));
+        when(checkpointRepository.findFirstByAccountIdOrderByAsOfDesc("ACC-1"))
+                .thenReturn(Optional.of(checkpoint("ACC-1", "1000.00", previousAsOf)));
+        when(postingRepository.sumPostings(eq("ACC-1"), eq(previousAsOf), any())).thenReturn(new BigDecimal("-100.00"));
+        when(accountRepository.findById("ACC-1")).thenReturn(Optional.of(account("ACC-1", "900.00")));
+
+        // Act
+        ledgerService.writeCheckpoints();
+
+        // Assert
+        ArgumentCaptor<BalanceCheckpoint> saved = ArgumentCaptor.forClass(BalanceCheckpoint.class);
+        verify(checkpointRepository).save(saved.capture());
+        assertEquals(Money.of("900.00"), saved.getValue().getBalance());
+        assertTrue(saved.getValue().getAsOf().isBefore(LocalDateTime.now().minusSeconds(59)));
+        assertEquals(0, meterRegistry.get("ledger.balance.drift").counter().count());
+    }
+
+    @Test
+    void verifyBalance_ColumnDisagreesWithPostings_ReportsDrift() {
+        // Arrange
+        when(accountRepository.findById("ACC-1")).thenReturn(Optional.of(account("ACC-1", "900.00")));
+        when(checkpointRepository.findFirstByAccountIdOrderByAsOfDesc("ACC-1")).thenReturn(Optional.empty());
+        when(postingRepository.sumPostings(eq("ACC-1"), any(), any())).thenReturn(new BigDecimal("950.00"));
+
+        // Act
+        boolean consistent = ledgerService.verifyBalance("ACC-1");
+
+        // Assert
+        assertFalse(consistent);
+        assertEquals(1, meterRegistry.get("ledger.balance.drift").counter().count());
+    }
+
+    @Test
+    void backfillOpeningBalances_AccountWithoutOpening_PostsTheDifferenceAtItsFirstPosting() {
+        // Arrange
+        LocalDateTime firstPosting = LocalDateTime.of(2026, 1, 1, 9, 0);
+        when(postingRepository.findAccountIdsWithoutOpeningPosting()).thenReturn(List.of("ACC-1"));
+        when(accountRepository.findByIdForUpdate("ACC-1")).thenReturn(Optional.of(account("ACC-1", "900.00")));
+        when(postingRepository.sumPostings(eq("ACC-1"), any(), any())).thenReturn(new BigDecimal("-100.00"));
+        when(postingRepository.findFirstPostedOn("ACC-1")).thenReturn(Optional.of(firstPosting));
+
+        // Act
+        ledgerService.backfillOpeningBalances();
+
+        // Assert
+        ArgumentCaptor<LedgerPosting> saved = ArgumentCaptor.forClass(LedgerPosting.class);
+        verify(postingRepository).save(saved.capture());
+        assertEquals(PostingType.CREDIT, saved.getValue().getType());
+        assertEquals(Money.of("1000.00"), saved.getValue().getAmount());
+        assertNull(saved.getValue().getTransactionId());
+        assertEquals(firstPosting, saved.getValue().getCreatedOn());
+        verify(checkpointRepository).addToAll("ACC-1", new BigDecimal("1000.00"));
+    }
+
+    @Test
+    void backfillOpeningBalances_BackfilledByAnotherNode_PostsNothing() {
+        // Arrange
+        when(postingRepository.findAccountIdsWithoutOpeningPosting()).thenReturn(List.of("ACC-1"));
+        when(accountRepository.findByIdForUpdate("ACC-1")).thenReturn(Optional.of(account("ACC-1", "900.00")));
+        when(postingRepository.existsByAccountIdAndTransactionIdIsNull("ACC-1")).thenReturn(true);
+
+        // Act
+        ledgerService.backfillOpeningBalances();
+
+        // Assert
+        verify(postingRepository, never()).save(any());
+        verifyNoInteractions(checkpointRepository);
+    }
+
+    private static BalanceCheckpoint checkpoint(String accountId, String balance, LocalDateTime asOf) {
+        return BalanceCheckpoint.builder()
+                .accountId(accountId)
+                .balance(Money.of(balance))
+                .asOf(asOf)
+                .build();
+    }
+
+    private static Account account(String id, String balance) {
+        return Account.builder()
+                .id(id)
+                .username("user-" + id)
+                .password("encoded_password")
+                .holderName("Holder " + id)
+                .balance(Money.of(balance))
+                .status(AccountStatus.ACTIVE)
+                .version(0)
+                .build();
+    }
+}
@@ -0,0 +1,200 @@
+package com.banking.transfer.service;
+
+import com.banking.transfer.archive.TransactionArchive;
+import com.banking.transfer.dto.CreateAccountRequest;
+import com.banking.transfer.entity.TransactionLog;
+import com.banking.transfer.entity.TransactionStatus;
+import com.banking.transfer.money.Money;
+import com.banking.transfer.repository.TransactionLogRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:export;DB_CLOSE_DELAY=-1")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class TransactionExporterTest {
+
+    private static final AtomicInteger USERS = new AtomicInteger();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private TransactionLogRepository transactionLogRepository;
+
+    @Autowired
+    private TransactionArchive transactionArchive;
+
+    private String prefix;
+    private String username;
+    private String accountId;
+    private String otherId;
+
+    @BeforeEach
+    void setUp() {
+        prefix = "export" + USERS.incrementAndGet() + "-";
+        username = prefix + "owner";
+        accountId = createAccount(username);
+        otherId = createAccount(prefix + "other");
+    }
+
+    private String createAccount(String name) {
+        return accountService.createAccount(CreateAccountRequest.builder()
+                .username(name)
+                .password("pw")
+                .holderName(name)
+                .build()).getId();
+    }
+
+    private TransactionLog log(String from, String to, String key, LocalDateTime createdOn) {
+        return TransactionLog.builder()
+                .fromAccountId(from)
+                .toAccountId(to)
+                .amount(Money.of("1.25"))
+                .status(TransactionStatus.SUCCESS)
+                .idempotencyKey(prefix + key)
+                .createdOn(createdOn)
+                .build();
+    }
+
+    private MvcResult export(String query, boolean gzip) throws Exception {
+        var request = get("/api/v1/accounts/{id}/transactions/export" + query, accountId)
+                .with(httpBasic(username, "pw"));
+        if (gzip) {
+            request.header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate");
+        }
+        return mockMvc.perform(request).andExpect(status().isOk()).andReturn();
+    }
+
+    private static List<String> lines(byte[] body) {
+        String text = new String(body, StandardCharsets.UTF_8);
+        return text.isEmpty() ? List.of() : List.of(text.split("\n"));
+    }
+
+    @Test
+    void export_Ndjson_AllRowsOldestFirstAcrossFetches() throws Exception {
+        // Arrange: more rows than one fetch, alternating sent and received
+        LocalDateTime start = LocalDateTime.now().minusDays(10);
+        List<TransactionLog> logs = new ArrayList<>();
+        for (int i = 0; i < 1200; i++) {
+            logs.add(i % 2 == 0
+                    ? log(accountId, otherId, "n" + i, start.plusSeconds(i))
+                    : log(otherId, accountId, "n" + i, start.plusSeconds(i)));
+        }
+        transactionLogRepository.saveAll(logs);
+
+        // Act
+        MvcResult result = export("", false);
+
+        // Assert
+        assertEquals("application/x-ndjson", result.getResponse().getContentType());
+        List<String> lines = lines(result.getResponse().getContentAsByteArray());
+        assertEquals(1200, lines.size());
+        JsonNode first = objectMapper.readTree(lines.get(0));
+        JsonNode last = objectMapper.readTree(lines.get(1199));
+        assertEquals(logs.get(0).getId(), first.get("id").asText());
+        assertEquals("DEBIT", first.get("type").asText());
+        assertEquals("1.25", first.get("amount").asText());
+        assertEquals(logs.get(1199).getId(), last.get("id").asText());
+        assertEquals("CREDIT", last.get("type").asText());
+    }
+
+    @Test
+    void export_CsvWithRange_QuotesFieldsAndIncludesArchivedRows() throws Exception {
+        // Arrange
+        LocalDateTime now = LocalDateTime.now();
+        transactionLogRepository.save(log(accountId, otherId, "archived", now.minusDays(200)));
+        transactionArchive.archiveBefore(now.minusDays(100));
+        TransactionLog failed = log(accountId, otherId, "failed", now.minusDays(2));
+        failed.setStatus(TransactionStatus.FAILED);
+        failed.setFailureReason("Limit exceeded, \"daily\"");
+        transactionLogRepository.save(failed);
+        transactionLogRepository.save(log(otherId, accountId, "outside", now.minusDays(1)));
+
+        // Act
+        MvcResult result = export("?format=csv&from=" + now.minusDays(365) + "&to=" + now.minusDays(1).minusHours(1), false);
+
+        // Assert
+        assertTrue(result.getResponse().getContentType().startsWith("text/csv"));
+        assertTrue(result.getResponse().getHeader(HttpHeaders.CONTENT_DISPOSITION).contains(accountId + "-transactions.csv"));
+        List<String> lines = lines(result.getResponse().getContentAsByteArray());
+        assertEquals(3, lines.size());
+        assertEquals("id,type,fromAccountId,toAccountId,amount,status,failureReason,createdOn", lines.get(0));
+        assertTrue(lines.get(1).contains(",DEBIT," + accountId + "," + otherId + ",1.25,SUCCESS,,"));
+        assertTrue(lines.get(2).contains(",FAILED,\"Limit exceeded, \"\"daily\"\"\","));
+    }
+
+    @Test
+    void export_AcceptsGzip_CompressesBody() throws Exception {
+        // Arrange
+        transactionLogRepository.save(log(accountId, otherId, "gz", LocalDateTime.now().minusHours(1)));
+
+        // Act
+        MvcResult result = export("?format=ndjson", true);
+
+        // Assert
+        assertEquals("gzip", result.getResponse().getHeader(HttpHeaders.CONTENT_ENCODING));
+        List<String> lines = lines(gunzip(result.getResponse().getContentAsByteArray()));
+        assertEquals(1, lines.size());
+        assertEquals(prefix + "gz", transactionLogRepository.findById(
+                objectMapper.readTree(lines.get(0)).get("id").asText()).orElseThrow().getIdempotencyKey());
+    }
+
+    @Test
+    void export_InvalidRequest_ReturnsErrorBeforeStreaming() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/api/v1/accounts/{id}/transactions/export", "missing")
+                        .with(httpBasic(username, "pw"))
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+                .andExpect(status().isNotFound())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING));
+        mockMvc.perform(get("/api/v1/accounts/{id}/transactions/export", accountId)
+                        .param("format", "xml")
+                        .with(httpBasic(username, "pw")))
+                .andExpect(status().isUnprocessableEntity());
+    }
+
+    @Test
+    void csvField_QuotesOnlyWhenNeeded() {
+        assertEquals("", TransactionExporter.csvField(null));
+        assertEquals("plain", TransactionExporter.csvField("plain"));
+        assertEquals("\"a,b\"", TransactionExporter.csvField("a,b"));
+        assertEquals("\"say \"\"hi\"\"\"", TransactionExporter.csvField("say \"hi\""));
+    }
+
+    private static byte[] gunzip(byte[] body) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            return in.readAllBytes();
+        }
+    }
+}
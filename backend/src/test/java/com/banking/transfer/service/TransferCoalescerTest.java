@@ -0,0 +1,181 @@
+package com.banking.transfer.service;
+
+import com.banking.transfer.concurrency.BackgroundThreads;
+import com.banking.transfer.dto.TransferRequest;
+import com.banking.transfer.dto.TransferResponse;
+import com.banking.transfer.exception.InsufficientBalanceException;
+import com.banking.transfer.exception.TransferOverloadedException;
+import com.banking.transfer.money.Money;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TransferCoalescerTest {
+
+    @Mock
+    private BatchTransferService batchTransferService;
+
+    private SimpleMeterRegistry meterRegistry;
+    private TransferCoalescer coalescer;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        coalescer = new TransferCoalescer(batchTransferService, new BackgroundThreads(false), meterRegistry,
+                Duration.ofMillis(50), 50, 1, 1000, Duration.ofSeconds(5));
+        lenient().when(batchTransferService.transferAll(anyList())).thenAnswer(invocation -> {
+            List<TransferRequest> requests = invocation.getArgument(0);
+            return requests.stream()
+                    .map(request -> request.getAmount().compareTo(Money.of("1000")) > 0
+                            ? TransferOutcome.failure(request, new InsufficientBalanceException(
+                                    "Insufficient balance in source account"))
+                            : TransferOutcome.success(request, TransferResponse.builder()
+                                    .status("SUCCESS")
+                                    .amount(request.getAmount())
+                                    .build()))
+                    .toList();
+        });
+        coalescer.start();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        coalescer.stop();
+    }
+
+    @Test
+    void transfer_ConcurrentCallers_ShareBatches() throws Exception {
+        // Arrange
+        int callers = 20;
+        ExecutorService pool = Executors.newFixedThreadPool(callers);
+
+        // Act
+        List<Future<TransferResponse>> responses = new ArrayList<>();
+        for (int i = 0; i < callers; i++) {
+            String key = "k" + i;
+            responses.add(pool.submit(() -> coalescer.transfer(request("10.00", key))));
+        }
+
+        // Assert
+        for (Future<TransferResponse> response : responses) {
+            assertEquals("SUCCESS", response.get().getStatus());
+        }
+        pool.shutdown();
+        verify(batchTransferService, atMost(callers - 1)).transferAll(anyList());
+        assertEquals(callers, meterRegistry.get("transfer.coalescer.batch.size").summary().totalAmount());
+    }
+
+    @Test
+    void transfer_OneItemFails_OthersSucceed() throws Exception {
+        // Arrange
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+
+        // Act
+        Future<TransferResponse> ok = pool.submit(() -> coalescer.transfer(request("10.00", "ok")));
+        Future<TransferResponse> failing = pool.submit(() -> coalescer.transfer(request("5000.00", "too-much")));
+
+        // Assert
+        assertEquals("SUCCESS", ok.get().getStatus());
+        Exception error = assertThrows(Exception.class, failing::get);
+        assertInstanceOf(InsufficientBalanceException.class, error.getCause());
+        pool.shutdown();
+    }
+
+    @Test
+    void transfer_BatchOutlastsTimeout_WaitsForOutcome() throws Exception {
+        // Arrange
+        coalescer.stop();
+        coalescer = new TransferCoalescer(batchTransferService, new BackgroundThreads(false), meterRegistry,
+                Duration.ofMillis(1), 50, 1, 1000, Duration.ofMillis(100));
+        CountDownLatch release = new CountDownLatch(1);
+        when(batchTransferService.transferAll(anyList())).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            List<TransferRequest> requests = invocation.getArgument(0);
+            return requests.stream()
+                    .map(request -> TransferOutcome.success(request, TransferResponse.builder().status("SUCCESS").build()))
+                    .toList();
+        });
+        coalescer.start();
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+
+        // Act
+        Future<TransferResponse> response = pool.submit(() -> coalescer.transfer(request("10.00", "slow")));
+        Thread.sleep(300);
+        release.countDown();
+
+        // Assert
+        // The batch may have committed, so the caller gets its outcome rather than a timeout
+        assertEquals("SUCCESS", response.get(5, TimeUnit.SECONDS).getStatus());
+        pool.shutdown();
+    }
+
+    @Test
+    void transfer_NotTakenBeforeTimeout_IsWithdrawn() throws Exception {
+        // Arrange
+        coalescer.stop();
+        coalescer = new TransferCoalescer(batchTransferService, new BackgroundThreads(false), meterRegistry,
+                Duration.ofMillis(1), 50, 1, 1000, Duration.ofMillis(100));
+        CountDownLatch busy = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(batchTransferService.transferAll(anyList())).thenAnswer(invocation -> {
+            busy.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            List<TransferRequest> requests = invocation.getArgument(0);
+            return requests.stream()
+                    .map(request -> TransferOutcome.success(request, TransferResponse.builder().status("SUCCESS").build()))
+                    .toList();
+        });
+        coalescer.start();
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        Future<TransferResponse> first = pool.submit(() -> coalescer.transfer(request("10.00", "first")));
+        assertTrue(busy.await(5, TimeUnit.SECONDS));
+
+        // Act
+        // The only worker is busy with the first batch until the second caller gives up
+        assertThrows(TransferOverloadedException.class, () -> coalescer.transfer(request("10.00", "second")));
+        release.countDown();
+
+        // Assert
+        assertEquals("SUCCESS", first.get(5, TimeUnit.SECONDS).getStatus());
+        coalescer.stop();
+        // The withdrawn transfer is never applied, so a retry with its key cannot double it
+        verify(batchTransferService, times(1)).transferAll(anyList());
+        pool.shutdown();
+    }
+
+    @Test
+    void transfer_InvalidRequest_RejectedBeforeQueueing() {
+        // Act & Assert
+        TransferRequest sameAccount = request("10.00", "k1");
+        sameAccount.setToAccountId("ACC-1");
+        assertThrows(IllegalArgumentException.class, () -> coalescer.transfer(sameAccount));
+        verifyNoInteractions(batchTransferService);
+    }
+
+    private static TransferRequest request(String amount, String idempotencyKey) {
+        return TransferRequest.builder()
+                .fromAccountId("ACC-1")
+                .toAccountId("ACC-2")
+                .amount(Money.of(amount))
+                .idempotencyKey(idempotencyKey)
+                .build();
+    }
+}
@@ -0,0 +1,59 @@
+package com.banking.transfer.service;
+
+import com.banking.transfer.dto.TransferRequest;
+import com.banking.transfer.dto.TransferResponse;
+import com.banking.transfer.exception.AccountLockTimeoutException;
+import com.banking.transfer.exception.DuplicateTransferException;
+import com.banking.transfer.exception.InsufficientBalanceException;
+import com.banking.transfer.money.Money;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TransferMetricsTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final TransferMetrics transferMetrics = new TransferMetrics(meterRegistry);
+
+    @Test
+    void reason_MapsKnownFailures() {
+        assertEquals("insufficient_balance", TransferMetrics.reason(new InsufficientBalanceException("no funds")));
+        assertEquals("duplicate", TransferMetrics.reason(new DuplicateTransferException("seen")));
+        assertEquals("lock_conflict", TransferMetrics.reason(new AccountLockTimeoutException("busy")));
+        assertEquals("lock_conflict", TransferMetrics.reason(new OptimisticLockingFailureException("stale")));
+        assertEquals("invalid_request", TransferMetrics.reason(new IllegalArgumentException("same account")));
+        assertEquals("other", TransferMetrics.reason(new IllegalStateException("boom")));
+    }
+
+    @Test
+    void record_CountsOutcomesByResultAndReason() {
+        // Arrange
+        TransferRequest request = TransferRequest.builder()
+                .fromAccountId("ACC-1")
+                .toAccountId("ACC-2")
+                .amount(Money.of("10.00"))
+                .idempotencyKey("k1")
+                .build();
+
+        // Act
+        transferMetrics.record(List.of(
+                TransferOutcome.success(request, TransferResponse.builder().status("SUCCESS").build()),
+                TransferOutcome.failure(request, new InsufficientBalanceException("no funds")),
+                TransferOutcome.failure(request, new InsufficientBalanceException("no funds"))));
+        transferMetrics.recordFailure(new DuplicateTransferException("seen"));
+
+        // Assert
+        assertEquals(1, outcomes("success", "none"));
+        assertEquals(2, outcomes("failure", "insufficient_balance"));
+        assertEquals(1, outcomes("failure", "duplicate"));
+        assertEquals(0, outcomes("failure", "lock_conflict"));
+    }
+
+    private double outcomes(String result, String reason) {
+        return meterRegistry.get("transfer.outcomes").tag("result", result).tag("reason", reason).counter().count();
+    }
+}
@@ -0,0 +1,78 @@
+package com.banking.transfer.service;
+
+import com.banking.transfer.dto.TransferRequest;
+import com.banking.transfer.entity.Account;
+import com.banking.transfer.entity.AccountStatus;
+import com.banking.transfer.exception.AccountNotActiveException;
+import com.banking.transfer.exception.InsufficientBalanceException;
+import com.banking.transfer.money.Money;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TransferRulesTest {
+
+    private static Account account(String id, String balance, AccountStatus status) {
+        return Account.builder()
+                .id(id)
+                .balance(Money.of(balance))
+                .status(status)
+                .build();
+    }
+
+    private static TransferRequest request(String from, String to, String amount) {
+        return TransferRequest.builder()
+                .fromAccountId(from)
+                .toAccountId(to)
+                .amount(Money.of(amount))
+                .idempotencyKey("key")
+                .build();
+    }
+
+    @Test
+    void validate_RejectsSameAccountAndNonPositiveAmount() {
+        assertThrows(IllegalArgumentException.class, () -> TransferRules.validate(request("ACC-1", "ACC-1", "1.00")));
+        assertThrows(IllegalArgumentException.class, () -> TransferRules.validate(request("ACC-1", "ACC-2", "0.00")));
+        assertDoesNotThrow(() -> TransferRules.validate(request("ACC-1", "ACC-2", "0.01")));
+    }
+
+    @Test
+    void apply_MovesAmountBetweenAccounts() {
+        // Arrange
+        Account from = account("ACC-1", "100.00", AccountStatus.ACTIVE);
+        Account to = account("ACC-2", "5.00", AccountStatus.ACTIVE);
+
+        // Act
+        TransferRules.apply(from, to, Money.of("40.00"));
+
+        // Assert
+        assertEquals(Money.of("60.00"), from.getBalance());
+        assertEquals(Money.of("45.00"), to.getBalance());
+    }
+
+    @Test
+    void apply_InsufficientBalance_LeavesBalancesUntouched() {
+        // Arrange
+        Account from = account("ACC-1", "10.00", AccountStatus.ACTIVE);
+        Account to = account("ACC-2", "5.00", AccountStatus.ACTIVE);
+
+        // Act & Assert
+        assertThrows(InsufficientBalanceException.class, () -> TransferRules.apply(from, to, Money.of("10.01")));
+        assertEquals(Money.of("10.00"), from.getBalance());
+        assertEquals(Money.of("5.00"), to.getBalance());
+    }
+
+    @Test
+    void apply_InactiveAccount_Rejected() {
+        Account active = account("ACC-1", "10.00", AccountStatus.ACTIVE);
+        Account closed = account("ACC-2", "10.00", AccountStatus.CLOSED);
+
+        AccountNotActiveException source = assertThrows(AccountNotActiveException.class,
+                () -> TransferRules.apply(closed, active, Money.of("1.00")));
+        AccountNotActiveException destination = assertThrows(AccountNotActiveException.class,
+                () -> TransferRules.apply(active, closed, Money.of("1.00")));
+
+        assertEquals("Source account is not active", source.getMessage());
+        assertEquals("Destination account is not active", destination.getMessage());
+    }
+}
@@ -1,23 +1,39 @@
 package com.banking.transfer.service;
 
+import com.banking.transfer.audit.FailedTransferJournal;
+import com.banking.transfer.cache.AccountSnapshotCache;
+import com.banking.transfer.concurrency.AccountLockManager;
+import com.banking.transfer.concurrency.ConflictRetryExecutor;
 import com.banking.transfer.dto.TransferRequest;
 import com.banking.transfer.dto.TransferResponse;
 import com.banking.transfer.entity.Account;
 import com.banking.transfer.entity.AccountStatus;
 import com.banking.transfer.entity.TransactionLog;
+import com.banking.transfer.entity.TransactionStatus;
 import com.banking.transfer.exception.AccountNotFoundException;
 import com.banking.transfer.exception.DuplicateTransferException;
 import com.banking.transfer.exception.InsufficientBalanceException;
+import com.banking.transfer.idempotency.IdempotencyGuard;
+import com.banking.transfer.money.Money;
 import com.banking.transfer.repository.AccountRepository;
+import com.banking.transfer.repository.BalanceSlotRepository;
 import com.banking.transfer.repository.TransactionLogRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-
-import java.math.BigDecimal;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -33,6 +49,36 @@ class TransferServiceTest {
     @Mock
     private TransactionLogRepository transactionLogRepository;
 
+    @Spy
+    private AccountLockManager accountLockManager = new AccountLockManager(16, 1000);
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private IdempotencyGuard idempotencyGuard;
+
+    @Mock
+    private AccountSnapshotCache accountSnapshotCache;
+
+    @Mock
+    private FailedTransferJournal failedTransferJournal;
+
+    @Mock
+    private LedgerService ledgerService;
+
+    @Spy
+    private HotAccountBalances hotAccountBalances = new HotAccountBalances(
+            mock(BalanceSlotRepository.class), mock(AccountRepository.class), new AccountLockManager(16, 1000),
+            mock(TransactionTemplate.class));
+
+    @Spy
+    private ConflictRetryExecutor conflictRetryExecutor = new ConflictRetryExecutor(new SimpleMeterRegistry(),
+            3, Duration.ZERO, Duration.ZERO, 10, 10, 100, Duration.ofSeconds(1), 10);
+
+    @Spy
+    private TransferMetrics transferMetrics = new TransferMetrics(new SimpleMeterRegistry());
+
     @InjectMocks
     private TransferService transferService;
 
@@ -42,12 +88,15 @@ class TransferServiceTest {
 
     @BeforeEach
     void setUp() {
+        lenient().when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+
         fromAccount = Account.builder()
                 .id("ACC-1")
                 .username("alice")
                 .password("encoded_password")
                 .holderName("Alice Johnson")
-                .balance(new BigDecimal("5000.00"))
+                .balance(Money.of("5000.00"))
                 .status(AccountStatus.ACTIVE)
                 .version(0)
                 .build();
@@ -57,7 +106,7 @@ class TransferServiceTest {
                 .username("bob")
                 .password("encoded_password")
                 .holderName("Bob Smith")
-                .balance(new BigDecimal("3000.00"))
+                .balance(Money.of("3000.00"))
                 .status(AccountStatus.ACTIVE)
                 .version(0)
                 .build();
@@ -65,7 +114,7 @@ class TransferServiceTest {
         transferRequest = TransferRequest.builder()
                 .fromAccountId("ACC-1")
                 .toAccountId("ACC-2")
-                .amount(new BigDecimal("500.00"))
+                .amount(Money.of("500.00"))
                 .idempotencyKey("txn-001")
                 .build();
     }
@@ -73,7 +122,7 @@ class TransferServiceTest {
     @Test
     void transfer_Success() {
         // Arrange
-        when(transactionLogRepository.findByIdempotencyKey(anyString())).thenReturn(Optional.empty());
+        when(idempotencyGuard.isDuplicate(anyString())).thenReturn(false);
         when(accountRepository.findById("ACC-1")).thenReturn(Optional.of(fromAccount));
         when(accountRepository.findById("ACC-2")).thenReturn(Optional.of(toAccount));
         when(accountRepository.save(any(Account.class))).thenAnswer(invocation -> invocation.getArgument(0));
@@ -89,24 +138,26 @@ class TransferServiceTest {
         // Assert
         assertNotNull(response);
         assertEquals("SUCCESS", response.getStatus());
-        assertEquals(new BigDecimal("500.00"), response.getAmount());
+        assertEquals(Money.of("500.00"), response.getAmount());
 
         // Verify balances updated
-        assertEquals(new BigDecimal("4500.00"), fromAccount.getBalance());
-        assertEquals(new BigDecimal("3500.00"), toAccount.getBalance());
+        assertEquals(Money.of("4500.00"), fromAccount.getBalance());
+        assertEquals(Money.of("3500.00"), toAccount.getBalance());
 
-        verify(transactionLogRepository, times(1)).findByIdempotencyKey("txn-001");
+        verify(idempotencyGuard, times(1)).isDuplicate("txn-001");
         verify(accountRepository, times(2)).findById(anyString());
         verify(accountRepository, times(2)).save(any(Account.class));
         verify(transactionLogRepository, times(1)).save(any(TransactionLog.class));
+        verify(idempotencyGuard, times(1)).record("txn-001");
+        verify(accountSnapshotCache, times(1)).publishAfterCommit(List.of(fromAccount, toAccount));
     }
 
     @Test
     void transfer_InsufficientBalance_ThrowsException() {
         // Arrange
-        transferRequest.setAmount(new BigDecimal("10000.00")); // More than balance
+        transferRequest.setAmount(Money.of("10000.00")); // More than balance
 
-        when(transactionLogRepository.findByIdempotencyKey(anyString())).thenReturn(Optional.empty());
+        when(idempotencyGuard.isDuplicate(anyString())).thenReturn(false);
         when(accountRepository.findById("ACC-1")).thenReturn(Optional.of(fromAccount));
         when(accountRepository.findById("ACC-2")).thenReturn(Optional.of(toAccount));
 
@@ -117,15 +168,18 @@ class TransferServiceTest {
 
         assertTrue(exception.getMessage().contains("Insufficient balance"));
 
-        verify(transactionLogRepository, times(1)).findByIdempotencyKey("txn-001");
+        verify(idempotencyGuard, times(1)).isDuplicate("txn-001");
         verify(accountRepository, never()).save(any(Account.class));
+        verify(accountSnapshotCache, never()).publishAfterCommit(anyCollection());
+        verify(failedTransferJournal, times(1)).submit(argThat(log ->
+                log.getStatus() == TransactionStatus.FAILED && "txn-001".equals(log.getIdempotencyKey())));
+        verify(transactionLogRepository, never()).save(any(TransactionLog.class));
     }
 
     @Test
     void transfer_DuplicateIdempotencyKey_ThrowsException() {
         // Arrange
-        TransactionLog existingLog = new TransactionLog();
-        when(transactionLogRepository.findByIdempotencyKey("txn-001")).thenReturn(Optional.of(existingLog));
+        when(idempotencyGuard.isDuplicate("txn-001")).thenReturn(true);
 
         // Act & Assert
         DuplicateTransferException exception = assertThrows(
@@ -134,7 +188,7 @@ class TransferServiceTest {
 
         assertTrue(exception.getMessage().contains("Duplicate"));
 
-        verify(transactionLogRepository, times(1)).findByIdempotencyKey("txn-001");
+        verify(idempotencyGuard, times(1)).isDuplicate("txn-001");
         verify(accountRepository, never()).findById(anyString());
         verify(accountRepository, never()).save(any(Account.class));
     }
@@ -158,7 +212,7 @@ class TransferServiceTest {
     @Test
     void transfer_FromAccountNotFound_ThrowsException() {
         // Arrange
-        when(transactionLogRepository.findByIdempotencyKey(anyString())).thenReturn(Optional.empty());
+        when(idempotencyGuard.isDuplicate(anyString())).thenReturn(false);
         when(accountRepository.findById("ACC-1")).thenReturn(Optional.empty());
 
         // Act & Assert
@@ -171,4 +225,78 @@ class TransferServiceTest {
         verify(accountRepository, times(1)).findById("ACC-1");
         verify(accountRepository, never()).save(any(Account.class));
     }
+
+    @Test
+    void transfer_RunsUnderLocksOfBothAccounts() {
+        // Arrange
+        when(idempotencyGuard.isDuplicate(anyString())).thenReturn(false);
+        when(accountRepository.findById("ACC-1")).thenReturn(Optional.of(fromAccount));
+        when(accountRepository.findById("ACC-2")).thenReturn(Optional.of(toAccount));
+        when(transactionLogRepository.save(any(TransactionLog.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        transferService.transfer(transferRequest);
+
+        // Assert
+        verify(accountLockManager, times(1)).withLocks(eq(List.of("ACC-1", "ACC-2")), any());
+        verify(transactionTemplate, times(1)).execute(any());
+    }
+
+    @Test
+    void transfer_KeyCommittedConcurrently_ThrowsDuplicate() {
+        // Arrange
+        doThrow(new DataIntegrityViolationException("unique idempotency_key"))
+                .when(transactionTemplate).execute(any());
+        when(transactionLogRepository.findByIdempotencyKey("txn-001")).thenReturn(Optional.of(new TransactionLog()));
+
+        // Act & Assert
+        assertThrows(DuplicateTransferException.class, () -> transferService.transfer(transferRequest));
+    }
+
+    @Test
+    void transfer_OptimisticLockConflict_RetriedWithoutJournalingFailure() {
+        // Arrange
+        when(idempotencyGuard.isDuplicate(anyString())).thenReturn(false);
+        when(accountRepository.findById("ACC-1")).thenReturn(Optional.of(fromAccount));
+        when(accountRepository.findById("ACC-2")).thenReturn(Optional.of(toAccount));
+        when(accountRepository.save(any(Account.class)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Account.class, "ACC-1"))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+        when(transactionLogRepository.save(any(TransactionLog.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        TransferResponse response = transferService.transfer(transferRequest);
+
+        // Assert
+        assertEquals("SUCCESS", response.getStatus());
+        verify(transactionTemplate, times(2)).execute(any());
+        verify(failedTransferJournal, never()).submit(any());
+    }
+
+    @Test
+    void transfer_DatabaseError_RethrownWithoutJournalingFailure() {
+        // Arrange
+        when(idempotencyGuard.isDuplicate(anyString())).thenReturn(false);
+        when(accountRepository.findById("ACC-1"))
+                .thenThrow(new DataAccessResourceFailureException("connection reset"));
+
+        // Act & Assert
+        assertThrows(DataAccessResourceFailureException.class, () -> transferService.transfer(transferRequest));
+        verify(failedTransferJournal, never()).submit(any());
+    }
+
+    @Test
+    void transfer_PersistentConflict_GivesUpAfterMaxAttempts() {
+        // Arrange
+        when(idempotencyGuard.isDuplicate(anyString())).thenReturn(false);
+        when(accountRepository.findById("ACC-1")).thenReturn(Optional.of(fromAccount));
+        when(accountRepository.findById("ACC-2")).thenReturn(Optional.of(toAccount));
+        when(accountRepository.save(any(Account.class)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Account.class, "ACC-1"));
+
+        // Act & Assert
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> transferService.transfer(transferRequest));
+        verify(transactionTemplate, times(3)).execute(any());
+        verify(failedTransferJournal, never()).submit(any());
+    }
 }
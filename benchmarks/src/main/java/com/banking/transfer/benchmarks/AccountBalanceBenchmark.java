@@ -0,0 +1,82 @@
+package com.banking.transfer.benchmarks;
+
+import com.banking.transfer.entity.Account;
+import com.banking.transfer.entity.AccountStatus;
+import com.banking.transfer.money.Money;
+import com.banking.transfer.service.TransferRules;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory balance arithmetic of one transfer: the {@link Money} debit and credit on
+ * {@link Account}, the same step behind the active and funds checks of {@link TransferRules},
+ * and the {@code BigDecimal} arithmetic the balances used before for comparison.
+ * Each operation moves the amount there and back, so the balances stay put however many
+ * operations an iteration runs. Run with {@code -prof gc} to see the allocation per operation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class AccountBalanceBenchmark {
+
+    private static final Money AMOUNT = Money.of("12.34");
+    private static final BigDecimal DECIMAL_AMOUNT = new BigDecimal("12.34");
+
+    private Account from;
+    private Account to;
+    private BigDecimal fromDecimal;
+    private BigDecimal toDecimal;
+
+    @Setup
+    public void setUp() {
+        from = account("ACC-1", "1000.00");
+        to = account("ACC-2", "1000.00");
+        fromDecimal = new BigDecimal("1000.00");
+        toDecimal = new BigDecimal("1000.00");
+    }
+
+    private static Account account(String id, String balance) {
+        return Account.builder()
+                .id(id)
+                .balance(Money.of(balance))
+                .status(AccountStatus.ACTIVE)
+                .build();
+    }
+
+    @Benchmark
+    public boolean debitAndCredit() {
+        from.debit(AMOUNT);
+        to.credit(AMOUNT);
+        to.debit(AMOUNT);
+        from.credit(AMOUNT);
+        return from.hasFunds(AMOUNT);
+    }
+
+    @Benchmark
+    public boolean applyRules() {
+        TransferRules.apply(from, to, AMOUNT);
+        TransferRules.apply(to, from, AMOUNT);
+        return from.hasFunds(AMOUNT);
+    }
+
+    @Benchmark
+    public BigDecimal bigDecimalDebitAndCredit() {
+        fromDecimal = debit(fromDecimal, DECIMAL_AMOUNT);
+        toDecimal = toDecimal.add(DECIMAL_AMOUNT);
+        toDecimal = debit(toDecimal, DECIMAL_AMOUNT);
+        fromDecimal = fromDecimal.add(DECIMAL_AMOUNT);
+        return fromDecimal;
+    }
+
+    private static BigDecimal debit(BigDecimal balance, BigDecimal amount) {
+        if (balance.compareTo(amount) < 0) {
+            throw new IllegalArgumentException("Insufficient balance");
+        }
+        return balance.subtract(amount);
+    }
+}
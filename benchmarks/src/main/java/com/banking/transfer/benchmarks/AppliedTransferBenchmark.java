@@ -0,0 +1,152 @@
+package com.banking.transfer.benchmarks;
+
+import com.banking.transfer.MoneyTransferSystemApplication;
+import com.banking.transfer.dto.AccountResponse;
+import com.banking.transfer.dto.CreateAccountRequest;
+import com.banking.transfer.dto.TransferRequest;
+import com.banking.transfer.exception.TransferJournalException;
+import com.banking.transfer.money.Money;
+import com.banking.transfer.service.AccountService;
+import com.banking.transfer.service.JournaledTransferService;
+import com.banking.transfer.service.TransferService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.dao.ConcurrencyFailureException;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Time until {@value #TRANSFERS} transfers submitted by {@value #CALLERS} threads are in
+ * {@code accounts} and {@code transaction_logs}, against in-memory H2.
+ * <p>
+ * Unlike {@link TransferBenchmark}, whose {@code journal} score stops at the durable
+ * append, {@code engine=journal} here also waits for the applier: the invocation ends when
+ * the {@code transfer.journal.lag} gauge is back to zero. {@code engine=direct} calls
+ * {@link TransferService#transfer}, which has applied the transfer when it returns. The
+ * score is per transfer, so its inverse is the applied rate. Destinations are spread as in
+ * {@code TransferBenchmark}'s {@code spread}.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@OperationsPerInvocation(AppliedTransferBenchmark.TRANSFERS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AppliedTransferBenchmark {
+
+    static final int TRANSFERS = 10_000;
+    private static final int CALLERS = 4;
+    private static final int ACCOUNTS = 100;
+    private static final Money AMOUNT = Money.of("0.01");
+
+    @Param({"direct", "journal"})
+    public String engine;
+
+    private ConfigurableApplicationContext context;
+    private TransferService transferService;
+    private JournaledTransferService journaledTransferService;
+    private Gauge journalLag;
+    private ExecutorService callers;
+    private Path journalDir;
+    private final List<String> accountIds = new ArrayList<>();
+    private final AtomicLong sequence = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        journalDir = Files.createTempDirectory("applied-bench-journal");
+        context = new SpringApplicationBuilder(MoneyTransferSystemApplication.class)
+                .run("--spring.profiles.active=benchmark",
+                        "--spring.datasource.url=jdbc:h2:mem:applied;DB_CLOSE_DELAY=-1",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--server.port=0",
+                        "--transfer.engine.mode=" + engine,
+                        "--transfer.journal.dir=" + journalDir,
+                        // Room for a whole invocation, so accept never reports the journal busy
+                        "--transfer.journal.capacity=" + TRANSFERS,
+                        "--audit.journal.dir=" + journalDir.resolve("audit"),
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.banking.transfer=WARN");
+        transferService = context.getBean(TransferService.class);
+        journaledTransferService = context.getBeanProvider(JournaledTransferService.class).getIfAvailable();
+        journalLag = context.getBean(MeterRegistry.class).find("transfer.journal.lag").gauge();
+        callers = Executors.newFixedThreadPool(CALLERS);
+
+        AccountService accountService = context.getBean(AccountService.class);
+        for (int i = 0; i < ACCOUNTS; i++) {
+            AccountResponse account = accountService.createAccount(CreateAccountRequest.builder()
+                    .username("applied" + i)
+                    .password("password")
+                    .holderName("Applied " + i)
+                    .initialBalance(Money.of("1000000000.00"))
+                    .build());
+            accountIds.add(account.getId());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        callers.shutdownNow();
+        context.close();
+        try (var files = Files.walk(journalDir)) {
+            files.sorted((a, b) -> b.compareTo(a)).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public long applyAll() throws Exception {
+        List<Future<Long>> submitted = new ArrayList<>(CALLERS);
+        for (int caller = 0; caller < CALLERS; caller++) {
+            submitted.add(callers.submit(() -> submit(TRANSFERS / CALLERS)));
+        }
+        long failed = 0;
+        for (Future<Long> future : submitted) {
+            failed += future.get();
+        }
+        if (journaledTransferService != null) {
+            // Accepted means durable; wait for the applier to catch up without taking its CPU
+            while (journalLag.value() > 0) {
+                Thread.sleep(1);
+            }
+        }
+        return failed;
+    }
+
+    private long submit(int count) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long failed = 0;
+        for (int i = 0; i < count; i++) {
+            int from = random.nextInt(ACCOUNTS);
+            int to = (from + 1 + random.nextInt(ACCOUNTS - 1)) % ACCOUNTS;
+            TransferRequest request = TransferRequest.builder()
+                    .fromAccountId(accountIds.get(from))
+                    .toAccountId(accountIds.get(to))
+                    .amount(AMOUNT)
+                    .idempotencyKey("applied-" + engine + "-" + sequence.incrementAndGet())
+                    .build();
+            try {
+                if (journaledTransferService != null) {
+                    journaledTransferService.accept(request);
+                } else {
+                    transferService.transfer(request);
+                }
+            } catch (ConcurrencyFailureException | TransferJournalException e) {
+                failed++;
+            }
+        }
+        return failed;
+    }
+}
@@ -0,0 +1,89 @@
+package com.banking.transfer.benchmarks;
+
+import com.banking.transfer.dto.TransactionPage;
+import com.banking.transfer.dto.TransactionResponse;
+import com.banking.transfer.dto.TransferRequest;
+import com.banking.transfer.dto.TransferResponse;
+import com.banking.transfer.entity.TransactionStatus;
+import com.banking.transfer.money.Money;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON bodies of the transfer API, with an {@link ObjectMapper} configured the way Spring
+ * Boot configures the one behind the controllers.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DtoSerializationBenchmark {
+
+    private ObjectMapper objectMapper;
+    private TransferResponse transferResponse;
+    private TransactionPage transactionPage;
+    private String transferRequestJson;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        transferResponse = TransferResponse.builder()
+                .transactionId("0C9Q4A7S2M1XH")
+                .status("SUCCESS")
+                .message("Transfer completed successfully")
+                .debitedFrom("ACC-0C9Q4A7S2M1XA")
+                .creditedTo("ACC-0C9Q4A7S2M1XB")
+                .amount(Money.of("250.00"))
+                .build();
+
+        List<TransactionResponse> items = new ArrayList<>();
+        LocalDateTime newest = LocalDateTime.of(2024, 6, 1, 12, 0);
+        for (int i = 0; i < 50; i++) {
+            items.add(TransactionResponse.builder()
+                    .id(String.format("TX%011d", i))
+                    .fromAccountId("ACC-0C9Q4A7S2M1XA")
+                    .toAccountId("ACC-0C9Q4A7S2M1XB")
+                    .amount(Money.of("25.00"))
+                    .status(TransactionStatus.SUCCESS)
+                    .createdOn(newest.minusMinutes(i))
+                    .type("DEBIT")
+                    .build());
+        }
+        transactionPage = TransactionPage.builder()
+                .items(items)
+                .nextCursor("MjAyNC0wNi0wMVQxMTowOTowMHxUWDAwMDAwMDAwMDQ5")
+                .build();
+
+        transferRequestJson = objectMapper.writeValueAsString(TransferRequest.builder()
+                .fromAccountId("ACC-0C9Q4A7S2M1XA")
+                .toAccountId("ACC-0C9Q4A7S2M1XB")
+                .amount(Money.of("250.00"))
+                .idempotencyKey("6f1c2a8e-5d0b-4c47-9a53-0b6f0e6c9d21")
+                .build());
+    }
+
+    @Benchmark
+    public TransferRequest readTransferRequest() throws JsonProcessingException {
+        return objectMapper.readValue(transferRequestJson, TransferRequest.class);
+    }
+
+    @Benchmark
+    public String writeTransferResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsString(transferResponse);
+    }
+
+    @Benchmark
+    public byte[] writeTransactionPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(transactionPage);
+    }
+}
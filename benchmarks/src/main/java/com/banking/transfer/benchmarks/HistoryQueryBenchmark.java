@@ -0,0 +1,160 @@
+package com.banking.transfer.benchmarks;
+
+import com.banking.transfer.MoneyTransferSystemApplication;
+import com.banking.transfer.entity.TransactionLog;
+import com.banking.transfer.repository.TransactionLogRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The first page of one account's history against a large {@code transaction_logs} table in
+ * in-memory H2, comparing the single query used before the history was split into sent and
+ * received pages ({@code fromAccountId = ? OR toAccountId = ?}) with
+ * {@link TransactionLogRepository#findOutgoingPage} plus
+ * {@link TransactionLogRepository#findIncomingPage}.
+ * <p>
+ * The table has {@code rows} transfers between {@value #ACCOUNTS} accounts, spread over the
+ * last 30 days, so every account sent and received about {@code 2 * rows / ACCOUNTS} of
+ * them. Both cases fetch {@code pageSize + 1} rows per query, as the service does, and
+ * leave the merge and mapping to {@link TransactionMappingBenchmark}. Each call reads a
+ * random account: H2 hands back the previous result of an identical query while the table
+ * is unchanged, so repeating one account would only measure that.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class HistoryQueryBenchmark {
+
+    private static final int ACCOUNTS = 1000;
+    private static final int INSERT_BATCH = 10_000;
+
+    // The query AccountService.getTransactions ran before the split
+    private static final String OR_QUERY = "SELECT t FROM TransactionLog t"
+            + " WHERE (t.fromAccountId = :accountId OR t.toAccountId = :accountId)"
+            + " AND t.createdOn >= :from"
+            + " AND (t.createdOn < :beforeTime OR (t.createdOn = :beforeTime AND t.id < :beforeId))"
+            + " ORDER BY t.createdOn DESC, t.id DESC";
+
+    // In-memory H2 holds about 660 MB per million rows with their indexes, so 10M rows need
+    // a host with more than 7 GB: -p rows=10000000 -jvmArgsAppend -Xmx8g
+    @Param({"1000000"})
+    public int rows;
+
+    @Param({"50", "500"})
+    public int pageSize;
+
+    private ConfigurableApplicationContext context;
+    private TransactionLogRepository transactionLogRepository;
+    private EntityManager entityManager;
+    private Path journalDir;
+    private final LocalDateTime from = LocalDateTime.of(2000, 1, 1, 0, 0);
+    private final LocalDateTime beforeTime = LocalDateTime.of(9999, 12, 31, 0, 0);
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        journalDir = Files.createTempDirectory("history-bench-journal");
+        context = new SpringApplicationBuilder(MoneyTransferSystemApplication.class)
+                .run("--spring.profiles.active=benchmark",
+                        "--spring.datasource.url=jdbc:h2:mem:history;DB_CLOSE_DELAY=-1",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--server.port=0",
+                        "--transfer.journal.dir=" + journalDir,
+                        "--audit.journal.dir=" + journalDir.resolve("audit"),
+                        // The archiver would otherwise start moving rows mid-run
+                        "--transaction-archive.enabled=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.banking.transfer=WARN");
+        transactionLogRepository = context.getBean(TransactionLogRepository.class);
+        entityManager = SharedEntityManagerCreator.createSharedEntityManager(
+                context.getBean(EntityManagerFactory.class));
+        load(context.getBean(JdbcTemplate.class));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        context.close();
+        try (var files = Files.walk(journalDir)) {
+            files.sorted((a, b) -> b.compareTo(a)).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    /**
+     * Plain JDBC batches; going through the repository would make the setup take longer than the run.
+     */
+    private void load(JdbcTemplate jdbcTemplate) {
+        Random random = new Random(42);
+        LocalDateTime start = LocalDateTime.now().minusDays(30);
+        long spanSeconds = 30L * 24 * 60 * 60;
+        List<Object[]> batch = new ArrayList<>(INSERT_BATCH);
+        for (int i = 0; i < rows; i++) {
+            int sender = random.nextInt(ACCOUNTS);
+            int receiver = (sender + 1 + random.nextInt(ACCOUNTS - 1)) % ACCOUNTS;
+            batch.add(new Object[]{
+                    String.format("TXN-%09d", i),
+                    account(sender),
+                    account(receiver),
+                    new BigDecimal("10.00"),
+                    "SUCCESS",
+                    "history-" + i,
+                    Timestamp.valueOf(start.plusSeconds(random.nextLong(spanSeconds)))});
+            if (batch.size() == INSERT_BATCH || i == rows - 1) {
+                jdbcTemplate.batchUpdate("INSERT INTO transaction_logs"
+                        + " (id, from_account_id, to_account_id, amount, status, idempotency_key, created_on)"
+                        + " VALUES (?, ?, ?, ?, ?, ?, ?)", batch);
+                batch.clear();
+            }
+        }
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    private static String account(int index) {
+        return String.format("ACC-%04d", index);
+    }
+
+    private static String randomAccount() {
+        return account(ThreadLocalRandom.current().nextInt(ACCOUNTS));
+    }
+
+    @Benchmark
+    public List<TransactionLog> orQuery() {
+        String accountId = randomAccount();
+        return entityManager.createQuery(OR_QUERY, TransactionLog.class)
+                .setParameter("accountId", accountId)
+                .setParameter("from", from)
+                .setParameter("beforeTime", beforeTime)
+                .setParameter("beforeId", "")
+                .setMaxResults(pageSize + 1)
+                .getResultList();
+    }
+
+    @Benchmark
+    public List<TransactionLog> splitPages() {
+        String accountId = randomAccount();
+        Limit fetch = Limit.of(pageSize + 1);
+        List<TransactionLog> page = new ArrayList<>(2 * (pageSize + 1));
+        page.addAll(transactionLogRepository.findOutgoingPage(accountId, from, beforeTime, "", fetch));
+        page.addAll(transactionLogRepository.findIncomingPage(accountId, from, beforeTime, "", fetch));
+        return page;
+    }
+}
@@ -0,0 +1,107 @@
+package com.banking.transfer.benchmarks;
+
+import com.banking.transfer.archive.TransactionArchive;
+import com.banking.transfer.dto.TransactionPage;
+import com.banking.transfer.entity.Account;
+import com.banking.transfer.entity.AccountStatus;
+import com.banking.transfer.entity.TransactionLog;
+import com.banking.transfer.entity.TransactionStatus;
+import com.banking.transfer.money.Money;
+import com.banking.transfer.repository.AccountRepository;
+import com.banking.transfer.repository.ArchivedTransactionLogRepository;
+import com.banking.transfer.repository.DailyStatementRepository;
+import com.banking.transfer.repository.TransactionLogRepository;
+import com.banking.transfer.service.AccountService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link AccountService#getTransactions} without the database: both repository pages come
+ * from memory, so the score is the merge of the sent and received pages, the
+ * {@code TransactionResponse} mapping and the cursor encoding.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TransactionMappingBenchmark {
+
+    private static final String ACCOUNT_ID = "ACC-1";
+
+    @Param({"50", "500"})
+    public int pageSize;
+
+    private AccountService accountService;
+
+    @Setup
+    public void setUp() {
+        Account account = Account.builder()
+                .id(ACCOUNT_ID)
+                .balance(Money.ZERO)
+                .status(AccountStatus.ACTIVE)
+                .build();
+        // Interleaved timestamps, so the merge alternates between the two pages
+        List<TransactionLog> outgoing = page(0, true);
+        List<TransactionLog> incoming = page(1, false);
+
+        AccountRepository accountRepository = stub(AccountRepository.class, (method, args) ->
+                method.equals("findById") ? Optional.of(account) : null);
+        TransactionLogRepository transactionLogRepository = stub(TransactionLogRepository.class, (method, args) ->
+                switch (method) {
+                    case "findOutgoingPage" -> outgoing;
+                    case "findIncomingPage" -> incoming;
+                    default -> null;
+                });
+        // Archiving off; the pages are recent, so the archive is never consulted
+        TransactionArchive transactionArchive = new TransactionArchive(transactionLogRepository,
+                stub(ArchivedTransactionLogRepository.class, (method, args) -> List.of()),
+                new TransactionTemplate(), new SimpleMeterRegistry(),
+                false, Duration.ofDays(90), 1000, Duration.ofHours(24));
+        accountService = new AccountService(accountRepository, transactionLogRepository,
+                null, null, null, null, transactionArchive,
+                stub(DailyStatementRepository.class, (method, args) -> null), new TransactionTemplate());
+    }
+
+    private List<TransactionLog> page(int offset, boolean sent) {
+        LocalDateTime newest = LocalDateTime.now().minusMinutes(1);
+        List<TransactionLog> logs = new ArrayList<>(pageSize + 1);
+        for (int i = 0; i <= pageSize; i++) {
+            logs.add(TransactionLog.builder()
+                    .id(String.format("TX%011d", 2 * i + offset))
+                    .fromAccountId(sent ? ACCOUNT_ID : "ACC-" + (i + 2))
+                    .toAccountId(sent ? "ACC-" + (i + 2) : ACCOUNT_ID)
+                    .amount(Money.of("25.00"))
+                    .status(TransactionStatus.SUCCESS)
+                    .idempotencyKey("key-" + offset + "-" + i)
+                    .createdOn(newest.minusSeconds(2L * i + offset))
+                    .build());
+        }
+        return logs;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T stub(Class<T> type, StubAnswer answer) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> answer.answer(method.getName(), args));
+    }
+
+    private interface StubAnswer {
+        Object answer(String method, Object[] args);
+    }
+
+    @Benchmark
+    public TransactionPage getTransactions() {
+        return accountService.getTransactions(ACCOUNT_ID, null, null, null, pageSize);
+    }
+}
@@ -0,0 +1,148 @@
+package com.banking.transfer.benchmarks;
+
+import com.banking.transfer.MoneyTransferSystemApplication;
+import com.banking.transfer.dto.AccountResponse;
+import com.banking.transfer.dto.CreateAccountRequest;
+import com.banking.transfer.dto.TransferRequest;
+import com.banking.transfer.dto.TransferResponse;
+import com.banking.transfer.exception.TransferOverloadedException;
+import com.banking.transfer.money.Money;
+import com.banking.transfer.service.AccountService;
+import com.banking.transfer.service.JournaledTransferService;
+import com.banking.transfer.service.TransferService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.dao.ConcurrencyFailureException;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link TransferService#transfer} end-to-end (locks, retry, transaction, idempotency check,
+ * ledger postings) against in-memory H2, called directly rather than over HTTP.
+ * <p>
+ * {@code engine=journal} measures {@link JournaledTransferService#accept} instead, which
+ * returns once the request is durable in the write-ahead journal. Only appends waiting for
+ * the group commit are bounded, so the score is the accept rate; the applier drains the
+ * durable records behind it. {@code engine=version} is {@code direct} with the
+ * in-process account locks turned off, so concurrent transfers on one account are only
+ * caught by the {@code @Version} check and retried. Transfers that still lose after the
+ * retries are counted in {@code failed} instead of failing the iteration.
+ * {@code destination} sets the contention: {@code spread} picks a random destination,
+ * {@code single} sends everything to one account and {@code hot} does the same after
+ * marking that account hot, so its credits go to balance slots.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class TransferBenchmark {
+
+    private static final int ACCOUNTS = 100;
+    private static final Money AMOUNT = Money.of("0.01");
+
+    @Param({"direct", "journal", "version"})
+    public String engine;
+
+    @Param({"spread", "single", "hot"})
+    public String destination;
+
+    private ConfigurableApplicationContext context;
+    private TransferService transferService;
+    private JournaledTransferService journaledTransferService;
+    private Path journalDir;
+    private final List<String> accountIds = new ArrayList<>();
+    private final AtomicLong sequence = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        journalDir = Files.createTempDirectory("transfer-bench-journal");
+        context = new SpringApplicationBuilder(MoneyTransferSystemApplication.class)
+                .run("--spring.profiles.active=benchmark",
+                        "--spring.datasource.url=jdbc:h2:mem:bench;DB_CLOSE_DELAY=-1",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        // The security filter chain needs the MVC context; nothing calls the port
+                        "--server.port=0",
+                        "--transfer.engine.mode=" + (engine.equals("journal") ? "journal" : "direct"),
+                        "--transfer.lock.enabled=" + !engine.equals("version"),
+                        "--transfer.journal.dir=" + journalDir,
+                        "--audit.journal.dir=" + journalDir.resolve("audit"),
+                        // Per-transfer INFO logging would dominate the score
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.banking.transfer=WARN");
+        transferService = context.getBean(TransferService.class);
+        journaledTransferService = context.getBeanProvider(JournaledTransferService.class).getIfAvailable();
+
+        AccountService accountService = context.getBean(AccountService.class);
+        for (int i = 0; i < ACCOUNTS; i++) {
+            AccountResponse account = accountService.createAccount(CreateAccountRequest.builder()
+                    .username("bench" + i)
+                    .password("password")
+                    .holderName("Bench " + i)
+                    .initialBalance(Money.of("1000000000.00"))
+                    .build());
+            accountIds.add(account.getId());
+        }
+        if (destination.equals("hot")) {
+            accountService.makeHot(accountIds.get(0), 16);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        context.close();
+        try (var files = Files.walk(journalDir)) {
+            files.sorted((a, b) -> b.compareTo(a)).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    /**
+     * Per-thread outcome counts, reported next to the score as rates.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Outcomes {
+        public long succeeded;
+        public long failed;
+    }
+
+    @Benchmark
+    public TransferResponse transfer(Outcomes outcomes) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        // Account 0 only receives, so 'single' and 'hot' never debit the contended account
+        int from = 1 + random.nextInt(ACCOUNTS - 1);
+        int to;
+        if (destination.equals("spread")) {
+            to = 1 + random.nextInt(ACCOUNTS - 2);
+            to = to >= from ? to + 1 : to;
+        } else {
+            to = 0;
+        }
+        TransferRequest request = TransferRequest.builder()
+                .fromAccountId(accountIds.get(from))
+                .toAccountId(accountIds.get(to))
+                .amount(AMOUNT)
+                .idempotencyKey(engine + "-" + destination + "-" + sequence.incrementAndGet())
+                .build();
+        try {
+            TransferResponse response = journaledTransferService != null
+                    ? journaledTransferService.accept(request)
+                    : transferService.transfer(request);
+            outcomes.succeeded++;
+            return response;
+        } catch (ConcurrencyFailureException | TransferOverloadedException e) {
+            outcomes.failed++;
+            return null;
+        }
+    }
+}
@@ -0,0 +1,334 @@
+package com.banking.transfer.loadtest;
+
+import com.banking.transfer.MoneyTransferSystemApplication;
+import com.banking.transfer.dto.CreateAccountRequest;
+import com.banking.transfer.money.Money;
+import com.banking.transfer.service.AccountService;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Load generator for {@code POST /api/v1/transfers}.
+ * <p>
+ * Boots the backend in-process on in-memory H2 and seeds accounts through
+ * {@link AccountService#createAccount}. Closed-loop workers then send transfers between
+ * Zipf-distributed accounts over HTTP, resending a share of earlier requests to exercise
+ * idempotency. The report covers throughput, latency percentiles and outcomes by status
+ * and error code. It also checks that the money held across all accounts did not change.
+ * The process exits with 1 if it did.
+ * <p>
+ * Options are {@code --name=value}. The ones below configure the load; any other option
+ * goes to the application, e.g. {@code --transfer.engine.mode=journal}.
+ */
+public final class TransferLoadTest {
+
+    private static final Map<String, String> LOAD_DEFAULTS = new LinkedHashMap<>();
+    private static final Map<String, String> APP_DEFAULTS = new LinkedHashMap<>();
+    private static final Pattern ERROR_CODE = Pattern.compile("\"errorCode\"\\s*:\\s*\"([^\"]+)\"");
+    private static final String PASSWORD = "load-test";
+    private static final int RECENT_REQUESTS = 4096;
+
+    static {
+        LOAD_DEFAULTS.put("accounts", "1000");
+        LOAD_DEFAULTS.put("concurrency", "32");
+        LOAD_DEFAULTS.put("warmup", "10s");
+        LOAD_DEFAULTS.put("duration", "30s");
+        LOAD_DEFAULTS.put("zipf-exponent", "1.0");
+        LOAD_DEFAULTS.put("duplicate-ratio", "0.05");
+        LOAD_DEFAULTS.put("initial-balance", "1000.00");
+        LOAD_DEFAULTS.put("max-amount", "50.00");
+        LOAD_DEFAULTS.put("hot-accounts", "0");
+        LOAD_DEFAULTS.put("report-interval", "5s");
+
+        APP_DEFAULTS.put("spring.profiles.active", "loadtest");
+        APP_DEFAULTS.put("spring.datasource.url", "jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1");
+        APP_DEFAULTS.put("spring.jpa.hibernate.ddl-auto", "create-drop");
+        APP_DEFAULTS.put("spring.jpa.show-sql", "false");
+        APP_DEFAULTS.put("server.port", "0");
+        // Per-request logging would measure the logger rather than the service
+        APP_DEFAULTS.put("logging.level.root", "WARN");
+        APP_DEFAULTS.put("logging.level.com.banking.transfer", "WARN");
+        APP_DEFAULTS.put("logging.level.org.springframework.security", "WARN");
+        APP_DEFAULTS.put("logging.level.org.hibernate.SQL", "WARN");
+        APP_DEFAULTS.put("logging.level.org.hibernate.type.descriptor.sql.BasicBinder", "WARN");
+    }
+
+    private final Map<String, String> options;
+    private final ZipfSampler zipf;
+    private final HttpClient httpClient;
+    private final AtomicReferenceArray<String> recentBodies = new AtomicReferenceArray<>(RECENT_REQUESTS);
+    private final AtomicLong sent = new AtomicLong();
+    private final LongAdder duplicatesSent = new LongAdder();
+    private List<String> accountIds;
+    private URI transfersUri;
+    private String authorization;
+    private volatile boolean running;
+
+    private TransferLoadTest(Map<String, String> options) {
+        this.options = options;
+        this.zipf = new ZipfSampler(intOption("accounts"), Double.parseDouble(options.get("zipf-exponent")));
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> load = new LinkedHashMap<>(LOAD_DEFAULTS);
+        Map<String, String> app = new LinkedHashMap<>(APP_DEFAULTS);
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got " + arg);
+            }
+            String name = arg.substring(2, arg.indexOf('='));
+            String value = arg.substring(arg.indexOf('=') + 1);
+            (LOAD_DEFAULTS.containsKey(name) ? load : app).put(name, value);
+        }
+
+        List<String> appArgs = new ArrayList<>();
+        app.forEach((name, value) -> appArgs.add("--" + name + "=" + value));
+        boolean conserved;
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(MoneyTransferSystemApplication.class)
+                .run(appArgs.toArray(String[]::new))) {
+            conserved = new TransferLoadTest(load).run(context);
+        }
+        System.exit(conserved ? 0 : 1);
+    }
+
+    private boolean run(ConfigurableApplicationContext context) throws Exception {
+        int accounts = intOption("accounts");
+        int concurrency = intOption("concurrency");
+        int hotAccounts = intOption("hot-accounts");
+        double duplicateRatio = Double.parseDouble(options.get("duplicate-ratio"));
+        String port = context.getEnvironment().getRequiredProperty("local.server.port");
+        transfersUri = URI.create("http://localhost:" + port + "/api/v1/transfers");
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        try {
+            long seedStart = System.nanoTime();
+            // Each account creation holds a connection while it hashes the password; more seeders
+            // than connections only queue in the pool, and past its timeout they fail
+            int seeders = Math.min(concurrency, context.getEnvironment()
+                    .getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, 10));
+            accountIds = seed(context.getBean(AccountService.class), seeders, accounts);
+            for (int rank = 0; rank < hotAccounts; rank++) {
+                context.getBean(AccountService.class).makeHot(accountIds.get(rank), 16);
+            }
+            System.out.printf("Seeded %d accounts in %.1f s%n", accounts, seconds(System.nanoTime() - seedStart));
+            // Any account authenticates the whole run; transfers do not check ownership
+            authorization = "Basic " + Base64.getEncoder().encodeToString(
+                    (username(0) + ":" + PASSWORD).getBytes(StandardCharsets.UTF_8));
+
+            Money before = totalMoney(jdbcTemplate);
+
+            System.out.printf("Warming up for %s%n", options.get("warmup"));
+            drive(workers, concurrency, duplicateRatio, parseDuration(options.get("warmup")), false);
+
+            System.out.printf("Measuring for %s%n", options.get("duration"));
+            duplicatesSent.reset();
+            Duration duration = parseDuration(options.get("duration"));
+            long start = System.nanoTime();
+            LoadStats stats = drive(workers, concurrency, duplicateRatio, duration, true);
+            long elapsed = System.nanoTime() - start;
+
+            Money after = totalMoney(jdbcTemplate);
+            Integer negative = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM accounts WHERE balance < 0", Integer.class);
+            boolean conserved = before.equals(after) && Objects.equals(negative, 0);
+            report(stats, elapsed, concurrency, hotAccounts, duplicateRatio, before, after, negative);
+            return conserved;
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+
+    private List<String> seed(AccountService accountService, int seeders, int accounts) throws Exception {
+        Money initialBalance = Money.of(options.get("initial-balance"));
+        ExecutorService seeding = Executors.newFixedThreadPool(seeders);
+        try {
+            List<Future<String>> created = new ArrayList<>(accounts);
+            for (int i = 0; i < accounts; i++) {
+                int index = i;
+                created.add(seeding.submit(() -> accountService.createAccount(CreateAccountRequest.builder()
+                        .username(username(index))
+                        .password(PASSWORD)
+                        .holderName("Load test " + index)
+                        .initialBalance(initialBalance)
+                        .build()).getId()));
+            }
+            List<String> ids = new ArrayList<>(accounts);
+            for (Future<String> id : created) {
+                ids.add(id.get());
+            }
+            return ids;
+        } finally {
+            seeding.shutdownNow();
+        }
+    }
+
+    private LoadStats drive(ExecutorService workers, int concurrency, double duplicateRatio,
+                            Duration duration, boolean reportProgress) throws Exception {
+        LoadStats stats = new LoadStats();
+        running = true;
+        List<Future<?>> loops = new ArrayList<>(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            loops.add(workers.submit(() -> loop(stats, duplicateRatio)));
+        }
+
+        long deadline = System.nanoTime() + duration.toNanos();
+        long interval = parseDuration(options.get("report-interval")).toNanos();
+        long elapsedStart = System.nanoTime();
+        while (System.nanoTime() < deadline) {
+            long sleep = Math.min(interval, deadline - System.nanoTime());
+            TimeUnit.NANOSECONDS.sleep(Math.max(sleep, 0));
+            if (reportProgress) {
+                Histogram window = stats.interval();
+                System.out.printf("  %5.0f s  %9.1f req/s  p50 %7.2f ms  p99 %7.2f ms%n",
+                        seconds(System.nanoTime() - elapsedStart),
+                        window.getTotalCount() / seconds(sleep),
+                        millis(window.getValueAtPercentile(50)), millis(window.getValueAtPercentile(99)));
+            }
+        }
+        running = false;
+        for (Future<?> loop : loops) {
+            loop.get();
+        }
+        return stats;
+    }
+
+    private void loop(LoadStats stats, double duplicateRatio) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (running) {
+            String body = null;
+            if (random.nextDouble() < duplicateRatio) {
+                body = recentBodies.get(random.nextInt(RECENT_REQUESTS));
+            }
+            if (body != null) {
+                duplicatesSent.increment();
+            } else {
+                body = newTransfer(random);
+                recentBodies.set((int) (sent.get() % RECENT_REQUESTS), body);
+            }
+            sent.incrementAndGet();
+
+            HttpRequest request = HttpRequest.newBuilder(transfersUri)
+                    .timeout(Duration.ofSeconds(30))
+                    .header("Content-Type", "application/json")
+                    .header("Authorization", authorization)
+                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                    .build();
+            long start = System.nanoTime();
+            String outcome;
+            try {
+                HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+                outcome = outcome(response);
+            } catch (IOException e) {
+                outcome = "error " + e.getClass().getSimpleName();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            stats.record(System.nanoTime() - start, outcome);
+        }
+    }
+
+    private String newTransfer(ThreadLocalRandom random) {
+        int from = zipf.next();
+        int to = zipf.next();
+        while (to == from) {
+            to = zipf.next();
+        }
+        long maxCents = Money.of(options.get("max-amount")).minorUnits();
+        Money amount = Money.ofMinorUnits(1 + random.nextLong(maxCents));
+        return "{\"fromAccountId\":\"" + accountIds.get(from) + "\",\"toAccountId\":\"" + accountIds.get(to)
+                + "\",\"amount\":" + amount + ",\"idempotencyKey\":\"load-" + sent.get() + "-" + random.nextLong() + "\"}";
+    }
+
+    private static String outcome(HttpResponse<String> response) {
+        Matcher errorCode = ERROR_CODE.matcher(response.body());
+        return errorCode.find()
+                ? response.statusCode() + " " + errorCode.group(1)
+                : String.valueOf(response.statusCode());
+    }
+
+    private static Money totalMoney(JdbcTemplate jdbcTemplate) {
+        BigDecimal accounts = jdbcTemplate.queryForObject(
+                "SELECT COALESCE(SUM(balance), 0) FROM accounts", BigDecimal.class);
+        BigDecimal slots = jdbcTemplate.queryForObject(
+                "SELECT COALESCE(SUM(balance), 0) FROM balance_slots", BigDecimal.class);
+        return Money.of(accounts).plus(Money.of(slots));
+    }
+
+    private void report(LoadStats stats, long elapsedNanos, int concurrency, int hotAccounts, double duplicateRatio,
+                        Money before, Money after, Integer negative) {
+        Histogram latency = stats.total();
+        long requests = latency.getTotalCount();
+        double elapsed = seconds(elapsedNanos);
+        long succeeded = stats.count("200") + stats.count("202");
+
+        System.out.println();
+        System.out.println("Transfer load test");
+        System.out.printf("  accounts %s, workers %d, zipf exponent %s (top 1%% of accounts draw %.1f%%), hot accounts %d%n",
+                options.get("accounts"), concurrency, options.get("zipf-exponent"),
+                100 * zipf.share(Math.max(1, intOption("accounts") / 100)), hotAccounts);
+        System.out.printf("  duplicate ratio %.2f (%d duplicates sent)%n", duplicateRatio, duplicatesSent.sum());
+        System.out.printf("  %d requests in %.1f s: %.1f req/s, %.1f successful transfers/s%n",
+                requests, elapsed, requests / elapsed, succeeded / elapsed);
+        System.out.printf("  latency ms: p50 %.2f  p90 %.2f  p99 %.2f  p99.9 %.2f  max %.2f%n",
+                millis(latency.getValueAtPercentile(50)), millis(latency.getValueAtPercentile(90)),
+                millis(latency.getValueAtPercentile(99)), millis(latency.getValueAtPercentile(99.9)),
+                millis(latency.getMaxValue()));
+        System.out.println("  outcomes:");
+        stats.outcomes().forEach((outcome, count) ->
+                System.out.printf("    %-24s %9d  %5.1f%%%n", outcome, count, 100.0 * count / Math.max(requests, 1)));
+        System.out.printf("  money before %s, after %s, accounts below zero %d: %s%n", before, after, negative,
+                before.equals(after) && Objects.equals(negative, 0) ? "CONSERVED" : "NOT CONSERVED");
+    }
+
+    private int intOption(String name) {
+        return Integer.parseInt(options.get(name));
+    }
+
+    private static String username(int index) {
+        return "load" + index;
+    }
+
+    private static Duration parseDuration(String value) {
+        return Duration.parse("PT" + value.toUpperCase());
+    }
+
+    private static double seconds(long nanos) {
+        return nanos / 1e9;
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+}
@@ -0,0 +1,40 @@
+package com.banking.transfer.loadtest;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Draws ranks 0..n-1 with probability proportional to {@code 1 / (rank + 1)^exponent}, so a
+ * few low ranks get most of the draws. An exponent of 0 is uniform.
+ */
+class ZipfSampler {
+
+    private final double[] cumulative;
+
+    ZipfSampler(int n, double exponent) {
+        if (n < 1 || exponent < 0) {
+            throw new IllegalArgumentException("Need at least one rank and a non-negative exponent");
+        }
+        cumulative = new double[n];
+        double total = 0;
+        for (int rank = 0; rank < n; rank++) {
+            total += 1 / Math.pow(rank + 1, exponent);
+            cumulative[rank] = total;
+        }
+        for (int rank = 0; rank < n; rank++) {
+            cumulative[rank] /= total;
+        }
+    }
+
+    int next() {
+        double u = ThreadLocalRandom.current().nextDouble();
+        int index = Arrays.binarySearch(cumulative, u);
+        // Not found returns -(insertion point) - 1; the insertion point is the first rank above u
+        return Math.min(index >= 0 ? index : -index - 1, cumulative.length - 1);
+    }
+
+    /** Share of draws expected to land on ranks below {@code ranks}. */
+    double share(int ranks) {
+        return ranks == 0 ? 0 : cumulative[Math.min(ranks, cumulative.length) - 1];
+    }
+}
@@ -22,4 +22,10 @@ export interface TransactionLogResponse {
   status: TransactionStatus;
   failureReason?: string;
   createdOn: string;
-}
\ No newline at end of file
+}
+
+export interface TransactionLogPage {
+  items: TransactionLogResponse[];
+  // Cursor for the next (older) page; null on the last page
+  nextCursor: string | null;
+}
@@ -1,9 +1,12 @@
 import { Injectable } from '@angular/core';
-import { HttpClient } from '@angular/common/http';
-import { Observable } from 'rxjs';
+import { HttpClient, HttpParams } from '@angular/common/http';
+import { Observable, map } from 'rxjs';
 import { environment } from '../../../environments/environment';
 import { AccountResponse, CreateAccountRequest } from '../models/account.model';
-import { TransactionLogResponse } from '../models/transaction.model';
+import { TransactionLogPage } from '../models/transaction.model';
+
+export const TRANSACTION_PAGE_SIZE = 50;
+const NEXT_CURSOR_HEADER = 'X-Next-Cursor';
 
 @Injectable({
   providedIn: 'root'
@@ -24,7 +27,21 @@ export class AccountService {
     return this.http.get<{ balance: number }>(`${environment.apiUrl}/accounts/${accountId}/balance`);
   }
 
-  getTransactions(accountId: string): Observable<TransactionLogResponse[]> {
-    return this.http.get<TransactionLogResponse[]>(`${environment.apiUrl}/accounts/${accountId}/transactions`);
+  /**
+   * One page of the account's transactions, newest first. Pass the previous page's
+   * nextCursor to read the page after it.
+   */
+  getTransactions(accountId: string, cursor?: string | null, limit = TRANSACTION_PAGE_SIZE): Observable<TransactionLogPage> {
+    let params = new HttpParams().set('limit', limit);
+    if (cursor) {
+      params = params.set('cursor', cursor);
+    }
+    return this.http.get<TransactionLogPage['items']>(`${environment.apiUrl}/accounts/${accountId}/transactions`,
+      { params, observe: 'response' }).pipe(
+        map(response => ({
+          items: response.body ?? [],
+          nextCursor: response.headers.get(NEXT_CURSOR_HEADER)
+        }))
+      );
   }
 }
@@ -36,7 +36,9 @@ export class History implements OnInit {
   transactions: TransactionDisplay[] = [];
   displayedColumns: string[] = ['date', 'type', 'account', 'amount', 'status'];
   loading = true;
+  loadingMore = false;
   errorMessage = '';
+  nextCursor: string | null = null;
   currentAccountId: string | null = null;
 
   constructor(
@@ -58,9 +60,11 @@ export class History implements OnInit {
     }
 
     this.loading = true;
+    this.errorMessage = '';
     this.accountService.getTransactions(this.currentAccountId).subscribe({
-      next: (data) => {
-        this.transactions = this.processTransactions(data);
+      next: (page) => {
+        this.transactions = this.processTransactions(page.items);
+        this.nextCursor = page.nextCursor;
         this.loading = false;
       },
       error: (error) => {
@@ -71,6 +75,26 @@ export class History implements OnInit {
     });
   }
 
+  loadMore(): void {
+    if (!this.currentAccountId || !this.nextCursor) {
+      return;
+    }
+
+    this.loadingMore = true;
+    this.accountService.getTransactions(this.currentAccountId, this.nextCursor).subscribe({
+      next: (page) => {
+        // Older pages only ever follow the rows already shown
+        this.transactions = [...this.transactions, ...this.processTransactions(page.items)];
+        this.nextCursor = page.nextCursor;
+        this.loadingMore = false;
+      },
+      error: (error) => {
+        this.loadingMore = false;
+        console.error('Error loading more transactions:', error);
+      }
+    });
+  }
+
   processTransactions(transactions: TransactionLogResponse[]): TransactionDisplay[] {
     return transactions.map(txn => {
       const isDebit = txn.fromAccountId === this.currentAccountId;
@@ -0,0 +1,19 @@
+package com.banking.transfer.reactive;
+
+import com.banking.transfer.id.IdGeneratorConfig;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.Import;
+
+/**
+ * Non-blocking transfer and balance API. Runs next to the servlet backend against the same
+ * database and shares its domain model and {@code TransferRules}.
+ */
+@SpringBootApplication
+@Import(IdGeneratorConfig.class)
+public class ReactiveTransferApplication {
+
+    public static void main(String[] args) {
+        SpringApplication.run(ReactiveTransferApplication.class, args);
+    }
+}
@@ -0,0 +1,85 @@
+package com.banking.transfer.reactive.config;
+
+import com.banking.transfer.dto.ErrorResponse;
+import com.banking.transfer.exception.AccountNotActiveException;
+import com.banking.transfer.exception.AccountNotFoundException;
+import com.banking.transfer.exception.DuplicateTransferException;
+import com.banking.transfer.exception.InsufficientBalanceException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.support.WebExchangeBindException;
+
+import java.util.stream.Collectors;
+
+/**
+ * Maps errors to the same status codes and error codes as the servlet backend.
+ */
+@ControllerAdvice
+@Slf4j
+public class ReactiveExceptionHandler {
+
+    @ExceptionHandler(AccountNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleAccountNotFound(AccountNotFoundException ex) {
+        return error(HttpStatus.NOT_FOUND, "ACC-404", ex.getMessage());
+    }
+
+    @ExceptionHandler(AccountNotActiveException.class)
+    public ResponseEntity<ErrorResponse> handleAccountNotActive(AccountNotActiveException ex) {
+        return error(HttpStatus.FORBIDDEN, "ACC-403", ex.getMessage());
+    }
+
+    @ExceptionHandler(InsufficientBalanceException.class)
+    public ResponseEntity<ErrorResponse> handleInsufficientBalance(InsufficientBalanceException ex) {
+        return error(HttpStatus.BAD_REQUEST, "TRX-400", ex.getMessage());
+    }
+
+    @ExceptionHandler(DuplicateTransferException.class)
+    public ResponseEntity<ErrorResponse> handleDuplicateTransfer(DuplicateTransferException ex) {
+        return error(HttpStatus.CONFLICT, "TRX-409", ex.getMessage());
+    }
+
+    @ExceptionHandler(ConcurrencyFailureException.class)
+    public ResponseEntity<ErrorResponse> handleConcurrencyFailure(ConcurrencyFailureException ex) {
+        return error(HttpStatus.SERVICE_UNAVAILABLE, "TRX-503", "Account is busy, please retry the transfer");
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<ErrorResponse> handleIllegalArgument(IllegalArgumentException ex) {
+        return error(HttpStatus.UNPROCESSABLE_ENTITY, "VAL-422", ex.getMessage());
+    }
+
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<ErrorResponse> handleValidationErrors(WebExchangeBindException ex) {
+        String message = ex.getBindingResult().getAllErrors().stream()
+                .map(error -> error instanceof FieldError fieldError
+                        ? fieldError.getField() + ": " + error.getDefaultMessage()
+                        : error.getDefaultMessage())
+                .collect(Collectors.joining(", "));
+        return error(HttpStatus.UNPROCESSABLE_ENTITY, "VAL-422", message);
+    }
+
+    @ExceptionHandler(Exception.class)
+    public ResponseEntity<ErrorResponse> handleGenericException(Exception ex) {
+        log.error("Internal server error: {}", ex.getMessage(), ex);
+        return response(HttpStatus.INTERNAL_SERVER_ERROR, "SYS-500", "An internal error occurred");
+    }
+
+    private static ResponseEntity<ErrorResponse> error(HttpStatus status, String errorCode, String message) {
+        log.error("{}: {}", errorCode, message);
+        return response(status, errorCode, message);
+    }
+
+    private static ResponseEntity<ErrorResponse> response(HttpStatus status, String errorCode, String message) {
+        ErrorResponse error = ErrorResponse.builder()
+                .errorCode(errorCode)
+                .message(message)
+                .timestamp(System.currentTimeMillis())
+                .build();
+        return ResponseEntity.status(status).body(error);
+    }
+}
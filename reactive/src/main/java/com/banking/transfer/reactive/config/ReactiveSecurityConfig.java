@@ -0,0 +1,52 @@
+package com.banking.transfer.reactive.config;
+
+import com.banking.transfer.entity.AccountStatus;
+import com.banking.transfer.reactive.repository.ReactiveAccountRepository;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.core.userdetails.ReactiveUserDetailsService;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+
+import java.util.Collections;
+
+/**
+ * HTTP Basic against the {@code accounts} table, like the servlet backend. Spring Security
+ * checks the BCrypt hash off the event loop.
+ */
+@Configuration
+@EnableWebFluxSecurity
+public class ReactiveSecurityConfig {
+
+    @Bean
+    public PasswordEncoder passwordEncoder() {
+        return new BCryptPasswordEncoder();
+    }
+
+    @Bean
+    public ReactiveUserDetailsService userDetailsService(ReactiveAccountRepository accountRepository) {
+        return username -> accountRepository.findByUsername(username)
+                .map(account -> User.builder()
+                        .username(account.getUsername())
+                        .password(account.getPassword()) // Already encoded in DB
+                        .authorities(Collections.emptyList())
+                        .accountLocked(account.getStatus() != AccountStatus.ACTIVE)
+                        .build());
+    }
+
+    @Bean
+    public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http) {
+        return http
+                .csrf(ServerHttpSecurity.CsrfSpec::disable)
+                .authorizeExchange(exchange -> exchange
+                        .pathMatchers("/actuator/**").permitAll()
+                        .anyExchange().authenticated())
+                .httpBasic(httpBasic -> {
+                })
+                .build();
+    }
+}
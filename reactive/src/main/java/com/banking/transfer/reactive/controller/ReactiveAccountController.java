@@ -0,0 +1,20 @@
+package com.banking.transfer.reactive.controller;
+
+import com.banking.transfer.dto.AccountResponse;
+import com.banking.transfer.reactive.service.ReactiveAccountService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/api/v1/accounts")
+@RequiredArgsConstructor
+public class ReactiveAccountController {
+
+    private final ReactiveAccountService accountService;
+
+    @GetMapping("/{id}/balance")
+    public Mono<AccountResponse> getBalance(@PathVariable String id) {
+        return accountService.getBalance(id);
+    }
+}
@@ -0,0 +1,22 @@
+package com.banking.transfer.reactive.controller;
+
+import com.banking.transfer.dto.TransferRequest;
+import com.banking.transfer.dto.TransferResponse;
+import com.banking.transfer.reactive.service.ReactiveTransferService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/api/v1/transfers")
+@RequiredArgsConstructor
+public class ReactiveTransferController {
+
+    private final ReactiveTransferService transferService;
+
+    @PostMapping
+    public Mono<TransferResponse> transfer(@Valid @RequestBody TransferRequest request) {
+        return transferService.transfer(request);
+    }
+}
@@ -0,0 +1,91 @@
+package com.banking.transfer.reactive.repository;
+
+import com.banking.transfer.entity.Account;
+import com.banking.transfer.entity.AccountStatus;
+import com.banking.transfer.money.Money;
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Reads and writes the {@code accounts} rows owned by the JPA {@link Account} entity. Updates
+ * check and bump {@code version} exactly like Hibernate's {@code @Version}, so writers in
+ * either application detect each other.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ReactiveAccountRepository {
+
+    private static final String SELECT_ACCOUNT =
+            "SELECT id, username, password, holder_name, balance, status, version, last_updated FROM accounts ";
+
+    private final DatabaseClient databaseClient;
+
+    public Mono<Account> findById(String id) {
+        return databaseClient.sql(SELECT_ACCOUNT + "WHERE id = :id")
+                .bind("id", id)
+                .map(ReactiveAccountRepository::toAccount)
+                .one();
+    }
+
+    public Mono<Account> findByUsername(String username) {
+        return databaseClient.sql(SELECT_ACCOUNT + "WHERE username = :username")
+                .bind("username", username)
+                .map(ReactiveAccountRepository::toAccount)
+                .one();
+    }
+
+    /**
+     * Sum of the balance slots of a hot account, zero for every other account.
+     */
+    public Mono<Money> sumSlotBalance(String accountId) {
+        return databaseClient.sql("SELECT COALESCE(SUM(balance), 0) AS total FROM balance_slots WHERE account_id = :accountId")
+                .bind("accountId", accountId)
+                .map(row -> Money.of(row.get("total", BigDecimal.class)))
+                .one()
+                .defaultIfEmpty(Money.ZERO);
+    }
+
+    /**
+     * Writes the account's balance if nobody has changed the row since it was read.
+     */
+    public Mono<Account> update(Account account) {
+        LocalDateTime now = LocalDateTime.now();
+        return databaseClient.sql("UPDATE accounts SET balance = :balance, version = version + 1, last_updated = :now "
+                        + "WHERE id = :id AND version = :version")
+                .bind("balance", account.getBalance().toBigDecimal())
+                .bind("now", now)
+                .bind("id", account.getId())
+                .bind("version", account.getVersion())
+                .fetch()
+                .rowsUpdated()
+                .flatMap(updated -> {
+                    if (updated == 0) {
+                        return Mono.error(new OptimisticLockingFailureException(
+                                "Account " + account.getId() + " was updated concurrently"));
+                    }
+                    account.setVersion(account.getVersion() + 1);
+                    account.setLastUpdated(now);
+                    return Mono.just(account);
+                });
+    }
+
+    private static Account toAccount(Readable row) {
+        return Account.builder()
+                .id(row.get("id", String.class))
+                .username(row.get("username", String.class))
+                .password(row.get("password", String.class))
+                .holderName(row.get("holder_name", String.class))
+                .balance(Money.of(row.get("balance", BigDecimal.class)))
+                .status(AccountStatus.valueOf(row.get("status", String.class)))
+                .version(row.get("version", Integer.class))
+                .lastUpdated(row.get("last_updated", LocalDateTime.class))
+                .build();
+    }
+}
@@ -0,0 +1,129 @@
+package com.banking.transfer.reactive.repository;
+
+import com.banking.transfer.entity.DailyStatement;
+import com.banking.transfer.entity.PostingType;
+import com.banking.transfer.entity.TransactionLog;
+import com.banking.transfer.entity.TransactionStatus;
+import com.banking.transfer.id.Ids;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Writes {@code transaction_logs} rows and, for successful transfers, the matching
+ * {@code ledger_postings} and {@code daily_statements} totals, in the layout of the JPA
+ * entities.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ReactiveTransactionLogRepository {
+
+    private final DatabaseClient databaseClient;
+
+    public Mono<Boolean> existsByIdempotencyKey(String idempotencyKey) {
+        return databaseClient.sql("SELECT 1 FROM transaction_logs WHERE idempotency_key = :key")
+                .bind("key", idempotencyKey)
+                .map(row -> Boolean.TRUE)
+                .first()
+                .defaultIfEmpty(Boolean.FALSE);
+    }
+
+    /**
+     * Inserts the log; a SUCCESS log also gets its DEBIT and CREDIT postings, which are
+     * added to both accounts' daily statements.
+     */
+    public Mono<TransactionLog> insert(TransactionLog transactionLog) {
+        DatabaseClient.GenericExecuteSpec insert = databaseClient.sql("INSERT INTO transaction_logs "
+                        + "(id, from_account_id, to_account_id, amount, status, failure_reason, idempotency_key, created_on) "
+                        + "VALUES (:id, :from, :to, :amount, :status, :reason, :key, :createdOn)")
+                .bind("id", transactionLog.getId())
+                .bind("from", transactionLog.getFromAccountId())
+                .bind("to", transactionLog.getToAccountId())
+                .bind("amount", transactionLog.getAmount().toBigDecimal())
+                .bind("status", transactionLog.getStatus().name())
+                .bind("key", transactionLog.getIdempotencyKey())
+                .bind("createdOn", transactionLog.getCreatedOn());
+        insert = transactionLog.getFailureReason() == null
+                ? insert.bindNull("reason", String.class)
+                : insert.bind("reason", transactionLog.getFailureReason());
+
+        Mono<Long> postings = transactionLog.getStatus() == TransactionStatus.SUCCESS
+                ? Flux.concat(
+                        insertPosting(transactionLog, transactionLog.getFromAccountId(), PostingType.DEBIT),
+                        insertPosting(transactionLog, transactionLog.getToAccountId(), PostingType.CREDIT),
+                        recordStatements(transactionLog))
+                .reduce(0L, Long::sum)
+                : Mono.just(0L);
+        return insert.fetch().rowsUpdated().then(postings).thenReturn(transactionLog);
+    }
+
+    private Mono<Long> insertPosting(TransactionLog transfer, String accountId, PostingType type) {
+        return databaseClient.sql("INSERT INTO ledger_postings (id, account_id, transaction_id, type, amount, created_on) "
+                        + "VALUES (:id, :accountId, :transactionId, :type, :amount, :createdOn)")
+                .bind("id", Ids.newTransactionId())
+                .bind("accountId", accountId)
+                .bind("transactionId", transfer.getId())
+                .bind("type", type.name())
+                .bind("amount", transfer.getAmount().toBigDecimal())
+                .bind("createdOn", transfer.getCreatedOn())
+                .fetch()
+                .rowsUpdated();
+    }
+
+    /**
+     * Adds the transfer to stripe 0 of both accounts' statement rows for the day, in id
+     * order as the servlet backend does. Hot-account credits are not spread over stripes
+     * here, since this module credits the account row.
+     */
+    private Flux<Long> recordStatements(TransactionLog transfer) {
+        LocalDate date = transfer.getCreatedOn().toLocalDate();
+        Mono<Long> debit = addToStatement(transfer.getFromAccountId(), date, PostingType.DEBIT, transfer);
+        Mono<Long> credit = addToStatement(transfer.getToAccountId(), date, PostingType.CREDIT, transfer);
+        return transfer.getFromAccountId().compareTo(transfer.getToAccountId()) < 0
+                ? Flux.concat(debit, credit)
+                : Flux.concat(credit, debit);
+    }
+
+    private Mono<Long> addToStatement(String accountId, LocalDate date, PostingType type, TransactionLog transfer) {
+        String id = DailyStatement.idOf(accountId, date, 0);
+        BigDecimal debits = type == PostingType.DEBIT ? transfer.getAmount().toBigDecimal() : BigDecimal.ZERO;
+        BigDecimal credits = type == PostingType.CREDIT ? transfer.getAmount().toBigDecimal() : BigDecimal.ZERO;
+        int debitCount = type == PostingType.DEBIT ? 1 : 0;
+        int creditCount = type == PostingType.CREDIT ? 1 : 0;
+
+        Mono<Long> insert = databaseClient.sql("INSERT INTO daily_statements (id, account_id, statement_date, stripe, "
+                        + "total_debits, total_credits, debit_count, credit_count) "
+                        + "VALUES (:id, :accountId, :date, 0, :debits, :credits, :debitCount, :creditCount)")
+                .bind("id", id)
+                .bind("accountId", accountId)
+                .bind("date", date)
+                .bind("debits", debits)
+                .bind("credits", credits)
+                .bind("debitCount", debitCount)
+                .bind("creditCount", creditCount)
+                .fetch()
+                .rowsUpdated()
+                // Created by a concurrent transfer after our UPDATE missed; the retry will find it
+                .onErrorMap(DataIntegrityViolationException.class, e -> new OptimisticLockingFailureException(
+                        "Daily statement " + id + " was created concurrently", e));
+
+        return databaseClient.sql("UPDATE daily_statements SET total_debits = total_debits + :debits, "
+                        + "total_credits = total_credits + :credits, debit_count = debit_count + :debitCount, "
+                        + "credit_count = credit_count + :creditCount WHERE id = :id")
+                .bind("debits", debits)
+                .bind("credits", credits)
+                .bind("debitCount", debitCount)
+                .bind("creditCount", creditCount)
+                .bind("id", id)
+                .fetch()
+                .rowsUpdated()
+                .flatMap(updated -> updated > 0 ? Mono.just(updated) : insert);
+    }
+}
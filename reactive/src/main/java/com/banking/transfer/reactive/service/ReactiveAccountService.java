@@ -0,0 +1,30 @@
+package com.banking.transfer.reactive.service;
+
+import com.banking.transfer.dto.AccountResponse;
+import com.banking.transfer.exception.AccountNotFoundException;
+import com.banking.transfer.reactive.repository.ReactiveAccountRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+@Service
+@RequiredArgsConstructor
+public class ReactiveAccountService {
+
+    private final ReactiveAccountRepository accountRepository;
+
+    /**
+     * The account with its exact balance: the account row plus any hot-account slots.
+     */
+    public Mono<AccountResponse> getBalance(String accountId) {
+        return accountRepository.findById(accountId)
+                .switchIfEmpty(Mono.error(() -> new AccountNotFoundException("Account with ID " + accountId + " not found")))
+                .zipWith(accountRepository.sumSlotBalance(accountId), (account, slots) -> AccountResponse.builder()
+                        .id(account.getId())
+                        .username(account.getUsername())
+                        .holderName(account.getHolderName())
+                        .balance(account.getBalance().plus(slots))
+                        .status(account.getStatus())
+                        .build());
+    }
+}
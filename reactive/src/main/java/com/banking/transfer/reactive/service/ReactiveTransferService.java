@@ -0,0 +1,157 @@
+package com.banking.transfer.reactive.service;
+
+import com.banking.transfer.dto.TransferRequest;
+import com.banking.transfer.dto.TransferResponse;
+import com.banking.transfer.entity.Account;
+import com.banking.transfer.entity.TransactionLog;
+import com.banking.transfer.entity.TransactionStatus;
+import com.banking.transfer.exception.AccountNotActiveException;
+import com.banking.transfer.exception.AccountNotFoundException;
+import com.banking.transfer.exception.DuplicateTransferException;
+import com.banking.transfer.exception.InsufficientBalanceException;
+import com.banking.transfer.id.Ids;
+import com.banking.transfer.reactive.repository.ReactiveAccountRepository;
+import com.banking.transfer.reactive.repository.ReactiveTransactionLogRepository;
+import com.banking.transfer.service.TransferRules;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Transfers without blocking a thread on the database.
+ * <p>
+ * The steps match {@code TransferService}: idempotency check, both accounts read, the
+ * shared {@link TransferRules} applied to them, then the balances, the transaction log and
+ * its ledger postings written in one R2DBC transaction. There are no in-process account
+ * locks; the version check on each {@code UPDATE} detects concurrent writers, here or in
+ * the servlet backend, and the whole transaction is retried with jittered backoff.
+ * Business failures are recorded as FAILED logs, as in the servlet backend.
+ * <p>
+ * Hot-account balance slots are not debited here: a debit must be covered by the
+ * account row alone. Credits to a hot account go to its row, which keeps its total exact.
+ */
+@Service
+@Slf4j
+public class ReactiveTransferService {
+
+    private final ReactiveAccountRepository accountRepository;
+    private final ReactiveTransactionLogRepository transactionLogRepository;
+    private final TransactionalOperator transactionalOperator;
+    private final Retry conflictRetry;
+
+    public ReactiveTransferService(ReactiveAccountRepository accountRepository,
+                                   ReactiveTransactionLogRepository transactionLogRepository,
+                                   TransactionalOperator transactionalOperator,
+                                   @Value("${transfer.retry.max-attempts:4}") int maxAttempts,
+                                   @Value("${transfer.retry.base-delay:5ms}") Duration baseDelay,
+                                   @Value("${transfer.retry.max-delay:200ms}") Duration maxDelay) {
+        this.accountRepository = accountRepository;
+        this.transactionLogRepository = transactionLogRepository;
+        this.transactionalOperator = transactionalOperator;
+        this.conflictRetry = Retry.backoff(maxAttempts - 1, baseDelay)
+                .maxBackoff(maxDelay)
+                .jitter(1.0)
+                // Version conflicts, and lock waits that timed out behind a concurrent writer
+                .filter(e -> e instanceof ConcurrencyFailureException || e instanceof TransientDataAccessException)
+                .onRetryExhaustedThrow((spec, signal) -> signal.failure());
+    }
+
+    public Mono<TransferResponse> transfer(TransferRequest request) {
+        return Mono.fromRunnable(() -> TransferRules.validate(request))
+                .then(Mono.defer(() -> transactionalOperator.transactional(executeTransfer(request))))
+                .retryWhen(conflictRetry)
+                .onErrorResume(DataIntegrityViolationException.class, e -> duplicateOrError(request, e))
+                .onErrorResume(ReactiveTransferService::isBusinessFailure, e -> recordFailure(request, e))
+                .doOnSuccess(response -> log.info("Transfer completed successfully. Transaction ID: {}",
+                        response.getTransactionId()));
+    }
+
+    private Mono<TransferResponse> executeTransfer(TransferRequest request) {
+        return transactionLogRepository.existsByIdempotencyKey(request.getIdempotencyKey())
+                .flatMap(duplicate -> duplicate
+                        ? Mono.error(new DuplicateTransferException(
+                                "Duplicate transfer request with idempotency key: " + request.getIdempotencyKey()))
+                        // One statement at a time: the transaction has a single connection
+                        : requireAccount(request.getFromAccountId(), "Source")
+                                .zipWhen(fromAccount -> requireAccount(request.getToAccountId(), "Destination")))
+                .flatMap(accounts -> {
+                    Account fromAccount = accounts.getT1();
+                    Account toAccount = accounts.getT2();
+                    TransferRules.apply(fromAccount, toAccount, request.getAmount());
+
+                    TransactionLog transactionLog = newLog(request, TransactionStatus.SUCCESS, null);
+                    // Update in id order so two opposite transfers cannot deadlock on the rows
+                    boolean fromFirst = fromAccount.getId().compareTo(toAccount.getId()) < 0;
+                    Account first = fromFirst ? fromAccount : toAccount;
+                    Account second = fromFirst ? toAccount : fromAccount;
+                    return accountRepository.update(first)
+                            .then(accountRepository.update(second))
+                            .then(transactionLogRepository.insert(transactionLog))
+                            .map(ReactiveTransferService::toResponse);
+                });
+    }
+
+    private Mono<Account> requireAccount(String accountId, String role) {
+        return accountRepository.findById(accountId)
+                .switchIfEmpty(Mono.error(() -> new AccountNotFoundException(role + " account not found: " + accountId)));
+    }
+
+    private Mono<TransferResponse> duplicateOrError(TransferRequest request, DataIntegrityViolationException e) {
+        // Another transfer committed the same idempotency key after our check
+        return transactionLogRepository.existsByIdempotencyKey(request.getIdempotencyKey())
+                .flatMap(exists -> Mono.error(exists
+                        ? new DuplicateTransferException(
+                                "Duplicate transfer request with idempotency key: " + request.getIdempotencyKey())
+                        : e));
+    }
+
+    private Mono<TransferResponse> recordFailure(TransferRequest request, Throwable e) {
+        log.error("Transfer failed: {}", e.getMessage());
+        return transactionLogRepository.insert(newLog(request, TransactionStatus.FAILED, e.getMessage()))
+                .onErrorResume(writeError -> {
+                    log.error("Could not record failed transfer with idempotency key {}: {}",
+                            request.getIdempotencyKey(), writeError.getMessage());
+                    return Mono.empty();
+                })
+                .then(Mono.error(e));
+    }
+
+    private static boolean isBusinessFailure(Throwable e) {
+        return e instanceof AccountNotFoundException
+                || e instanceof AccountNotActiveException
+                || e instanceof InsufficientBalanceException;
+    }
+
+    private static TransactionLog newLog(TransferRequest request, TransactionStatus status, String failureReason) {
+        return TransactionLog.builder()
+                .id(Ids.newTransactionId())
+                .fromAccountId(request.getFromAccountId())
+                .toAccountId(request.getToAccountId())
+                .amount(request.getAmount())
+                .status(status)
+                .failureReason(failureReason)
+                .idempotencyKey(request.getIdempotencyKey())
+                .createdOn(LocalDateTime.now())
+                .build();
+    }
+
+    private static TransferResponse toResponse(TransactionLog transactionLog) {
+        return TransferResponse.builder()
+                .transactionId(transactionLog.getId())
+                .status("SUCCESS")
+                .message("Transfer completed successfully")
+                .debitedFrom(transactionLog.getFromAccountId())
+                .creditedTo(transactionLog.getToAccountId())
+                .amount(transactionLog.getAmount())
+                .build();
+    }
+}
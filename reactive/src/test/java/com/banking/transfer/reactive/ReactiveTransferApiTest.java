@@ -0,0 +1,234 @@
+package com.banking.transfer.reactive;
+
+import com.banking.transfer.dto.TransferRequest;
+import com.banking.transfer.money.Money;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class ReactiveTransferApiTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    private WebTestClient client;
+
+    @BeforeEach
+    void setUp() {
+        for (String table : List.of("daily_statements", "ledger_postings", "transaction_logs", "balance_slots", "accounts")) {
+            databaseClient.sql("DELETE FROM " + table).then().block();
+        }
+        insertAccount("ACC-1", "alice", "1000.00", "ACTIVE");
+        insertAccount("ACC-2", "bob", "500.00", "ACTIVE");
+        insertAccount("ACC-3", "carol", "100.00", "CLOSED");
+
+        client = webTestClient.mutate()
+                .responseTimeout(Duration.ofSeconds(30))
+                .defaultHeaders(headers -> headers.setBasicAuth("alice", "pw"))
+                .build();
+    }
+
+    private void insertAccount(String id, String username, String balance, String status) {
+        databaseClient.sql("INSERT INTO accounts (id, username, password, holder_name, balance, status, version) "
+                        + "VALUES (:id, :username, :password, :holder, :balance, :status, 0)")
+                .bind("id", id)
+                .bind("username", username)
+                .bind("password", passwordEncoder.encode("pw"))
+                .bind("holder", username)
+                .bind("balance", new BigDecimal(balance))
+                .bind("status", status)
+                .then()
+                .block();
+    }
+
+    private TransferRequest request(String from, String to, String amount, String key) {
+        return TransferRequest.builder()
+                .fromAccountId(from)
+                .toAccountId(to)
+                .amount(Money.of(amount))
+                .idempotencyKey(key)
+                .build();
+    }
+
+    private BigDecimal balance(String accountId) {
+        return databaseClient.sql("SELECT balance FROM accounts WHERE id = :id")
+                .bind("id", accountId)
+                .map(row -> row.get("balance", BigDecimal.class))
+                .one()
+                .block();
+    }
+
+    private long count(String sql) {
+        return Objects.requireNonNull(databaseClient.sql(sql)
+                .map(row -> row.get(0, Long.class))
+                .one()
+                .block());
+    }
+
+    @Test
+    void transfer_Success_WritesBalancesLogAndPostings() {
+        // Act & Assert
+        client.post().uri("/api/v1/transfers")
+                .bodyValue(request("ACC-1", "ACC-2", "250.00", "r-1"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.status").isEqualTo("SUCCESS")
+                .jsonPath("$.debitedFrom").isEqualTo("ACC-1")
+                .jsonPath("$.transactionId").isNotEmpty();
+
+        assertEquals(new BigDecimal("750.00"), balance("ACC-1"));
+        assertEquals(new BigDecimal("750.00"), balance("ACC-2"));
+        assertEquals(1, count("SELECT COUNT(*) FROM transaction_logs WHERE status = 'SUCCESS'"));
+        assertEquals(2, count("SELECT COUNT(*) FROM ledger_postings"));
+        assertEquals(1, count("SELECT COUNT(*) FROM daily_statements WHERE account_id = 'ACC-1'"
+                + " AND total_debits = 250.00 AND debit_count = 1 AND credit_count = 0"));
+        assertEquals(1, count("SELECT COUNT(*) FROM daily_statements WHERE account_id = 'ACC-2'"
+                + " AND total_credits = 250.00 AND credit_count = 1 AND debit_count = 0"));
+    }
+
+    @Test
+    void transfer_InsufficientBalance_RecordsFailedLog() {
+        // Act & Assert
+        client.post().uri("/api/v1/transfers")
+                .bodyValue(request("ACC-2", "ACC-1", "900.00", "r-2"))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.errorCode").isEqualTo("TRX-400");
+
+        assertEquals(new BigDecimal("500.00"), balance("ACC-2"));
+        assertEquals(1, count("SELECT COUNT(*) FROM transaction_logs WHERE status = 'FAILED'"));
+        assertEquals(0, count("SELECT COUNT(*) FROM ledger_postings"));
+    }
+
+    @Test
+    void transfer_InactiveDestination_Forbidden() {
+        client.post().uri("/api/v1/transfers")
+                .bodyValue(request("ACC-1", "ACC-3", "10.00", "r-3"))
+                .exchange()
+                .expectStatus().isForbidden()
+                .expectBody()
+                .jsonPath("$.errorCode").isEqualTo("ACC-403");
+    }
+
+    @Test
+    void transfer_DuplicateIdempotencyKey_Conflict() {
+        // Arrange
+        client.post().uri("/api/v1/transfers")
+                .bodyValue(request("ACC-1", "ACC-2", "10.00", "r-4"))
+                .exchange()
+                .expectStatus().isOk();
+
+        // Act & Assert
+        client.post().uri("/api/v1/transfers")
+                .bodyValue(request("ACC-1", "ACC-2", "10.00", "r-4"))
+                .exchange()
+                .expectStatus().isEqualTo(409)
+                .expectBody()
+                .jsonPath("$.errorCode").isEqualTo("TRX-409");
+        assertEquals(new BigDecimal("990.00"), balance("ACC-1"));
+    }
+
+    @Test
+    void transfer_SameAccountOrInvalidBody_Unprocessable() {
+        client.post().uri("/api/v1/transfers")
+                .bodyValue(request("ACC-1", "ACC-1", "10.00", "r-5"))
+                .exchange()
+                .expectStatus().isEqualTo(422)
+                .expectBody()
+                .jsonPath("$.errorCode").isEqualTo("VAL-422");
+
+        client.post().uri("/api/v1/transfers")
+                .bodyValue(request("ACC-1", "ACC-2", "0.00", "r-6"))
+                .exchange()
+                .expectStatus().isEqualTo(422);
+    }
+
+    @Test
+    void transfer_WithoutCredentials_Unauthorized() {
+        webTestClient.post().uri("/api/v1/transfers")
+                .bodyValue(request("ACC-1", "ACC-2", "10.00", "r-7"))
+                .exchange()
+                .expectStatus().isUnauthorized();
+    }
+
+    @Test
+    void transfer_ConcurrentOpposingTransfers_ConserveMoney() {
+        // Act; the clients block, so keep them off boundedElastic where the server checks passwords
+        ExecutorService clients = Executors.newFixedThreadPool(20);
+        List<Integer> statuses = Flux.range(0, 40)
+                .parallel(20)
+                .runOn(Schedulers.fromExecutor(clients))
+                .map(i -> client.post().uri("/api/v1/transfers")
+                        .bodyValue(i % 2 == 0
+                                ? request("ACC-1", "ACC-2", "5.00", "c-" + i)
+                                : request("ACC-2", "ACC-1", "3.00", "c-" + i))
+                        .exchange()
+                        .returnResult(Void.class)
+                        .getStatus()
+                        .value())
+                .sequential()
+                .collectList()
+                .doFinally(signal -> clients.shutdown())
+                .block();
+
+        // Assert
+        assertNotNull(statuses);
+        assertTrue(statuses.stream().allMatch(status -> status == 200 || status == 503), statuses::toString);
+        assertEquals(new BigDecimal("1500.00"), balance("ACC-1").add(balance("ACC-2")));
+        long succeeded = count("SELECT COUNT(*) FROM transaction_logs WHERE status = 'SUCCESS'");
+        assertEquals(succeeded * 2, count("SELECT COUNT(*) FROM ledger_postings"));
+        assertEquals(succeeded * 2, count("SELECT CAST(COALESCE(SUM(debit_count + credit_count), 0) AS BIGINT) FROM daily_statements"));
+        BigDecimal moved = databaseClient.sql("SELECT COALESCE(SUM(CASE WHEN from_account_id = 'ACC-1' "
+                        + "THEN amount ELSE -amount END), 0) AS net FROM transaction_logs WHERE status = 'SUCCESS'")
+                .map(row -> row.get("net", BigDecimal.class))
+                .one()
+                .block();
+        assertEquals(new BigDecimal("1000.00").subtract(moved), balance("ACC-1"));
+    }
+
+    @Test
+    void balance_IncludesHotAccountSlots() {
+        // Arrange
+        databaseClient.sql("INSERT INTO balance_slots (id, account_id, slot, balance) VALUES ('ACC-2#0', 'ACC-2', 0, 40.00)")
+                .then()
+                .block();
+
+        // Act & Assert
+        client.get().uri("/api/v1/accounts/ACC-2/balance")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.id").isEqualTo("ACC-2")
+                .jsonPath("$.balance").isEqualTo(540.00);
+
+        client.get().uri("/api/v1/accounts/ACC-404/balance")
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+}
@@ -0,0 +1,50 @@
+-- Tables written by the reactive module, as Hibernate creates them for the servlet backend
+CREATE TABLE IF NOT EXISTS accounts (
+    id VARCHAR(255) PRIMARY KEY,
+    username VARCHAR(255) NOT NULL UNIQUE,
+    password VARCHAR(255) NOT NULL,
+    holder_name VARCHAR(255) NOT NULL,
+    balance DECIMAL(18, 2) NOT NULL,
+    status VARCHAR(32) NOT NULL,
+    version INT,
+    last_updated TIMESTAMP
+);
+
+CREATE TABLE IF NOT EXISTS transaction_logs (
+    id VARCHAR(255) PRIMARY KEY,
+    from_account_id VARCHAR(255) NOT NULL,
+    to_account_id VARCHAR(255) NOT NULL,
+    amount DECIMAL(18, 2) NOT NULL,
+    status VARCHAR(32) NOT NULL,
+    failure_reason VARCHAR(255),
+    idempotency_key VARCHAR(255) NOT NULL UNIQUE,
+    created_on TIMESTAMP NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS ledger_postings (
+    id VARCHAR(255) PRIMARY KEY,
+    account_id VARCHAR(255) NOT NULL,
+    transaction_id VARCHAR(255),
+    type VARCHAR(16) NOT NULL,
+    amount DECIMAL(18, 2) NOT NULL,
+    created_on TIMESTAMP NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS balance_slots (
+    id VARCHAR(255) PRIMARY KEY,
+    account_id VARCHAR(255) NOT NULL,
+    slot INT NOT NULL,
+    balance DECIMAL(18, 2) NOT NULL,
+    CONSTRAINT uk_slot_account_slot UNIQUE (account_id, slot)
+);
+
+CREATE TABLE IF NOT EXISTS daily_statements (
+    id VARCHAR(255) PRIMARY KEY,
+    account_id VARCHAR(255) NOT NULL,
+    statement_date DATE NOT NULL,
+    stripe INT NOT NULL,
+    total_debits DECIMAL(18, 2) NOT NULL,
+    total_credits DECIMAL(18, 2) NOT NULL,
+    debit_count BIGINT NOT NULL,
+    credit_count BIGINT NOT NULL
+);